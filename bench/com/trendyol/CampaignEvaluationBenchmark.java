@@ -0,0 +1,87 @@
+package com.trendyol;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.CampaignColumns;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+import com.trendyol.workload.CartWorkload;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares the per-campaign and the columnar campaign evaluation on a cart with a large campaign set
+ *
+ * Usage: CampaignEvaluationBenchmark [campaignCount] [iterations]
+ */
+public class CampaignEvaluationBenchmark {
+
+	public static void main(String[] args) {
+
+		// Read the parameters
+		int campaignCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+		// Create a cart and the campaigns
+		CatalogGenerator catalog = new CatalogGenerator(1, 3, 6, 100_000);
+		List<Campaign> campaigns = new PromotionGenerator(catalog, 2).campaigns(campaignCount);
+		CartWorkload workload = new CartWorkload(catalog, campaigns, Collections.<Coupon>emptyList(),
+				new DeliveryCostCalculator(2.0, 0.5, 2.99), 3, 1.1, 40, 0);
+		Map<Category, CategoryInfoHolder> categoryMapping = workload.cart(0).getCategoryMapping();
+
+		// Columnar layout with reusable arrays
+		CampaignColumns columns = new CampaignColumns(campaigns);
+		double[] discounts = new double[columns.getCampaignCount()];
+		int[] counts = new int[columns.getCategoryCount()];
+		double[] totals = new double[columns.getCategoryCount()];
+
+		// Run both evaluations a few rounds, the first rounds are for warming up
+		for (int round = 0; round < 5; round++) {
+
+			long start = System.nanoTime();
+			double scalarTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				scalarTotal += evaluate(campaigns, categoryMapping);
+			}
+			long scalarNanos = System.nanoTime() - start;
+
+			start = System.nanoTime();
+			double columnarTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				columnarTotal += columns.evaluate(categoryMapping, discounts, counts, totals);
+			}
+			long columnarNanos = System.nanoTime() - start;
+
+			// Output the round results
+			System.out.printf("Round %d: per-campaign %,d ns/op, columnar %,d ns/op, results %s%n", round, scalarNanos / iterations,
+					columnarNanos / iterations, scalarTotal == columnarTotal ? "identical" : "DIFFERENT");
+		}
+	}
+
+	/*
+	 * Per-campaign evaluation, a lookup table probe for every campaign
+	 */
+	private static double evaluate(List<Campaign> campaigns, Map<Category, CategoryInfoHolder> categoryMapping) {
+		double totalDiscount = 0;
+		for (Campaign campaign : campaigns) {
+			CategoryInfoHolder holder = categoryMapping.get(campaign.getCategory());
+			if (holder != null && holder.getProductCount() > campaign.getMinItemCount()) {
+				if (campaign.getDiscountType() == DiscountType.RATE) {
+					totalDiscount += holder.getTotalPrice() * campaign.getDiscount() / 100;
+				} else {
+					totalDiscount += campaign.getDiscount();
+				}
+			}
+		}
+		return totalDiscount;
+	}
+}
@@ -0,0 +1,117 @@
+package com.trendyol;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.product.Product;
+import com.trendyol.workload.CartWorkload;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares the allocation rate and the garbage collections of "what-if" pricing with new carts and with pooled carts
+ * Each operation copies the items of a workload cart into a scratch cart, applies the campaigns and a coupon, and quotes it
+ *
+ * Usage: CartPoolBenchmark [iterations]
+ */
+public class CartPoolBenchmark {
+
+	public static void main(String[] args) {
+
+		// Read the parameters
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+		// Create the carts to be priced
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		CatalogGenerator catalog = new CatalogGenerator(1, 3, 5, 100_000);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, 2);
+		List<Campaign> campaignList = promotions.campaigns(100);
+		Campaign[] campaigns = campaignList.toArray(new Campaign[0]);
+		List<Coupon> coupons = promotions.coupons(10);
+		CartWorkload workload = new CartWorkload(catalog, campaignList, coupons, calculator, 3, 1.1, 10, 8);
+		ShoppingCart[] sources = new ShoppingCart[64];
+		for (int i = 0; i < sources.length; i++) {
+			sources[i] = workload.cart(i).snapshot();
+		}
+
+		CartPool pool = new CartPool(calculator, 1, 4);
+		QuoteBuffer buffer = new QuoteBuffer();
+
+		// Run both a few rounds, the first rounds are for warming up
+		for (int round = 0; round < 5; round++) {
+
+			long bytes = QuoteBenchmark.allocatedBytes();
+			long[] collections = collections();
+			long start = System.nanoTime();
+			double newTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				ShoppingCart shoppingCart = new ShoppingCart(calculator);
+				newTotal += price(shoppingCart, sources[i % sources.length], campaigns, coupons.get(i % coupons.size()), buffer);
+			}
+			long newNanos = System.nanoTime() - start;
+			long newBytes = QuoteBenchmark.allocatedBytes() - bytes;
+			long[] newCollections = difference(collections(), collections);
+
+			bytes = QuoteBenchmark.allocatedBytes();
+			collections = collections();
+			start = System.nanoTime();
+			double pooledTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				ShoppingCart shoppingCart = pool.acquire();
+				pooledTotal += price(shoppingCart, sources[i % sources.length], campaigns, coupons.get(i % coupons.size()), buffer);
+				pool.release(shoppingCart);
+			}
+			long pooledNanos = System.nanoTime() - start;
+			long pooledBytes = QuoteBenchmark.allocatedBytes() - bytes;
+			long[] pooledCollections = difference(collections(), collections);
+
+			// Output the round results
+			System.out.printf("Round %d: new %,d ns/op %,d B/op %d GCs %d ms, pooled %,d ns/op %,d B/op %d GCs %d ms, results %s%n", round,
+					newNanos / iterations, newBytes / iterations, newCollections[0], newCollections[1],
+					pooledNanos / iterations, pooledBytes / iterations, pooledCollections[0], pooledCollections[1],
+					Math.abs(newTotal - pooledTotal) < ShoppingCart.EPSILON * iterations ? "identical" : "DIFFERENT");
+		}
+
+		System.out.printf("Pool: %d created, %d reused%n", pool.getCreatedCount(), pool.getReusedCount());
+	}
+
+	/*
+	 * Prices a copy of the source cart with the given promotions
+	 */
+	private static double price(ShoppingCart shoppingCart, ShoppingCart source, Campaign[] campaigns, Coupon coupon, QuoteBuffer buffer) {
+		for (Map.Entry<Product, Integer> entry : source.getItems().entrySet()) {
+			shoppingCart.addItem(entry.getKey(), entry.getValue());
+		}
+		shoppingCart.applyDiscounts(campaigns);
+		shoppingCart.applyCoupon(coupon);
+		shoppingCart.quote(buffer);
+		return buffer.getFinalPrice();
+	}
+
+	/*
+	 * Returns the total count and time of the garbage collections so far
+	 */
+	private static long[] collections() {
+		long[] result = new long[2];
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			result[0] += Math.max(0, bean.getCollectionCount());
+			result[1] += Math.max(0, bean.getCollectionTime());
+		}
+		return result;
+	}
+
+	/*
+	 * Returns the difference of two collection readings
+	 */
+	private static long[] difference(long[] after, long[] before) {
+		return new long[] { after[0] - before[0], after[1] - before[1] };
+	}
+}
@@ -0,0 +1,122 @@
+package com.trendyol;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares the heap size and the garbage collection pauses of idle carts kept on the heap and in the off-heap store
+ *
+ * Usage: OffHeapCartStoreBenchmark [heap|offheap] [cartCount]
+ * Each mode should be run on its own JVM, e.g. for 10M carts:
+ * java -Xmx24g -XX:MaxDirectMemorySize=4g com.trendyol.OffHeapCartStoreBenchmark heap 10000000
+ * java -Xmx24g -XX:MaxDirectMemorySize=4g com.trendyol.OffHeapCartStoreBenchmark offheap 10000000
+ */
+public class OffHeapCartStoreBenchmark {
+
+	// Number of temporary carts created while the idle carts are kept alive
+	private static final int CHURN_CART_COUNT = 5_000_000;
+
+	public static void main(String[] args) {
+
+		// Read the parameters
+		boolean offHeap = args.length > 0 && args[0].equals("offheap");
+		int cartCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+
+		// Create a small shared catalog
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		Category mainCategory = new Category("Main");
+		Category[] categories = new Category[5];
+		Product[] products = new Product[50];
+		Campaign[] campaigns = new Campaign[categories.length];
+		for (int i = 0; i < categories.length; i++) {
+			categories[i] = new Category("Category " + i, mainCategory);
+			campaigns[i] = new Campaign(categories[i], 10.0, 2, DiscountType.RATE);
+		}
+		for (int i = 0; i < products.length; i++) {
+			products[i] = new Product("Product " + i, 1.0 + i, categories[i % categories.length]);
+		}
+
+		// Create the idle carts
+		long start = System.nanoTime();
+		OffHeapCartStore store = new OffHeapCartStore();
+		ShoppingCart[] heapCarts = offHeap ? null : new ShoppingCart[cartCount];
+		int[] handles = offHeap ? new int[cartCount] : null;
+		for (int i = 0; i < cartCount; i++) {
+			ShoppingCart shoppingCart = createCart(calculator, products, campaigns, i);
+			if (offHeap) {
+				handles[i] = store.park(shoppingCart);
+			} else {
+				heapCarts[i] = shoppingCart;
+			}
+		}
+		long fillMillis = (System.nanoTime() - start) / 1_000_000;
+
+		// Measure the heap with the idle carts only
+		System.gc();
+		MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+
+		// Create garbage while the idle carts are alive, every collection has to deal with them
+		long[] gcBefore = gcTotals();
+		start = System.nanoTime();
+		double checksum = 0;
+		for (int i = 0; i < CHURN_CART_COUNT; i++) {
+			checksum += createCart(calculator, products, campaigns, i).getTotalAmountAfterDiscounts();
+		}
+		long churnMillis = (System.nanoTime() - start) / 1_000_000;
+		long[] gcAfter = gcTotals();
+
+		// Touch a few idle carts so that they are not optimized away
+		for (int i = 0; i < cartCount; i += Math.max(1, cartCount / 10)) {
+			ShoppingCart shoppingCart = offHeap ? store.rehydrate(handles[i]) : heapCarts[i];
+			checksum += shoppingCart.getTotalPrice();
+		}
+
+		// Output the results
+		long gcCount = gcAfter[0] - gcBefore[0];
+		long gcMillis = gcAfter[1] - gcBefore[1];
+		System.out.printf("%-28s%s%n", "Mode:", offHeap ? "off-heap" : "heap");
+		System.out.printf("%-28s%,d%n", "Idle carts:", cartCount);
+		System.out.printf("%-28s%,d ms%n", "Fill time:", fillMillis);
+		System.out.printf("%-28s%,d MB%n", "Heap used:", heap.getUsed() / (1024 * 1024));
+		System.out.printf("%-28s%,d MB%n", "Off-heap reserved:", store.getReservedBytes() / (1024 * 1024));
+		System.out.printf("%-28s%,d ms%n", "Churn time:", churnMillis);
+		System.out.printf("%-28s%,d%n", "GC count during churn:", gcCount);
+		System.out.printf("%-28s%,d ms%n", "GC time during churn:", gcMillis);
+		System.out.printf("%-28s%.2f ms%n", "Average GC pause:", gcCount == 0 ? 0.0 : (double) gcMillis / gcCount);
+		System.out.printf("%-28s%.2f%n", "Checksum:", checksum);
+	}
+
+	/*
+	 * Creates a cart with three lines and a campaign, deterministic for the given seed
+	 */
+	private static ShoppingCart createCart(DeliveryCostCalculator calculator, Product[] products, Campaign[] campaigns, int seed) {
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(products[seed % products.length], 1 + seed % 3);
+		shoppingCart.addItem(products[(seed * 7 + 1) % products.length], 2);
+		shoppingCart.addItem(products[(seed * 13 + 5) % products.length], 1);
+		shoppingCart.applyDiscounts(campaigns[seed % campaigns.length]);
+		return shoppingCart;
+	}
+
+	/*
+	 * Returns the total collection count and time of all collectors
+	 */
+	private static long[] gcTotals() {
+		long[] totals = new long[2];
+		for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+			totals[0] += Math.max(0, collector.getCollectionCount());
+			totals[1] += Math.max(0, collector.getCollectionTime());
+		}
+		return totals;
+	}
+}
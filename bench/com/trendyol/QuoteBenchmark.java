@@ -0,0 +1,75 @@
+package com.trendyol;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountBreakdown;
+import com.trendyol.workload.CartWorkload;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares the time and the allocation of pricing a cart through ShoppingCart.quote and through a full discount evaluation
+ *
+ * Usage: QuoteBenchmark [iterations]
+ */
+public class QuoteBenchmark {
+
+	public static void main(String[] args) {
+
+		// Read the parameters
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+		// Create a cart, snapshots are used since quoting them does not fill the discount cache
+		CatalogGenerator catalog = new CatalogGenerator(1, 3, 5, 100_000);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, 2);
+		List<Campaign> campaigns = promotions.campaigns(100);
+		List<Coupon> coupons = promotions.coupons(10);
+		CartWorkload workload = new CartWorkload(catalog, campaigns, coupons, new DeliveryCostCalculator(2.0, 0.5, 2.99), 3, 1.1, 10, 8);
+		ShoppingCart snapshot = workload.cart(0).snapshot();
+		QuoteBuffer buffer = new QuoteBuffer();
+
+		// Run both a few rounds, the first rounds are for warming up
+		for (int round = 0; round < 5; round++) {
+
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			double quoteTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				snapshot.quote(buffer);
+				quoteTotal += buffer.getFinalPrice();
+			}
+			long quoteNanos = System.nanoTime() - start;
+			long quoteBytes = allocatedBytes() - bytes;
+
+			bytes = allocatedBytes();
+			start = System.nanoTime();
+			double evaluationTotal = 0;
+			for (int i = 0; i < iterations; i++) {
+				DiscountBreakdown breakdown = DiscountBreakdown.calculate(snapshot.getItems(), snapshot.getCategoryMapping(),
+						snapshot.getAppliedCampaigns(), snapshot.getCoupon(), snapshot.getTotalPrice());
+				evaluationTotal += breakdown.getTotalAmountAfterDiscounts() + snapshot.getDeliveryCost();
+			}
+			long evaluationNanos = System.nanoTime() - start;
+			long evaluationBytes = allocatedBytes() - bytes;
+
+			// Output the round results
+			System.out.printf("Round %d: quote %,d ns/op %,d B/op, full evaluation %,d ns/op %,d B/op, results %s%n", round,
+					quoteNanos / iterations, quoteBytes / iterations, evaluationNanos / iterations, evaluationBytes / iterations,
+					quoteTotal == evaluationTotal ? "identical" : "DIFFERENT");
+		}
+	}
+
+	/*
+	 * Returns the bytes allocated by the current thread so far
+	 */
+	static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,91 @@
+package com.trendyol.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.product.Product;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares building a catalog from scratch with loading its image, and measures the first requests with and without warm-up
+ * Each mode has to be run in a fresh JVM to see the cold start
+ *
+ * Usage: CatalogImageBenchmark [build|load|warm] [productCount]
+ */
+public class CatalogImageBenchmark {
+
+	public static void main(String[] args) throws IOException {
+
+		// Read the parameters
+		String mode = args.length > 0 ? args[0] : "load";
+		int productCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		Path path = Files.createTempFile("catalog", ".img");
+
+		try {
+
+			// Prepare the image, its time is not measured
+			if (!mode.equals("build")) {
+				CatalogImage.write(build(productCount), path);
+			}
+
+			// Get the catalog ready
+			long start = System.nanoTime();
+			Catalog catalog = mode.equals("build") ? build(productCount) : CatalogImage.load(path);
+			long readyNanos = System.nanoTime() - start;
+			long warmUpNanos = 0;
+			if (mode.equals("warm")) {
+				start = System.nanoTime();
+				WarmUp.run(catalog, calculator, 20_000);
+				warmUpNanos = System.nanoTime() - start;
+			}
+
+			// Measure the first requests
+			start = System.nanoTime();
+			QuoteBuffer buffer = new QuoteBuffer();
+			double total = 0;
+			List<Product> products = catalog.getProducts();
+			for (int i = 0; i < 1_000; i++) {
+				ShoppingCart shoppingCart = new ShoppingCart(calculator);
+				for (int j = 0; j < 10; j++) {
+					Product product = products.get((i * 7 + j * 104_729) % products.size());
+					shoppingCart.addItem(product, 1);
+					shoppingCart.applyDiscounts(catalog.getCampaigns(product.getCategory()).toArray(new Campaign[0]));
+				}
+				shoppingCart.quote(buffer);
+				total += buffer.getFinalPrice();
+			}
+			long requestNanos = System.nanoTime() - start;
+
+			// Output the results
+			System.out.printf("Mode %s, %,d products: catalog ready in %,d ms, warm-up %,d ms, first 1,000 requests %,d us (%.2f)%n",
+					mode, products.size(), readyNanos / 1_000_000, warmUpNanos / 1_000_000, requestNanos / 1_000, total);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Builds the catalog from the generator, like a node that reads its catalog from the source systems
+	 */
+	private static Catalog build(int productCount) {
+		CatalogGenerator generator = new CatalogGenerator(1, 3, 5, productCount);
+		List<Product> products = new ArrayList<Product>(productCount);
+		for (int i = 0; i < productCount; i++) {
+			products.add(generator.product(i));
+		}
+		List<Campaign> campaigns = new PromotionGenerator(generator, 2).campaigns(500);
+		return new Catalog(System.currentTimeMillis(), generator.getCategories(), products, campaigns);
+	}
+}
@@ -0,0 +1,38 @@
+package com.trendyol.differential;
+
+import com.trendyol.ShoppingCart;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Prices the cart through its own (optimized) methods
+ * The methods of the cart are in the catalog currency, so the figures are converted with the market rate
+ */
+public class CartPricingEngine implements PricingEngine {
+
+	@Override
+	public double totalPrice(ShoppingCart cart) {
+		return cart.getTotalPrice() * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double campaignDiscount(ShoppingCart cart) {
+		return cart.getCampaignDiscount() * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double couponDiscount(ShoppingCart cart) {
+		return cart.getCouponDiscount() * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double tax(ShoppingCart cart) {
+		return cart.getTax() * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double deliveryCost(ShoppingCart cart) {
+		return cart.getDeliveryCost() * PricingEngine.rate(cart);
+	}
+}
@@ -0,0 +1,285 @@
+package com.trendyol.differential;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.currency.ExchangeRateTable;
+import com.trendyol.currency.ExchangeRates;
+import com.trendyol.currency.Market;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.product.Category;
+import com.trendyol.tax.TaxRateTable;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+import com.trendyol.workload.ZipfDistribution;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Runs randomized cart scenarios against a candidate pricing engine and the reference oracle, and compares the results
+ * Scenarios are independent of each other, so they run in parallel on all cores
+ * Failing scenarios are minimized before they are reported, the ones with the lowest indexes first,
+ * so the same run always reports the same failures
+ *
+ * Half of the campaigns and coupons are only valid in a window of the scenario time span, they are applied regardless
+ * of time on the carts without a scheduler, see @{Scenario}
+ *
+ * Usage: DifferentialHarness [scenarioCount] [seed]
+ */
+public class DifferentialHarness {
+
+	// Relative tolerance of the comparisons, only covers the summation order differences
+	private static final double TOLERANCE = 1e-9;
+
+	// Maximum number of failures that are collected and minimized
+	private static final int MAX_FAILURES = 10;
+
+	// Delivery cost factors of the scenarios
+	private static final double COST_PER_DELIVERY = 2.0;
+	private static final double COST_PER_PRODUCT = 0.5;
+	private static final double FIXED_COST = 2.99;
+
+	// Seed of the scenarios
+	private final long seed;
+
+	// Shared catalog, promotions, tax rates and market of all scenarios
+	private final CatalogGenerator catalog;
+	private final List<Campaign> campaigns;
+	private final List<Coupon> coupons;
+	private final ZipfDistribution popularity;
+	private final DeliveryCostCalculator calculator = new DeliveryCostCalculator(COST_PER_DELIVERY, COST_PER_PRODUCT, FIXED_COST);
+	private final TaxRateTable taxRates;
+	private final Market market;
+
+	// Engines under comparison
+	private final PricingEngine reference = new ReferencePricingEngine(COST_PER_DELIVERY, COST_PER_PRODUCT, FIXED_COST);
+	private final PricingEngine candidate;
+
+	/*
+	 * Constructor
+	 * Uses a small catalog so that scenarios often share products, categories and campaign targets
+	 */
+	public DifferentialHarness(PricingEngine candidate, long seed) {
+		this.candidate = candidate;
+		this.seed = seed;
+		this.catalog = new CatalogGenerator(seed, 3, 3, 500);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, seed);
+		this.popularity = new ZipfDistribution(catalog.getProductCount(), 1.1);
+
+		// Every other promotion gets a validity window
+		SplittableRandom random = new SplittableRandom(CatalogGenerator.mix(seed, 3));
+		this.campaigns = new ArrayList<Campaign>();
+		for (Campaign campaign : promotions.campaigns(40)) {
+			long validFrom = random.nextInt(Scenario.TIME_SPAN);
+			long validUntil = validFrom + random.nextInt(1, Scenario.TIME_SPAN);
+			campaigns.add(campaigns.size() % 2 == 0 ? campaign : new Campaign(campaign.getCategory(), campaign.getDiscount(),
+					campaign.getMinItemCount(), campaign.getDiscountType(), validFrom, validUntil));
+		}
+		this.coupons = new ArrayList<Coupon>();
+		for (Coupon coupon : promotions.coupons(10)) {
+			long validFrom = random.nextInt(Scenario.TIME_SPAN);
+			long validUntil = validFrom + random.nextInt(1, Scenario.TIME_SPAN);
+			coupons.add(coupons.size() % 2 == 0 ? coupon : new Coupon(coupon.getMinPriceTotal(), coupon.getDiscount(), coupon.getDiscountType(),
+					validFrom, validUntil));
+		}
+
+		// Rates on some of the categories, the others inherit them or take the default
+		Map<Category, Double> rates = new HashMap<Category, Double>();
+		for (Category category : catalog.getCategories()) {
+			if (random.nextInt(3) == 0) {
+				rates.put(category, (double) random.nextInt(0, 25));
+			}
+		}
+		this.taxRates = new TaxRateTable(8.0, rates);
+
+		// Euro market over the catalog currency
+		Currency euro = Currency.getInstance("EUR");
+		Map<Currency, Double> exchangeRates = new HashMap<Currency, Double>();
+		exchangeRates.put(euro, 0.03);
+		this.market = new Market(Locale.GERMANY, euro, new ExchangeRates(new ExchangeRateTable(Currency.getInstance("TRY"), exchangeRates, 1)));
+	}
+
+	/**
+	 * Runs the given number of scenarios in parallel
+	 *
+	 * @param scenarioCount the number of scenarios
+	 * @return the minimized failing scenarios, empty when the engines agree
+	 */
+	public List<Failure> run(long scenarioCount) {
+
+		// Keep the failing scenarios with the lowest indexes, whichever thread finds them first
+		TreeSet<Long> failingIndexes = new TreeSet<Long>();
+		LongStream.range(0, scenarioCount).parallel().forEach(index -> {
+			if (compare(scenario(index)) != null) {
+				synchronized (failingIndexes) {
+					failingIndexes.add(index);
+					if (failingIndexes.size() > MAX_FAILURES) {
+						failingIndexes.pollLast();
+					}
+				}
+			}
+		});
+
+		// Minimize the failing scenarios in the order of their indexes
+		List<Failure> failures = new ArrayList<Failure>();
+		for (long index : failingIndexes) {
+			Scenario scenario = scenario(index);
+			Scenario minimized = minimize(scenario);
+			failures.add(new Failure(scenario, minimized, compare(minimized)));
+		}
+
+		return failures;
+	}
+
+	/*
+	 * Generates the scenario of the given index
+	 */
+	private Scenario scenario(long index) {
+		return Scenario.generate(CatalogGenerator.mix(seed, index), popularity, campaigns.size(), coupons.size());
+	}
+
+	/**
+	 * Prices the scenario with both engines
+	 *
+	 * @param scenario the scenario
+	 * @return the description of the mismatch, or null if the engines agree
+	 */
+	public String compare(Scenario scenario) {
+
+		// Both engines see the same cart, which should contain the items of the scenario
+		ShoppingCart shoppingCart = scenario.toCart(catalog, campaigns, coupons, calculator, taxRates, market);
+		if (!scenario.expectedItems(catalog).equals(shoppingCart.getItems())) {
+			return "items: expected " + scenario.expectedItems(catalog) + " but was " + shoppingCart.getItems();
+		}
+
+		// Compare every figure
+		String mismatch = compare("totalPrice", reference.totalPrice(shoppingCart), candidate.totalPrice(shoppingCart));
+		if (mismatch == null) {
+			mismatch = compare("campaignDiscount", reference.campaignDiscount(shoppingCart), candidate.campaignDiscount(shoppingCart));
+		}
+		if (mismatch == null) {
+			mismatch = compare("couponDiscount", reference.couponDiscount(shoppingCart), candidate.couponDiscount(shoppingCart));
+		}
+		if (mismatch == null) {
+			mismatch = compare("tax", reference.tax(shoppingCart), candidate.tax(shoppingCart));
+		}
+		if (mismatch == null) {
+			mismatch = compare("deliveryCost", reference.deliveryCost(shoppingCart), candidate.deliveryCost(shoppingCart));
+		}
+
+		return mismatch;
+	}
+
+	/*
+	 * Compares a single figure
+	 */
+	private static String compare(String figure, double expected, double actual) {
+		if (Math.abs(expected - actual) <= TOLERANCE * Math.max(1.0, Math.abs(expected))) {
+			return null;
+		}
+		return figure + ": expected " + expected + " but was " + actual;
+	}
+
+	/*
+	 * Shrinks the scenario greedily while it still fails
+	 */
+	private Scenario minimize(Scenario scenario) {
+
+		boolean shrunk = true;
+		while (shrunk) {
+			shrunk = false;
+			for (Scenario variant : scenario.shrink()) {
+				if (compare(variant) != null) {
+					scenario = variant;
+					shrunk = true;
+					break;
+				}
+			}
+		}
+
+		return scenario;
+	}
+
+	public static void main(String[] args) {
+
+		// Read the parameters
+		long scenarioCount = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : 2020;
+
+		// Run the scenarios against the cart itself
+		long start = System.nanoTime();
+		List<Failure> failures = new DifferentialHarness(new CartPricingEngine(), seed).run(scenarioCount);
+		long millis = (System.nanoTime() - start) / 1_000_000;
+
+		// Output the results
+		System.out.printf("%,d scenarios in %,d ms, %d failures%n", scenarioCount, millis, failures.size());
+		for (Failure failure : failures) {
+			System.out.println(failure);
+		}
+
+		if (!failures.isEmpty()) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * A failing scenario together with its minimized form
+	 */
+	public static class Failure {
+
+		// Scenario as generated
+		private final Scenario original;
+
+		// Smallest scenario that still fails
+		private final Scenario minimized;
+
+		// Mismatch of the minimized scenario
+		private final String mismatch;
+
+		/*
+		 * Constructor
+		 */
+		Failure(Scenario original, Scenario minimized, String mismatch) {
+			this.original = original;
+			this.minimized = minimized;
+			this.mismatch = mismatch;
+		}
+
+		/*
+		 * Returns the generated scenario
+		 */
+		public Scenario getOriginal() {
+			return original;
+		}
+
+		/*
+		 * Returns the minimized scenario
+		 */
+		public Scenario getMinimized() {
+			return minimized;
+		}
+
+		/*
+		 * Returns the mismatch of the minimized scenario
+		 */
+		public String getMismatch() {
+			return mismatch;
+		}
+
+		@Override
+		public String toString() {
+			return mismatch + System.lineSeparator() + "  minimized: " + minimized + System.lineSeparator() + "  original size: " + original.size();
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.trendyol.differential;
+
+import com.trendyol.ShoppingCart;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * An interface for the pricing implementations that are compared by the differential harness
+ * Figures are in the currency of the cart market, or in the catalog currency if the cart has no market
+ */
+public interface PricingEngine {
+
+	/*
+	 * Returns the total price of the items before the discounts
+	 */
+	double totalPrice(ShoppingCart cart);
+
+	/*
+	 * Returns the total campaign discount
+	 */
+	double campaignDiscount(ShoppingCart cart);
+
+	/*
+	 * Returns the coupon discount
+	 */
+	double couponDiscount(ShoppingCart cart);
+
+	/*
+	 * Returns the tax
+	 */
+	double tax(ShoppingCart cart);
+
+	/*
+	 * Returns the delivery cost
+	 */
+	double deliveryCost(ShoppingCart cart);
+
+	/*
+	 * Returns the rate that the catalog prices of the cart are converted with
+	 */
+	static double rate(ShoppingCart cart) {
+		return cart.getMarket() == null ? 1 : cart.getMarket().getRate();
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.trendyol.differential;
+
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Prices the cart through ShoppingCart.quote
+ * The quote does not fill the discount cache of the cart, so every call takes the direct evaluation path
+ */
+public class QuotePricingEngine implements PricingEngine {
+
+	// Buffers are not thread-safe, the harness runs on many threads
+	private final ThreadLocal<QuoteBuffer> buffers = ThreadLocal.withInitial(QuoteBuffer::new);
+
+	@Override
+	public double totalPrice(ShoppingCart cart) {
+		return quote(cart).getTotalPrice();
+	}
+
+	@Override
+	public double campaignDiscount(ShoppingCart cart) {
+		return quote(cart).getCampaignDiscount();
+	}
+
+	@Override
+	public double couponDiscount(ShoppingCart cart) {
+		return quote(cart).getCouponDiscount();
+	}
+
+	@Override
+	public double tax(ShoppingCart cart) {
+		return quote(cart).getTax();
+	}
+
+	@Override
+	public double deliveryCost(ShoppingCart cart) {
+		return quote(cart).getDeliveryCost();
+	}
+
+	/*
+	 * Quotes the cart into the buffer of the current thread
+	 */
+	private QuoteBuffer quote(ShoppingCart cart) {
+		QuoteBuffer buffer = buffers.get();
+		cart.quote(buffer);
+		return buffer;
+	}
+}
@@ -0,0 +1,243 @@
+package com.trendyol.differential;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.discount.PromotionScheduler;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+import com.trendyol.tax.TaxRateTable;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Reference oracle of the pricing rules
+ * Keeps the straightforward campaign, coupon and delivery logic of the cart, without any caching or indexing
+ * Only the public item list of the cart is used, the category aggregates are recalculated from scratch on every call
+ *
+ * Promotions of a cart with a scheduler are filtered by their validity at the current time of the scheduler, instead of its epochs
+ * Tax is calculated line by line, with the discounts allocated on the lines in proportion to their totals
+ * Figures are converted with the rate of the cart market
+ */
+public class ReferencePricingEngine implements PricingEngine {
+
+	// Delivery cost factors, the same as the ones given to DeliveryCostCalculator
+	private final double costPerDelivery;
+	private final double costPerProduct;
+	private final double fixedCost;
+
+	/*
+	 * Constructor
+	 */
+	public ReferencePricingEngine(double costPerDelivery, double costPerProduct, double fixedCost) {
+		this.costPerDelivery = costPerDelivery;
+		this.costPerProduct = costPerProduct;
+		this.fixedCost = fixedCost;
+	}
+
+	@Override
+	public double totalPrice(ShoppingCart cart) {
+		return catalogTotalPrice(cart) * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double campaignDiscount(ShoppingCart cart) {
+		double totalDiscount = 0;
+		for (double discount : campaignDiscounts(cart).values()) {
+			totalDiscount += discount;
+		}
+		return totalDiscount * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double couponDiscount(ShoppingCart cart) {
+		return catalogCouponDiscount(cart) * PricingEngine.rate(cart);
+	}
+
+	@Override
+	public double tax(ShoppingCart cart) {
+
+		// Tax is not applied
+		TaxRateTable taxRates = cart.getTaxRates();
+		if (taxRates == null) {
+			return 0;
+		}
+
+		// Share of each category total that is given as discount by its campaigns
+		Map<Category, Double> categoryTotals = categoryTotals(cart);
+		Map<Category, Double> discountRatios = new HashMap<Category, Double>();
+		double totalCampaignDiscount = 0;
+		for (Map.Entry<Campaign, Double> entry : campaignDiscounts(cart).entrySet()) {
+			Category category = entry.getKey().getCategory();
+			if (entry.getValue() != 0 && categoryTotals.get(category) > 0) {
+				discountRatios.merge(category, entry.getValue() / categoryTotals.get(category), Double::sum);
+			}
+			totalCampaignDiscount += entry.getValue();
+		}
+
+		// Coupon is shared by the lines in proportion to what is left after the campaigns
+		double priceAfterCampaigns = catalogTotalPrice(cart) - totalCampaignDiscount;
+		double couponRatio = priceAfterCampaigns > 0 ? catalogCouponDiscount(cart) / priceAfterCampaigns : 0;
+
+		// Tax each line on its total after its share of the discounts
+		double tax = 0;
+		for (Map.Entry<Product, Integer> entry : cart.getItems().entrySet()) {
+			Product product = entry.getKey();
+			double lineTotal = product.getPrice() * entry.getValue();
+			double lineCampaignDiscount = 0;
+			for (Category category = product.getCategory(); category != null; category = category.getParent()) {
+				lineCampaignDiscount += lineTotal * discountRatios.getOrDefault(category, 0.0);
+			}
+			double lineCouponDiscount = (lineTotal - lineCampaignDiscount) * couponRatio;
+			tax += Math.max(0, lineTotal - lineCampaignDiscount - lineCouponDiscount) * taxRates.getRate(product.getCategory()) / 100;
+		}
+
+		return tax * PricingEngine.rate(cart);
+	}
+
+	/*
+	 * Returns the total price in the catalog currency
+	 */
+	private double catalogTotalPrice(ShoppingCart cart) {
+		double totalPrice = 0;
+		for (Map.Entry<Product, Integer> entry : cart.getItems().entrySet()) {
+			totalPrice += entry.getKey().getPrice() * entry.getValue();
+		}
+		return totalPrice;
+	}
+
+	/*
+	 * Recalculates the total price of each category, including the products of the sub-categories
+	 */
+	private Map<Category, Double> categoryTotals(ShoppingCart cart) {
+		Map<Category, Double> categoryTotals = new HashMap<Category, Double>();
+		for (Map.Entry<Product, Integer> entry : cart.getItems().entrySet()) {
+			for (Category category = entry.getKey().getCategory(); category != null; category = category.getParent()) {
+				categoryTotals.merge(category, entry.getKey().getPrice() * entry.getValue(), Double::sum);
+			}
+		}
+		return categoryTotals;
+	}
+
+	/*
+	 * Returns the campaigns in effect, the valid applied ones followed by the valid scheduled ones that are not applied
+	 */
+	private List<Campaign> activeCampaigns(ShoppingCart cart) {
+
+		// Without a scheduler, the applied campaigns are used as they are
+		PromotionScheduler scheduler = cart.getPromotionScheduler();
+		if (scheduler == null) {
+			return cart.getAppliedCampaigns();
+		}
+
+		long time = scheduler.getCurrentTime();
+		List<Campaign> campaigns = new ArrayList<Campaign>();
+		for (Campaign campaign : cart.getAppliedCampaigns()) {
+			if (campaign.isActiveAt(time)) {
+				campaigns.add(campaign);
+			}
+		}
+		for (Campaign campaign : scheduler.getCampaigns()) {
+			if (campaign.isActiveAt(time) && !cart.getAppliedCampaigns().contains(campaign)) {
+				campaigns.add(campaign);
+			}
+		}
+		return campaigns;
+	}
+
+	/*
+	 * Returns the discount of each campaign in effect in the catalog currency, a campaign that is applied twice counts twice
+	 */
+	private Map<Campaign, Double> campaignDiscounts(ShoppingCart cart) {
+
+		// Recalculate the item count and the total price of each category
+		Map<Category, Integer> categoryCounts = new HashMap<Category, Integer>();
+		Map<Category, Double> categoryTotals = new HashMap<Category, Double>();
+		for (Map.Entry<Product, Integer> entry : cart.getItems().entrySet()) {
+			Product product = entry.getKey();
+			int count = entry.getValue();
+			for (Category category = product.getCategory(); category != null; category = category.getParent()) {
+				categoryCounts.merge(category, count, Integer::sum);
+				categoryTotals.merge(category, product.getPrice() * count, Double::sum);
+			}
+		}
+
+		// Each campaign will be applied individually to calculate the total discount
+		Map<Campaign, Double> discounts = new HashMap<Campaign, Double>();
+		for (Campaign campaign : activeCampaigns(cart)) {
+
+			// Campaign will be applied only when there are enough items on the corresponding category
+			Category category = campaign.getCategory();
+			if (categoryCounts.containsKey(category) && categoryCounts.get(category) > campaign.getMinItemCount()) {
+
+				// Discount amount is depending on the discount type
+				if (campaign.getDiscountType() == DiscountType.RATE) {
+					discounts.merge(campaign, categoryTotals.get(category) * campaign.getDiscount() / 100, Double::sum);
+				} else {
+					discounts.merge(campaign, campaign.getDiscount(), Double::sum);
+				}
+			}
+		}
+
+		return discounts;
+	}
+
+	/*
+	 * Returns the coupon discount in the catalog currency
+	 */
+	private double catalogCouponDiscount(ShoppingCart cart) {
+
+		// Only apply if a coupon is applied, and it is valid at the current time of the scheduler
+		Coupon coupon = cart.getCoupon();
+		PromotionScheduler scheduler = cart.getPromotionScheduler();
+		if (coupon != null && (scheduler == null || coupon.isActiveAt(scheduler.getCurrentTime()))) {
+
+			// Check coupon validity
+			double priceAfterCampaigns = catalogTotalPrice(cart);
+			for (double discount : campaignDiscounts(cart).values()) {
+				priceAfterCampaigns -= discount;
+			}
+			double minPriceTotal = coupon.getMinPriceTotal();
+			if (priceAfterCampaigns >= minPriceTotal || Math.abs(priceAfterCampaigns - minPriceTotal) < ShoppingCart.EPSILON) {
+
+				// For DiscountType.RATE, calculate the discount by percentage
+				if (coupon.getDiscountType() == DiscountType.RATE) {
+					return priceAfterCampaigns * coupon.getDiscount() / 100;
+				}
+
+				// Otherwise, return the discount amount directly
+				return coupon.getDiscount();
+			}
+		}
+
+		// No discount will be applied
+		return 0;
+	}
+
+	@Override
+	public double deliveryCost(ShoppingCart cart) {
+
+		// Handle invalid and empty cart cases
+		if (cart == null || cart.getItems().isEmpty()) {
+			return 0;
+		}
+
+		// Collect distinct categories of the products
+		Set<Category> categorySet = new HashSet<Category>();
+		for (Product product : cart.getItems().keySet()) {
+			categorySet.add(product.getCategory());
+		}
+
+		// Calculate the delivery cost according to the given formula
+		return (costPerDelivery * categorySet.size() + costPerProduct * cart.getItems().size() + fixedCost) * PricingEngine.rate(cart);
+	}
+}
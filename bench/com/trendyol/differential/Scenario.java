@@ -0,0 +1,487 @@
+package com.trendyol.differential;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.currency.Market;
+import com.trendyol.delivery.DeliveryMethod;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.PromotionScheduler;
+import com.trendyol.product.Product;
+import com.trendyol.tax.TaxRateTable;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.ZipfDistribution;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Plain description of a cart and its promotions, by indexes into a generated catalog and promotion set
+ * Scenarios are kept as data instead of carts, so that failing ones can be minimized
+ *
+ * Besides the lines and the promotions, a scenario may price the cart with a promotion scheduler at a point in time
+ * (and advance it at the end), with tax rates or in a market currency, fill and reset the cart before the actual lines,
+ * warm the caches of the cart halfway and keep changing it afterwards, and merge a guest cart into it at the end
+ */
+public class Scenario {
+
+	// Length of the time span that the promotion windows and the scenario times are taken from
+	public static final int TIME_SPAN = 100;
+
+	// Means that an optional index or time is not used
+	private static final int NONE = -1;
+
+	// Seed the scenario was generated from
+	private final long seed;
+
+	// Product indexes and counts, in the order they are added into the cart
+	// Note: Variants are copied and changed before they are shared, see @{shrink}, so the fields are not final
+	private List<int[]> lines;
+
+	// Number of lines that are added before the promotions, the caches are warmed at the same point
+	private int split;
+
+	// Campaign indexes, in the order they are applied
+	private List<Integer> campaigns;
+
+	// Coupon index, or -1 if there is no coupon
+	private int coupon;
+
+	// Whether the caches are warmed after the promotions, before the rest of the lines
+	private boolean cached;
+
+	// Whether the cart is filled, priced and reset before the scenario
+	private boolean reset;
+
+	// Guest cart that is merged at the end, with its merge policy index or -1 if there is no merge
+	private List<int[]> guestLines;
+	private List<Integer> guestCampaigns;
+	private int guestCoupon;
+	private int mergePolicy;
+
+	// Scheduled campaign indexes, the time that the scheduler starts at or -1 if there is no scheduler, and the time it is advanced to or -1
+	private List<Integer> scheduledCampaigns;
+	private long time;
+	private long advancedTime;
+
+	// Whether the cart has tax rates, and whether it is priced in the market currency
+	private boolean taxed;
+	private boolean priced;
+
+	/*
+	 * Constructor of a plain scenario with lines and promotions only
+	 */
+	public Scenario(long seed, List<int[]> lines, List<Integer> campaigns, int coupon) {
+		this.seed = seed;
+		this.lines = Collections.unmodifiableList(lines);
+		this.split = lines.size();
+		this.campaigns = Collections.unmodifiableList(campaigns);
+		this.coupon = coupon;
+		this.guestLines = Collections.emptyList();
+		this.guestCampaigns = Collections.emptyList();
+		this.guestCoupon = NONE;
+		this.mergePolicy = NONE;
+		this.scheduledCampaigns = Collections.emptyList();
+		this.time = NONE;
+		this.advancedTime = NONE;
+	}
+
+	/*
+	 * Copy constructor, used for the variants
+	 */
+	private Scenario(Scenario other) {
+		this.seed = other.seed;
+		this.lines = other.lines;
+		this.split = other.split;
+		this.campaigns = other.campaigns;
+		this.coupon = other.coupon;
+		this.cached = other.cached;
+		this.reset = other.reset;
+		this.guestLines = other.guestLines;
+		this.guestCampaigns = other.guestCampaigns;
+		this.guestCoupon = other.guestCoupon;
+		this.mergePolicy = other.mergePolicy;
+		this.scheduledCampaigns = other.scheduledCampaigns;
+		this.time = other.time;
+		this.advancedTime = other.advancedTime;
+		this.taxed = other.taxed;
+		this.priced = other.priced;
+	}
+
+	/**
+	 * Generates a random scenario
+	 *
+	 * @param seed the seed of the scenario
+	 * @param popularity the distribution of the product indexes
+	 * @param campaignCount the number of available campaigns
+	 * @param couponCount the number of available coupons
+	 * @return the scenario
+	 */
+	public static Scenario generate(long seed, ZipfDistribution popularity, int campaignCount, int couponCount) {
+
+		SplittableRandom random = new SplittableRandom(seed);
+
+		// Lines may repeat the same product, which exercises the incremental aggregates
+		List<int[]> lines = lines(random, popularity, random.nextInt(0, 25));
+
+		// Campaigns may repeat as well, some scenarios have enough of them for the columnar evaluation
+		int appliedCount = campaignCount == 0 ? 0 : random.nextInt(0, random.nextBoolean() ? 12 : 40);
+		List<Integer> campaigns = indexes(random, campaignCount, appliedCount);
+
+		// Most of the scenarios have a coupon
+		int coupon = couponCount > 0 && random.nextInt(4) != 0 ? random.nextInt(couponCount) : NONE;
+		Scenario scenario = new Scenario(seed, lines, campaigns, coupon);
+
+		// Caches are warmed halfway in half of the scenarios, a few are reset before they start
+		scenario.split = random.nextInt(0, lines.size() + 1);
+		scenario.cached = random.nextBoolean();
+		scenario.reset = random.nextInt(8) == 0;
+
+		// A third of the scenarios run on a scheduler, half of those advance it at the end
+		if (random.nextInt(3) == 0) {
+			scenario.scheduledCampaigns = indexes(random, campaignCount, campaignCount == 0 ? 0 : random.nextInt(0, 30));
+			scenario.time = random.nextInt(TIME_SPAN);
+			scenario.advancedTime = random.nextBoolean() ? random.nextInt(TIME_SPAN) : NONE;
+		}
+
+		// A quarter of the scenarios merge a guest cart
+		if (random.nextInt(4) == 0) {
+			scenario.guestLines = lines(random, popularity, random.nextInt(0, 10));
+			scenario.guestCampaigns = indexes(random, campaignCount, campaignCount == 0 ? 0 : random.nextInt(0, 4));
+			scenario.guestCoupon = couponCount > 0 && random.nextBoolean() ? random.nextInt(couponCount) : NONE;
+			scenario.mergePolicy = random.nextInt(MergePolicy.values().length);
+		}
+
+		scenario.taxed = random.nextInt(3) == 0;
+		scenario.priced = random.nextInt(4) == 0;
+		return scenario;
+	}
+
+	/*
+	 * Generates product lines
+	 */
+	private static List<int[]> lines(SplittableRandom random, ZipfDistribution popularity, int lineCount) {
+		List<int[]> lines = new ArrayList<int[]>(lineCount);
+		for (int i = 0; i < lineCount; i++) {
+			lines.add(new int[] { popularity.sample(random) - 1, random.nextInt(1, 12) });
+		}
+		return Collections.unmodifiableList(lines);
+	}
+
+	/*
+	 * Generates promotion indexes, which may repeat
+	 */
+	private static List<Integer> indexes(SplittableRandom random, int bound, int count) {
+		List<Integer> indexes = new ArrayList<Integer>(count);
+		for (int i = 0; i < count; i++) {
+			indexes.add(random.nextInt(bound));
+		}
+		return Collections.unmodifiableList(indexes);
+	}
+
+	/**
+	 * Builds the cart of the scenario
+	 *
+	 * @param catalog the catalog of the products
+	 * @param campaignSet the available campaigns
+	 * @param couponSet the available coupons
+	 * @param deliveryMethod the delivery method of the cart
+	 * @param taxRates the tax rates of the taxed scenarios
+	 * @param market the market of the scenarios priced in another currency
+	 * @return the cart
+	 */
+	public ShoppingCart toCart(CatalogGenerator catalog, List<Campaign> campaignSet, List<Coupon> couponSet, DeliveryMethod deliveryMethod,
+			TaxRateTable taxRates, Market market) {
+
+		// Configure the cart, each scenario has a scheduler of its own since the cart registers its promotions with it
+		ShoppingCart shoppingCart = new ShoppingCart(deliveryMethod);
+		PromotionScheduler scheduler = null;
+		if (time != NONE) {
+			scheduler = new PromotionScheduler(select(campaignSet, scheduledCampaigns), Collections.<Coupon>emptyList(), time);
+			shoppingCart.setPromotionScheduler(scheduler);
+		}
+		if (taxed) {
+			shoppingCart.setTaxRates(taxRates);
+		}
+		if (priced) {
+			shoppingCart.setMarket(market);
+		}
+
+		// Fill and price the cart once, the reset keeps the holders for the actual contents
+		if (reset) {
+			addLines(shoppingCart, catalog, lines, 0, lines.size());
+			applyPromotions(shoppingCart, campaignSet, couponSet, campaigns, coupon);
+			warm(shoppingCart);
+			shoppingCart.reset();
+		}
+
+		// Add the lines around the promotions, warming the caches in between
+		addLines(shoppingCart, catalog, lines, 0, split);
+		applyPromotions(shoppingCart, campaignSet, couponSet, campaigns, coupon);
+		if (cached) {
+			warm(shoppingCart);
+		}
+		addLines(shoppingCart, catalog, lines, split, lines.size());
+
+		// Merge the guest cart
+		if (mergePolicy != NONE) {
+			ShoppingCart guestCart = new ShoppingCart(deliveryMethod);
+			addLines(guestCart, catalog, guestLines, 0, guestLines.size());
+			applyPromotions(guestCart, campaignSet, couponSet, guestCampaigns, guestCoupon);
+			shoppingCart.merge(guestCart, MergePolicy.values()[mergePolicy]);
+		}
+
+		// Move the scheduler on, after the caches of the old epoch are filled
+		if (scheduler != null && advancedTime != NONE) {
+			if (cached) {
+				warm(shoppingCart);
+			}
+			scheduler.advance(advancedTime);
+		}
+
+		return shoppingCart;
+	}
+
+	/*
+	 * Adds a range of lines into a cart
+	 */
+	private static void addLines(ShoppingCart shoppingCart, CatalogGenerator catalog, List<int[]> lines, int from, int to) {
+		for (int i = from; i < to; i++) {
+			shoppingCart.addItem(catalog.product(lines.get(i)[0]), lines.get(i)[1]);
+		}
+	}
+
+	/*
+	 * Applies the campaigns and the coupon of the given indexes
+	 */
+	private static void applyPromotions(ShoppingCart shoppingCart, List<Campaign> campaignSet, List<Coupon> couponSet, List<Integer> campaigns,
+			int coupon) {
+		for (int campaign : campaigns) {
+			shoppingCart.applyDiscounts(campaignSet.get(campaign));
+		}
+		if (coupon != NONE) {
+			shoppingCart.applyCoupon(couponSet.get(coupon));
+		}
+	}
+
+	/*
+	 * Fills the caches of the cart
+	 */
+	private static void warm(ShoppingCart shoppingCart) {
+		shoppingCart.getDiscountBreakdown();
+		shoppingCart.getTax();
+		shoppingCart.quote(new QuoteBuffer());
+		shoppingCart.getCampaignNudges(1);
+		shoppingCart.snapshot();
+	}
+
+	/*
+	 * Returns the campaigns of the given indexes
+	 */
+	private static List<Campaign> select(List<Campaign> campaignSet, List<Integer> indexes) {
+		List<Campaign> selected = new ArrayList<Campaign>(indexes.size());
+		for (int index : indexes) {
+			selected.add(campaignSet.get(index));
+		}
+		return selected;
+	}
+
+	/**
+	 * Returns the items that the cart of the scenario should contain, worked out from the lines and the merge policy
+	 *
+	 * @param catalog the catalog of the products
+	 * @return the products and their counts
+	 */
+	public Map<Product, Integer> expectedItems(CatalogGenerator catalog) {
+		Map<Product, Integer> items = sum(catalog, lines);
+		if (mergePolicy != NONE) {
+			MergePolicy policy = MergePolicy.values()[mergePolicy];
+			for (Map.Entry<Product, Integer> entry : sum(catalog, guestLines).entrySet()) {
+				items.put(entry.getKey(), policy.merge(items.getOrDefault(entry.getKey(), 0), entry.getValue()));
+			}
+		}
+		return items;
+	}
+
+	/*
+	 * Sums the counts of the lines by product
+	 */
+	private static Map<Product, Integer> sum(CatalogGenerator catalog, List<int[]> lines) {
+		Map<Product, Integer> items = new HashMap<Product, Integer>();
+		for (int[] line : lines) {
+			items.merge(catalog.product(line[0]), line[1], Integer::sum);
+		}
+		return items;
+	}
+
+	/**
+	 * Returns the smaller variants of the scenario, used while minimizing a failing scenario
+	 * Every variant drops a single line, promotion or feature of the scenario, or decreases a single count
+	 *
+	 * @return the variants
+	 */
+	public List<Scenario> shrink() {
+
+		List<Scenario> variants = new ArrayList<Scenario>();
+
+		// Drop a feature
+		if (coupon != NONE) {
+			variants.add(variant(scenario -> scenario.coupon = NONE));
+		}
+		if (mergePolicy != NONE) {
+			variants.add(variant(scenario -> {
+				scenario.mergePolicy = NONE;
+				scenario.guestLines = Collections.emptyList();
+				scenario.guestCampaigns = Collections.emptyList();
+				scenario.guestCoupon = NONE;
+			}));
+		}
+		if (guestCoupon != NONE) {
+			variants.add(variant(scenario -> scenario.guestCoupon = NONE));
+		}
+		if (time != NONE) {
+			variants.add(variant(scenario -> {
+				scenario.time = NONE;
+				scenario.advancedTime = NONE;
+				scenario.scheduledCampaigns = Collections.emptyList();
+			}));
+		}
+		if (advancedTime != NONE) {
+			variants.add(variant(scenario -> scenario.advancedTime = NONE));
+		}
+		if (cached) {
+			variants.add(variant(scenario -> scenario.cached = false));
+		}
+		if (reset) {
+			variants.add(variant(scenario -> scenario.reset = false));
+		}
+		if (taxed) {
+			variants.add(variant(scenario -> scenario.taxed = false));
+		}
+		if (priced) {
+			variants.add(variant(scenario -> scenario.priced = false));
+		}
+
+		// Drop a promotion
+		for (int i = 0; i < campaigns.size(); i++) {
+			int index = i;
+			variants.add(variant(scenario -> scenario.campaigns = without(campaigns, index)));
+		}
+		for (int i = 0; i < guestCampaigns.size(); i++) {
+			int index = i;
+			variants.add(variant(scenario -> scenario.guestCampaigns = without(guestCampaigns, index)));
+		}
+		for (int i = 0; i < scheduledCampaigns.size(); i++) {
+			int index = i;
+			variants.add(variant(scenario -> scenario.scheduledCampaigns = without(scheduledCampaigns, index)));
+		}
+
+		// Drop a line or decrease its count
+		for (int i = 0; i < lines.size(); i++) {
+			int index = i;
+			variants.add(variant(scenario -> {
+				scenario.lines = without(lines, index);
+				scenario.split = index < split ? split - 1 : split;
+			}));
+			if (lines.get(i)[1] > 1) {
+				variants.add(variant(scenario -> scenario.lines = decreased(lines, index)));
+			}
+		}
+		for (int i = 0; i < guestLines.size(); i++) {
+			int index = i;
+			variants.add(variant(scenario -> scenario.guestLines = without(guestLines, index)));
+			if (guestLines.get(i)[1] > 1) {
+				variants.add(variant(scenario -> scenario.guestLines = decreased(guestLines, index)));
+			}
+		}
+
+		return variants;
+	}
+
+	/*
+	 * Returns a copy of the scenario with the given change
+	 */
+	private Scenario variant(Consumer<Scenario> change) {
+		Scenario variant = new Scenario(this);
+		change.accept(variant);
+		return variant;
+	}
+
+	/*
+	 * Returns a copy of the list without the element at the given index
+	 */
+	private static <T> List<T> without(List<T> list, int index) {
+		List<T> shrunk = new ArrayList<T>(list);
+		shrunk.remove(index);
+		return Collections.unmodifiableList(shrunk);
+	}
+
+	/*
+	 * Returns a copy of the lines with the count of the given line decreased by one
+	 */
+	private static List<int[]> decreased(List<int[]> lines, int index) {
+		List<int[]> shrunk = new ArrayList<int[]>(lines);
+		shrunk.set(index, new int[] { lines.get(index)[0], lines.get(index)[1] - 1 });
+		return Collections.unmodifiableList(shrunk);
+	}
+
+	/*
+	 * Returns the size of the scenario, used to compare the minimized scenarios
+	 */
+	public int size() {
+		int size = campaigns.size() + guestCampaigns.size() + scheduledCampaigns.size() + (coupon != NONE ? 1 : 0) + (guestCoupon != NONE ? 1 : 0)
+				+ (mergePolicy != NONE ? 1 : 0) + (time != NONE ? 1 : 0) + (advancedTime != NONE ? 1 : 0) + (cached ? 1 : 0) + (reset ? 1 : 0)
+				+ (taxed ? 1 : 0) + (priced ? 1 : 0);
+		for (int[] line : lines) {
+			size += line[1];
+		}
+		for (int[] line : guestLines) {
+			size += line[1];
+		}
+		return size;
+	}
+
+	/*
+	 * Returns the seed of the scenario
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("seed=").append(seed).append(" lines=");
+		appendLines(builder, lines);
+		builder.append(" split=").append(split).append(" campaigns=").append(campaigns).append(" coupon=").append(coupon);
+		if (time != NONE) {
+			builder.append(" scheduled=").append(scheduledCampaigns).append(" time=").append(time).append(" advancedTime=").append(advancedTime);
+		}
+		if (mergePolicy != NONE) {
+			builder.append(" merge=").append(MergePolicy.values()[mergePolicy]).append(" guestLines=");
+			appendLines(builder, guestLines);
+			builder.append(" guestCampaigns=").append(guestCampaigns).append(" guestCoupon=").append(guestCoupon);
+		}
+		return builder.append(" cached=").append(cached).append(" reset=").append(reset).append(" taxed=").append(taxed)
+				.append(" priced=").append(priced).toString();
+	}
+
+	/*
+	 * Appends the lines in a readable form
+	 */
+	private static void appendLines(StringBuilder builder, List<int[]> lines) {
+		builder.append("[");
+		for (int i = 0; i < lines.size(); i++) {
+			builder.append(i == 0 ? "" : ", ").append("P").append(lines.get(i)[0]).append(" x").append(lines.get(i)[1]);
+		}
+		builder.append("]");
+	}
+}
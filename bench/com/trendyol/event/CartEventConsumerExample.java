@@ -0,0 +1,103 @@
+package com.trendyol.event;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.workload.CartWorkload;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Example of a local consumer of the cart events
+ * Carts are filled on all cores while a single consumer thread aggregates the changes in batches,
+ * like an analytics or a cache invalidation consumer would do
+ *
+ * Usage: CartEventConsumerExample [DROP|SAMPLE|BLOCK] [cartCount] [capacity]
+ */
+public class CartEventConsumerExample {
+
+	public static void main(String[] args) throws InterruptedException {
+
+		// Read the parameters
+		BackPressurePolicy policy = args.length > 0 ? BackPressurePolicy.valueOf(args[0]) : BackPressurePolicy.BLOCK;
+		int cartCount = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+		int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+
+		// Create the workload
+		CatalogGenerator catalog = new CatalogGenerator(1, 3, 5, 100_000);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, 2);
+		List<Campaign> campaigns = promotions.campaigns(100);
+		List<Coupon> coupons = promotions.coupons(10);
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		CartWorkload workload = new CartWorkload(catalog, campaigns, coupons, calculator, 3, 1.1, 10, 2);
+
+		// Start the consumer
+		CartEventStream stream = new CartEventStream(capacity, policy);
+		EventAggregator aggregator = new EventAggregator();
+		CartEventProcessor processor = new CartEventProcessor(stream, aggregator);
+		Thread consumer = new Thread(processor, "cart-event-consumer");
+		consumer.start();
+
+		// Fill the carts on all cores, every change is published to the stream
+		long start = System.nanoTime();
+		IntStream.range(0, cartCount).parallel().forEach(cartIndex -> {
+			ShoppingCart shoppingCart = new ShoppingCart(calculator);
+			shoppingCart.setEventStream(stream);
+			workload.fill(shoppingCart, cartIndex);
+		});
+		long producerNanos = System.nanoTime() - start;
+
+		// Let the consumer drain the stream
+		processor.stop();
+		consumer.join();
+
+		// Output the results
+		System.out.printf("Policy %s, capacity %,d: %,d events consumed in %,d batches, %,d dropped, producers took %,d ms%n",
+				policy, stream.getCapacity(), aggregator.eventCount, aggregator.batchCount, stream.getDroppedCount(), producerNanos / 1_000_000);
+		for (Map.Entry<CartEventType, Long> entry : aggregator.typeCounts.entrySet()) {
+			System.out.printf("%-20s%,d%n", entry.getKey(), entry.getValue());
+		}
+		System.out.printf("%-20s%,.2f%n", "Added value", aggregator.addedValue);
+	}
+
+	/*
+	 * Aggregates the events, only touched by the consumer thread
+	 */
+	private static class EventAggregator implements CartEventHandler {
+
+		// Number of events of each type
+		private final Map<CartEventType, Long> typeCounts = new EnumMap<CartEventType, Long>(CartEventType.class);
+
+		// Total value of the added items
+		private double addedValue;
+
+		// Number of consumed events and batches
+		private long eventCount;
+		private long batchCount;
+
+		@Override
+		public void onEvent(CartEvent event, long sequence, boolean endOfBatch) {
+
+			// Aggregate the event, nothing is kept from the event itself since its slot is reused
+			typeCounts.merge(event.getType(), 1L, Long::sum);
+			if (event.getType() == CartEventType.ITEM_ADDED) {
+				addedValue += event.getProduct().getPrice() * event.getCount();
+			}
+			eventCount++;
+
+			// A real consumer would flush its buffer to the downstream system here
+			if (endOfBatch) {
+				batchCount++;
+			}
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package com.trendyol.importing;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.catalog.Catalog;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.ZipfDistribution;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Compares the order import pipeline with a plain reader loop that builds a product for each line
+ *
+ * Usage: OrderImportBenchmark [lineCount] [cartCount] [parallelism]
+ */
+public class OrderImportBenchmark {
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+
+		// Read the parameters
+		int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+		int cartCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+		// Create the catalog and the order file
+		CatalogGenerator generator = new CatalogGenerator(1, 3, 5, 100_000);
+		List<Product> products = new ArrayList<Product>(generator.getProductCount());
+		for (int i = 0; i < generator.getProductCount(); i++) {
+			products.add(generator.product(i));
+		}
+		Catalog catalog = new Catalog(1, generator.getCategories(), products, Collections.<Campaign>emptyList());
+		Path path = Files.createTempFile("orders", ".csv");
+		try {
+			writeOrders(path, products, lineCount, cartCount);
+			System.out.printf("Order file: %,d lines, %,d bytes%n", lineCount, Files.size(path));
+
+			// Run both a few rounds, the first rounds are for warming up
+			for (int round = 0; round < 3; round++) {
+
+				// Pipeline
+				ConcurrentHashMap<String, ShoppingCart> carts = new ConcurrentHashMap<String, ShoppingCart>();
+				OrderImporter importer = new OrderImporter(catalog, cartId -> carts.computeIfAbsent(cartId, id -> new ShoppingCart(calculator)),
+						parallelism, 1_024, 100);
+				long start = System.nanoTime();
+				ImportReport report = importer.importFile(path, ImportFormat.CSV);
+				long pipelineNanos = System.nanoTime() - start;
+
+				// Plain reader loop
+				ConcurrentHashMap<String, ShoppingCart> plainCarts = new ConcurrentHashMap<String, ShoppingCart>();
+				start = System.nanoTime();
+				long plainCount = importPlain(path, catalog, plainCarts, calculator);
+				long plainNanos = System.nanoTime() - start;
+
+				// Output the round results
+				System.out.printf("Round %d: pipeline %,d ms (%,d lines), plain loop %,d ms (%,d lines), totals %s%n", round,
+						pipelineNanos / 1_000_000, report.getImportedCount(), plainNanos / 1_000_000, plainCount,
+						Math.abs(total(carts) - total(plainCarts)) < 1 ? "identical" : "DIFFERENT");
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Imports the file line by line, building a product from each line like a naive importer does
+	 */
+	private static long importPlain(Path path, Catalog catalog, ConcurrentHashMap<String, ShoppingCart> carts, DeliveryCostCalculator calculator)
+			throws IOException {
+		long count = 0;
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			reader.readLine();
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				String[] fields = line.split(",");
+				Product catalogProduct = catalog.getProduct(fields[1]);
+				Category category = catalogProduct.getCategory();
+				Product product = new Product(fields[1], catalogProduct.getPrice(), category);
+				carts.computeIfAbsent(fields[0], id -> new ShoppingCart(calculator)).addItem(product, Integer.parseInt(fields[2]));
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/*
+	 * Writes an order file with popular products and evenly spread carts
+	 */
+	private static void writeOrders(Path path, List<Product> products, int lineCount, int cartCount) throws IOException {
+		SplittableRandom random = new SplittableRandom(7);
+		ZipfDistribution popularity = new ZipfDistribution(products.size(), 1.1);
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			writer.write("cartId,productTitle,quantity\n");
+			for (int i = 0; i < lineCount; i++) {
+				Product product = products.get(popularity.sample(random) - 1);
+				writer.write("cart-" + random.nextInt(cartCount) + "," + product.getTitle() + "," + (1 + random.nextInt(3)) + "\n");
+			}
+		}
+	}
+
+	/*
+	 * Returns the total price of the carts
+	 */
+	private static double total(ConcurrentHashMap<String, ShoppingCart> carts) {
+		double total = 0;
+		for (ShoppingCart shoppingCart : carts.values()) {
+			total += shoppingCart.getTotalPrice();
+		}
+		return total;
+	}
+}
@@ -0,0 +1,202 @@
+package com.trendyol.perf;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Stored results of a suite run, kept as a JSON file in the repository
+ *
+ * File layout:
+ * { "profile": "...", "environment": "...", "results": [ { "name": "...", "opsPerSecond": 1.0, "bytesPerOp": 1.0 }, ... ] }
+ *
+ * Note: The reader only understands the files written by this class, it is not a general JSON parser
+ */
+public class PerfBaseline {
+
+	// Fields of the file, in the written order
+	private static final Pattern FIELD = Pattern.compile("\"(\\w+)\"\\s*:\\s*(?:\"((?:[^\"\\\\]|\\\\.)*)\"|([-+0-9.eE]+))");
+
+	// Description of the profile and the environment that the results are measured with
+	private final String profile;
+	private final String environment;
+
+	// Results by case name, in the order of the suite
+	private final Map<String, PerfResult> results;
+
+	/*
+	 * Constructor
+	 */
+	public PerfBaseline(String profile, String environment, Map<String, PerfResult> results) {
+		this.profile = profile;
+		this.environment = environment;
+		this.results = results;
+	}
+
+	/**
+	 * Writes the baseline as JSON, one result per line so that the changes are easy to review
+	 *
+	 * @param path the file
+	 * @throws IOException if the file can not be written
+	 */
+	public void write(Path path) throws IOException {
+		StringBuilder builder = new StringBuilder();
+		builder.append("{\n");
+		builder.append("  \"profile\": \"").append(escape(profile)).append("\",\n");
+		builder.append("  \"environment\": \"").append(escape(environment)).append("\",\n");
+		builder.append("  \"results\": [\n");
+		int i = 0;
+		for (PerfResult result : results.values()) {
+			builder.append(String.format(Locale.ROOT, "    { \"name\": \"%s\", \"opsPerSecond\": %.1f, \"bytesPerOp\": %.1f }%s%n",
+					escape(result.getName()), result.getOpsPerSecond(), result.getBytesPerOp(), ++i < results.size() ? "," : ""));
+		}
+		builder.append("  ]\n}\n");
+
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		Files.write(path, builder.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Reads a baseline written by @{PerfBaseline.write}
+	 *
+	 * @param path the file
+	 * @return the baseline
+	 * @throws IOException if the file can not be read or is malformed
+	 */
+	public static PerfBaseline read(Path path) throws IOException {
+		return parse(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Parses a baseline from its JSON text
+	 *
+	 * @param json the text
+	 * @return the baseline
+	 * @throws IOException if the text is malformed
+	 */
+	public static PerfBaseline parse(String json) throws IOException {
+
+		String profile = null;
+		String environment = null;
+		Map<String, PerfResult> results = new LinkedHashMap<String, PerfResult>();
+
+		// Fields of a result always come in the written order
+		String name = null;
+		double opsPerSecond = Double.NaN;
+		Matcher matcher = FIELD.matcher(json);
+		while (matcher.find()) {
+			String key = matcher.group(1);
+			switch (key) {
+			case "profile":
+				profile = string(matcher);
+				break;
+			case "environment":
+				environment = string(matcher);
+				break;
+			case "name":
+				name = string(matcher);
+				break;
+			case "opsPerSecond":
+				opsPerSecond = number(matcher);
+				break;
+			case "bytesPerOp":
+				if (name == null || Double.isNaN(opsPerSecond)) {
+					throw new IOException("Incomplete result before offset " + matcher.start());
+				}
+				results.put(name, new PerfResult(name, opsPerSecond, number(matcher)));
+				name = null;
+				opsPerSecond = Double.NaN;
+				break;
+			default:
+				throw new IOException("Unknown baseline field " + key);
+			}
+		}
+
+		if (profile == null) {
+			throw new IOException("Baseline has no profile");
+		}
+		return new PerfBaseline(profile, environment, results);
+	}
+
+	/*
+	 * Returns the string value of the matched field
+	 */
+	private static String string(Matcher matcher) throws IOException {
+		if (matcher.group(2) == null) {
+			throw new IOException("Field " + matcher.group(1) + " is not a string at offset " + matcher.start());
+		}
+		return unescape(matcher.group(2));
+	}
+
+	/*
+	 * Returns the number value of the matched field
+	 */
+	private static double number(Matcher matcher) throws IOException {
+		if (matcher.group(3) == null) {
+			throw new IOException("Field " + matcher.group(1) + " is not a number at offset " + matcher.start());
+		}
+		try {
+			return Double.parseDouble(matcher.group(3));
+		} catch (NumberFormatException e) {
+			throw new IOException("Field " + matcher.group(1) + " is not a number at offset " + matcher.start());
+		}
+	}
+
+	/*
+	 * Escapes the quotes and the backslashes of a string value
+	 */
+	private static String escape(String value) {
+		return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	/*
+	 * Reverts @{PerfBaseline.escape}
+	 */
+	private static String unescape(String value) {
+		return value.replaceAll("\\\\(.)", "$1");
+	}
+
+	/**
+	 * Checks if the results of another baseline can be compared with these ones
+	 * Throughput depends on the machine and on the profile, so only the baselines of the same environment and profile are comparable
+	 *
+	 * @param other the other baseline
+	 * @return comparable status
+	 */
+	public boolean isComparableWith(PerfBaseline other) {
+		return Objects.equals(profile, other.profile) && Objects.equals(environment, other.environment);
+	}
+
+	/*
+	 * Returns the description of the profile
+	 */
+	public String getProfile() {
+		return profile;
+	}
+
+	/*
+	 * Returns the description of the environment
+	 */
+	public String getEnvironment() {
+		return environment;
+	}
+
+	/*
+	 * Returns the results by case name
+	 */
+	public Map<String, PerfResult> getResults() {
+		return results;
+	}
+}
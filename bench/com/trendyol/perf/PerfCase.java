@@ -0,0 +1,50 @@
+package com.trendyol.perf;
+
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * A single measured operation of the performance suite
+ */
+public interface PerfCase {
+
+	/**
+	 * Returns the stable name of the case, used as the key of its baseline
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Runs the operation once
+	 * The result is consumed by the runner, so that the operation can not be eliminated as dead code
+	 *
+	 * @param index the index of the operation, used to cycle through the prepared inputs
+	 * @return any value derived from the work
+	 */
+	double run(int index);
+
+	/**
+	 * Creates a case from a name and an operation
+	 *
+	 * @param name the name
+	 * @param operation the operation
+	 * @return the case
+	 */
+	static PerfCase of(String name, IntToDoubleFunction operation) {
+		return new PerfCase() {
+
+			@Override
+			public String getName() {
+				return name;
+			}
+
+			@Override
+			public double run(int index) {
+				return operation.applyAsDouble(index);
+			}
+		};
+	}
+}
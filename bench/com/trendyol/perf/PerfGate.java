@@ -0,0 +1,132 @@
+package com.trendyol.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Performance regression gate, runs the standard suite and compares it with the baseline of the machine
+ * Exits with 1 when a case regresses by more than the threshold, and with 2 when there is no baseline to compare with
+ *
+ * Baselines are machine specific, so they are not committed: the first run on a machine writes its baseline and exits with 2,
+ * and a baseline of another environment or profile is never compared with, the gate exits with 2 until it is updated
+ * They should be updated on the machine that runs the gate whenever a change is accepted
+ *
+ * Usage: PerfGate [--update] [--baseline file] [--threshold percent] [--allocation-threshold percent] [--filter prefix]
+ * Defaults: --baseline bench/baselines/perf-baseline.json --threshold 40 --allocation-threshold 10
+ * Note: The throughput of identical runs on a shared machine still differs by up to a third with the median of the rounds,
+ * so the default throughput threshold is above that, and a quiet machine can gate with a lower one
+ * Allocation per operation hardly changes between the runs, so it is gated much more strictly
+ */
+public class PerfGate {
+
+	// Default location of the baseline, relative to the repository root
+	public static final String DEFAULT_BASELINE = "bench/baselines/perf-baseline.json";
+
+	// Default allowed degradation of the throughput and of the allocation, in percent
+	public static final double DEFAULT_THRESHOLD = 40;
+	public static final double DEFAULT_ALLOCATION_THRESHOLD = 10;
+
+	public static void main(String[] args) throws IOException {
+
+		// Read the parameters
+		boolean update = false;
+		Path baselinePath = Paths.get(DEFAULT_BASELINE);
+		double threshold = DEFAULT_THRESHOLD;
+		double allocationThreshold = DEFAULT_ALLOCATION_THRESHOLD;
+		String filter = "";
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+			case "--update":
+				update = true;
+				break;
+			case "--baseline":
+				baselinePath = Paths.get(args[++i]);
+				break;
+			case "--threshold":
+				threshold = Double.parseDouble(args[++i]);
+				break;
+			case "--allocation-threshold":
+				allocationThreshold = Double.parseDouble(args[++i]);
+				break;
+			case "--filter":
+				filter = args[++i];
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown argument " + args[i]);
+			}
+		}
+
+		// Run the suite
+		PerfProfile profile = PerfProfile.STANDARD;
+		Map<String, PerfResult> results = new LinkedHashMap<String, PerfResult>();
+		for (PerfCase perfCase : PerfSuite.standardCases()) {
+			if (perfCase.getName().startsWith(filter)) {
+				PerfResult result = profile.measure(perfCase);
+				results.put(result.getName(), result);
+				System.out.printf("%-20s%,16.0f ops/s%10.1f B/op%n", result.getName(), result.getOpsPerSecond(), result.getBytesPerOp());
+			}
+		}
+		PerfBaseline current = new PerfBaseline(profile.toString(), environment(), results);
+
+		// Store the results as the new baseline, the cases left out by the filter keep their stored results of the same environment
+		PerfBaseline baseline = Files.exists(baselinePath) ? PerfBaseline.read(baselinePath) : null;
+		if (update) {
+			if (!filter.isEmpty() && baseline != null && baseline.isComparableWith(current)) {
+				Map<String, PerfResult> merged = new LinkedHashMap<String, PerfResult>(baseline.getResults());
+				merged.putAll(results);
+				current = new PerfBaseline(current.getProfile(), current.getEnvironment(), merged);
+			}
+			write(current, baselinePath);
+			System.out.println("Baseline written to " + baselinePath);
+			return;
+		}
+
+		// The first run on the machine only records the results
+		if (baseline == null) {
+			write(current, baselinePath);
+			System.out.println("No baseline at " + baselinePath + ", the results are written as the baseline of this machine");
+			System.exit(2);
+		}
+
+		// Results of another machine or profile gate nothing
+		if (!baseline.isComparableWith(current)) {
+			System.out.println("Baseline at " + baselinePath + " is measured on \"" + baseline.getEnvironment() + "\" with \"" + baseline.getProfile()
+					+ "\", not on \"" + current.getEnvironment() + "\" with \"" + current.getProfile() + "\", run with --update to replace it");
+			System.exit(2);
+		}
+
+		// Compare with the stored baseline
+		PerfReport report = PerfReport.compare(baseline, current, threshold / 100, allocationThreshold / 100);
+		System.out.println();
+		System.out.print(report.format());
+		if (report.hasRegression()) {
+			System.exit(1);
+		}
+	}
+
+	/*
+	 * Writes a baseline, creating its directory if necessary
+	 */
+	private static void write(PerfBaseline baseline, Path path) throws IOException {
+		Path directory = path.toAbsolutePath().getParent();
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+		baseline.write(path);
+	}
+
+	/*
+	 * Returns the description of the environment that the results are measured on
+	 */
+	static String environment() {
+		return "java " + System.getProperty("java.version") + ", " + System.getProperty("os.arch") + ", "
+				+ Runtime.getRuntime().availableProcessors() + " processors";
+	}
+}
@@ -0,0 +1,121 @@
+package com.trendyol.perf;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Fixed measurement profile of the performance suite, in the spirit of a JMH profile without the dependency
+ *
+ * Each case runs a number of time-boxed warm-up rounds, then the measurement rounds
+ * Throughput and allocation are the medians of the measurement rounds, so a few rounds that are slowed down
+ * by other processes or collections do not move the result, and neither do a few lucky ones
+ * Allocation is read from the thread allocation counter of the JVM, so the cases must run on the calling thread
+ */
+public class PerfProfile {
+
+	// Standard profile, baselines are only comparable when they are measured with the same profile
+	public static final PerfProfile STANDARD = new PerfProfile(5, 25, 100);
+
+	// Number of operations between the clock reads
+	private static final int BATCH_SIZE = 64;
+
+	// Keeps the results of the operations alive
+	private static volatile double sink;
+
+	// Number of rounds and the length of each round
+	private final int warmupRounds;
+	private final int measurementRounds;
+	private final long roundMillis;
+
+	/*
+	 * Constructor
+	 */
+	public PerfProfile(int warmupRounds, int measurementRounds, long roundMillis) {
+		this.warmupRounds = warmupRounds;
+		this.measurementRounds = measurementRounds;
+		this.roundMillis = roundMillis;
+	}
+
+	/**
+	 * Measures the given case
+	 *
+	 * @param perfCase the case
+	 * @return the result
+	 */
+	public PerfResult measure(PerfCase perfCase) {
+
+		// Warm up without recording
+		int index = 0;
+		for (int round = 0; round < warmupRounds; round++) {
+			index = runRound(perfCase, index, null);
+		}
+
+		// Each measurement round records its throughput and allocation
+		double[] opsPerSecond = new double[measurementRounds];
+		double[] bytesPerOp = new double[measurementRounds];
+		double[] round = new double[2];
+		for (int i = 0; i < measurementRounds; i++) {
+			index = runRound(perfCase, index, round);
+			opsPerSecond[i] = round[0];
+			bytesPerOp[i] = round[1];
+		}
+
+		return new PerfResult(perfCase.getName(), median(opsPerSecond), median(bytesPerOp));
+	}
+
+	/*
+	 * Runs the case for a round and writes the operations per second and the bytes per operation into the result
+	 * Returns the next operation index
+	 */
+	private int runRound(PerfCase perfCase, int index, double[] result) {
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		long deadline = start + roundMillis * 1_000_000;
+		long operations = 0;
+		double total = 0;
+		long now;
+		do {
+			for (int i = 0; i < BATCH_SIZE; i++) {
+				total += perfCase.run(index++ & Integer.MAX_VALUE);
+			}
+			operations += BATCH_SIZE;
+			now = System.nanoTime();
+		} while (now < deadline);
+		long allocated = allocatedBytes() - bytes;
+		sink = total;
+
+		if (result != null) {
+			result[0] = operations * 1e9 / (now - start);
+			result[1] = (double) allocated / operations;
+		}
+		return index;
+	}
+
+	/*
+	 * Returns the median of the values
+	 */
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+	}
+
+	/*
+	 * Returns the bytes allocated by the current thread so far
+	 */
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/*
+	 * Returns the description of the profile, stored with the baselines
+	 */
+	@Override
+	public String toString() {
+		return "warmup=" + warmupRounds + "x" + roundMillis + "ms, measurement=" + measurementRounds + "x" + roundMillis + "ms";
+	}
+}
@@ -0,0 +1,205 @@
+package com.trendyol.perf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Comparison of a suite run with the stored baseline
+ *
+ * A case regresses when its throughput drops, or its allocation per operation grows, by more than the corresponding threshold
+ * Allocation is reproducible almost to the byte, while throughput depends on the machine load, hence the separate thresholds
+ * A small absolute allowance is given on the allocation, so that the cases that allocate almost nothing do not fail on rounding
+ * New cases and the cases missing from the run are reported, but they do not fail the comparison
+ */
+public class PerfReport {
+
+	// Allocation growth below this many bytes per operation is never a regression
+	public static final double ALLOCATION_ALLOWANCE = 1.0;
+
+	// Formatter of the report lines
+	private static String lineFormat = "%-20s%16s%16s%11s%12s%12s%11s  %s%n";
+
+	/**
+	 * Status of a single case
+	 */
+	public enum Status {
+		OK, IMPROVED, REGRESSED, NEW, MISSING
+	}
+
+	// Rows of the report, in the order of the run
+	private final List<Row> rows;
+
+	// Regression thresholds, as ratios
+	private final double throughputThreshold;
+	private final double allocationThreshold;
+
+	// Set if the baseline was measured with another profile or on another environment
+	private final String warning;
+
+	/*
+	 * Constructor
+	 */
+	private PerfReport(List<Row> rows, double throughputThreshold, double allocationThreshold, String warning) {
+		this.rows = Collections.unmodifiableList(rows);
+		this.throughputThreshold = throughputThreshold;
+		this.allocationThreshold = allocationThreshold;
+		this.warning = warning;
+	}
+
+	/**
+	 * Compares the results of a run with the baseline
+	 *
+	 * @param baseline the stored baseline
+	 * @param current the results of the run
+	 * @param throughputThreshold the allowed throughput drop as a ratio, e.g. 0.1 for 10%
+	 * @param allocationThreshold the allowed allocation growth as a ratio
+	 * @return the report
+	 */
+	public static PerfReport compare(PerfBaseline baseline, PerfBaseline current, double throughputThreshold, double allocationThreshold) {
+
+		// Compare each case of the run with its baseline
+		List<Row> rows = new ArrayList<Row>();
+		Map<String, PerfResult> expected = baseline.getResults();
+		for (PerfResult result : current.getResults().values()) {
+			PerfResult base = expected.get(result.getName());
+			rows.add(new Row(result.getName(), base, result, base == null ? Status.NEW : status(base, result, throughputThreshold, allocationThreshold)));
+		}
+
+		// Cases that are no longer in the suite
+		for (PerfResult base : expected.values()) {
+			if (!current.getResults().containsKey(base.getName())) {
+				rows.add(new Row(base.getName(), base, null, Status.MISSING));
+			}
+		}
+
+		// Results of different profiles or machines are still compared, but the difference is pointed out
+		String warning = null;
+		if (!baseline.getProfile().equals(current.getProfile())) {
+			warning = "Baseline profile differs: " + baseline.getProfile();
+		} else if (baseline.getEnvironment() != null && !baseline.getEnvironment().equals(current.getEnvironment())) {
+			warning = "Baseline environment differs: " + baseline.getEnvironment();
+		}
+
+		return new PerfReport(rows, throughputThreshold, allocationThreshold, warning);
+	}
+
+	/*
+	 * Returns the status of a case that has a baseline
+	 */
+	private static Status status(PerfResult base, PerfResult result, double throughputThreshold, double allocationThreshold) {
+
+		// Worse throughput or more allocation than allowed
+		boolean slower = result.getOpsPerSecond() < base.getOpsPerSecond() * (1 - throughputThreshold);
+		boolean heavier = result.getBytesPerOp() > base.getBytesPerOp() * (1 + allocationThreshold) + ALLOCATION_ALLOWANCE;
+		if (slower || heavier) {
+			return Status.REGRESSED;
+		}
+
+		// Better by more than the threshold on either side, the baseline could be updated
+		boolean faster = result.getOpsPerSecond() > base.getOpsPerSecond() * (1 + throughputThreshold);
+		boolean lighter = result.getBytesPerOp() < base.getBytesPerOp() * (1 - allocationThreshold) - ALLOCATION_ALLOWANCE;
+		return faster || lighter ? Status.IMPROVED : Status.OK;
+	}
+
+	/**
+	 * Checks if any case has regressed
+	 *
+	 * @return regression status
+	 */
+	public boolean hasRegression() {
+		for (Row row : rows) {
+			if (row.status == Status.REGRESSED) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the status of the given case
+	 *
+	 * @param name the case name
+	 * @return the status, or null if the case is not in the report
+	 */
+	public Status getStatus(String name) {
+		for (Row row : rows) {
+			if (row.name.equals(name)) {
+				return row.status;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Formats the report as a table, with the regressed cases marked
+	 *
+	 * @return the report text
+	 */
+	public String format() {
+		StringBuilder builder = new StringBuilder();
+		if (warning != null) {
+			builder.append("WARNING: ").append(warning).append(System.lineSeparator());
+		}
+		builder.append(String.format(Locale.ROOT, lineFormat, "Case", "Base ops/s", "Run ops/s", "Change", "Base B/op", "Run B/op", "Change", "Status"));
+		for (Row row : rows) {
+			builder.append(String.format(Locale.ROOT, lineFormat, row.name,
+					row.base == null ? "-" : String.format(Locale.ROOT, "%,.0f", row.base.getOpsPerSecond()),
+					row.result == null ? "-" : String.format(Locale.ROOT, "%,.0f", row.result.getOpsPerSecond()),
+					change(row, true),
+					row.base == null ? "-" : String.format(Locale.ROOT, "%.1f", row.base.getBytesPerOp()),
+					row.result == null ? "-" : String.format(Locale.ROOT, "%.1f", row.result.getBytesPerOp()),
+					change(row, false), row.status));
+		}
+
+		// Summary line
+		int regressions = 0;
+		for (Row row : rows) {
+			regressions += row.status == Status.REGRESSED ? 1 : 0;
+		}
+		builder.append(String.format(Locale.ROOT, "%d of %d cases regressed by more than %.0f%% in throughput or %.0f%% in allocation%n",
+				regressions, rows.size(), throughputThreshold * 100, allocationThreshold * 100));
+		return builder.toString();
+	}
+
+	/*
+	 * Formats the relative change of the throughput or the allocation of a row
+	 */
+	private static String change(Row row, boolean throughput) {
+		if (row.base == null || row.result == null) {
+			return "-";
+		}
+		double base = throughput ? row.base.getOpsPerSecond() : row.base.getBytesPerOp();
+		double result = throughput ? row.result.getOpsPerSecond() : row.result.getBytesPerOp();
+		if (!throughput && base < ALLOCATION_ALLOWANCE) {
+			return String.format(Locale.ROOT, "%+.1fB", result - base);
+		}
+		return String.format(Locale.ROOT, "%+.1f%%", (result - base) * 100 / base);
+	}
+
+	/*
+	 * A single compared case
+	 */
+	private static class Row {
+
+		private final String name;
+		private final PerfResult base;
+		private final PerfResult result;
+		private final Status status;
+
+		/*
+		 * Constructor
+		 */
+		private Row(String name, PerfResult base, PerfResult result, Status status) {
+			this.name = name;
+			this.base = base;
+			this.result = result;
+			this.status = status;
+		}
+	}
+}
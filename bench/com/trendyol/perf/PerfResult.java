@@ -0,0 +1,49 @@
+package com.trendyol.perf;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Measured throughput and allocation of a single case
+ */
+public class PerfResult {
+
+	// Name of the case
+	private final String name;
+
+	// Operations per second
+	private final double opsPerSecond;
+
+	// Bytes allocated per operation
+	private final double bytesPerOp;
+
+	/*
+	 * Constructor
+	 */
+	public PerfResult(String name, double opsPerSecond, double bytesPerOp) {
+		this.name = name;
+		this.opsPerSecond = opsPerSecond;
+		this.bytesPerOp = bytesPerOp;
+	}
+
+	/*
+	 * Returns the name of the case
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/*
+	 * Returns the operations per second
+	 */
+	public double getOpsPerSecond() {
+		return opsPerSecond;
+	}
+
+	/*
+	 * Returns the bytes allocated per operation
+	 */
+	public double getBytesPerOp() {
+		return bytesPerOp;
+	}
+}
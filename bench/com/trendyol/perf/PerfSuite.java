@@ -0,0 +1,99 @@
+package com.trendyol.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountBreakdown;
+import com.trendyol.workload.CartWorkload;
+import com.trendyol.workload.CatalogGenerator;
+import com.trendyol.workload.PromotionGenerator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Standard cases of the performance suite, over carts of fixed shapes generated from fixed seeds
+ *
+ * For each shape, the suite measures:
+ * build     : filling a new cart with its items and promotions, then pricing it (ShoppingCart)
+ * quote     : quoting a snapshot (ShoppingCart.quote)
+ * breakdown : a full discount evaluation (DiscountBreakdown)
+ * delivery  : the delivery cost (DeliveryCostCalculator)
+ *
+ * Case names are the keys of the baselines, so they must not be changed without updating the baselines
+ */
+public class PerfSuite {
+
+	// Number of distinct carts of each shape that the operations cycle through
+	private static final int CART_COUNT = 256;
+
+	/**
+	 * Shapes of the measured carts
+	 */
+	public enum Shape {
+
+		SMALL(3, 2), MEDIUM(10, 8), LARGE(40, 32);
+
+		// Average number of lines and the number of campaigns of a cart
+		private final int averageLineCount;
+		private final int campaignsPerCart;
+
+		/*
+		 * Constructor
+		 */
+		Shape(int averageLineCount, int campaignsPerCart) {
+			this.averageLineCount = averageLineCount;
+			this.campaignsPerCart = campaignsPerCart;
+		}
+	}
+
+	/**
+	 * Creates the standard cases
+	 *
+	 * @return the cases, in a fixed order
+	 */
+	public static List<PerfCase> standardCases() {
+
+		// Shared catalog and promotions
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		CatalogGenerator catalog = new CatalogGenerator(1, 3, 5, 10_000);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, 2);
+		List<Campaign> campaigns = promotions.campaigns(100);
+		List<Coupon> coupons = promotions.coupons(10);
+
+		List<PerfCase> cases = new ArrayList<PerfCase>();
+		for (Shape shape : Shape.values()) {
+
+			// Prepare the carts of the shape
+			CartWorkload workload = new CartWorkload(catalog, campaigns, coupons, calculator, 3, 1.1, shape.averageLineCount, shape.campaignsPerCart);
+			ShoppingCart[] snapshots = new ShoppingCart[CART_COUNT];
+			for (int i = 0; i < CART_COUNT; i++) {
+				snapshots[i] = workload.cart(i).snapshot();
+			}
+			QuoteBuffer buffer = new QuoteBuffer();
+			String prefix = shape.name().toLowerCase() + ".";
+
+			cases.add(PerfCase.of(prefix + "build", index -> {
+				ShoppingCart shoppingCart = workload.cart(index % CART_COUNT);
+				return shoppingCart.getTotalAmountAfterDiscounts() + shoppingCart.getDeliveryCost();
+			}));
+			cases.add(PerfCase.of(prefix + "quote", index -> {
+				snapshots[index % CART_COUNT].quote(buffer);
+				return buffer.getFinalPrice();
+			}));
+			cases.add(PerfCase.of(prefix + "breakdown", index -> {
+				ShoppingCart snapshot = snapshots[index % CART_COUNT];
+				return DiscountBreakdown.calculate(snapshot.getItems(), snapshot.getCategoryTotals(), snapshot.getAppliedCampaigns(),
+						snapshot.getCoupon(), snapshot.getTotalPrice()).getTotalAmountAfterDiscounts();
+			}));
+			cases.add(PerfCase.of(prefix + "delivery", index -> calculator.calculateFor(snapshots[index % CART_COUNT])));
+		}
+
+		return cases;
+	}
+}
@@ -0,0 +1,117 @@
+package com.trendyol.workload;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryMethod;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Generates deterministic shopping carts over a generated catalog
+ *
+ * Products are picked with a Zipf distribution, so a few products appear in most of the carts like in production
+ * Every cart is derived from its index only, so carts can be generated in any order and in parallel
+ */
+public class CartWorkload {
+
+	// Catalog of the products
+	private final CatalogGenerator catalog;
+
+	// Promotions to apply on the carts
+	private final List<Campaign> campaigns;
+	private final List<Coupon> coupons;
+
+	// Delivery method of the carts
+	private final DeliveryMethod deliveryMethod;
+
+	// Seed of the workload
+	private final long seed;
+
+	// Popularity of the products
+	private final ZipfDistribution popularity;
+
+	// Average number of lines in a cart
+	private final int averageLineCount;
+
+	// Number of campaigns applied on a single cart
+	private final int campaignsPerCart;
+
+	/*
+	 * Constructor
+	 */
+	public CartWorkload(CatalogGenerator catalog, List<Campaign> campaigns, List<Coupon> coupons, DeliveryMethod deliveryMethod,
+			long seed, double zipfExponent, int averageLineCount, int campaignsPerCart) {
+		this.catalog = catalog;
+		this.campaigns = campaigns;
+		this.coupons = coupons;
+		this.deliveryMethod = deliveryMethod;
+		this.seed = seed;
+		this.popularity = new ZipfDistribution(catalog.getProductCount(), zipfExponent);
+		this.averageLineCount = averageLineCount;
+		this.campaignsPerCart = campaignsPerCart;
+	}
+
+	/**
+	 * Generates the cart of the given index
+	 *
+	 * @param cartIndex the cart index
+	 * @return the filled cart with its promotions
+	 */
+	public ShoppingCart cart(long cartIndex) {
+		ShoppingCart shoppingCart = new ShoppingCart(deliveryMethod);
+		fill(shoppingCart, cartIndex);
+		return shoppingCart;
+	}
+
+	/**
+	 * Fills the given cart with the items and the promotions of the given index
+	 *
+	 * @param shoppingCart the cart
+	 * @param cartIndex the cart index
+	 */
+	public void fill(ShoppingCart shoppingCart, long cartIndex) {
+
+		// Every cart has its own random stream
+		SplittableRandom random = new SplittableRandom(CatalogGenerator.mix(seed, cartIndex));
+
+		// Add the lines, popular products are picked more often and the same product can be added more than once
+		int lineCount = 1 + random.nextInt(2 * averageLineCount);
+		for (int i = 0; i < lineCount; i++) {
+			int productIndex = popularity.sample(random) - 1;
+			int count = 1 + (random.nextInt(10) == 0 ? random.nextInt(10) : random.nextInt(2));
+			shoppingCart.addItem(catalog.product(productIndex), count);
+		}
+
+		// Apply some of the campaigns
+		for (int i = 0; i < campaignsPerCart && !campaigns.isEmpty(); i++) {
+			shoppingCart.applyDiscounts(campaigns.get(random.nextInt(campaigns.size())));
+		}
+
+		// Half of the carts have a coupon
+		if (!coupons.isEmpty() && random.nextBoolean()) {
+			shoppingCart.applyCoupon(coupons.get(random.nextInt(coupons.size())));
+		}
+	}
+
+	/**
+	 * Streams the given number of carts into the consumer
+	 *
+	 * @param cartCount the number of carts
+	 * @param parallel whether the carts are generated on all cores
+	 * @param consumer the consumer of the carts, must be thread-safe when parallel
+	 */
+	public void stream(long cartCount, boolean parallel, Consumer<ShoppingCart> consumer) {
+		LongStream indexes = LongStream.range(0, cartCount);
+		if (parallel) {
+			indexes = indexes.parallel();
+		}
+		indexes.forEach(cartIndex -> consumer.accept(cart(cartIndex)));
+	}
+}
@@ -0,0 +1,118 @@
+package com.trendyol.workload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Generates a deterministic category tree and a product catalog for load and regression tests
+ *
+ * The category tree is built eagerly since it is small (fanOut + fanOut^2 + ... + fanOut^depth categories)
+ * Products are derived from their index on demand, so catalogs with millions of products need no memory
+ * Generating the same index twice gives equal products, as products are identified by their titles
+ */
+public class CatalogGenerator {
+
+	// Seed of the whole catalog
+	private final long seed;
+
+	// Number of products in the catalog
+	private final int productCount;
+
+	// All categories of the tree, parents come before their children
+	private final List<Category> categories = new ArrayList<Category>();
+
+	// Categories without children, products are placed on them
+	private final List<Category> leafCategories = new ArrayList<Category>();
+
+	/*
+	 * Constructor
+	 * Depth is the number of levels in the category tree, fanOut is the number of roots and of children per category
+	 */
+	public CatalogGenerator(long seed, int depth, int fanOut, int productCount) {
+		this.seed = seed;
+		this.productCount = productCount;
+
+		// Build the tree level by level
+		List<Category> level = new ArrayList<Category>();
+		for (int i = 0; i < fanOut; i++) {
+			level.add(new Category("C" + i));
+		}
+		for (int d = 1; d <= depth; d++) {
+			categories.addAll(level);
+			if (d == depth) {
+				break;
+			}
+			List<Category> nextLevel = new ArrayList<Category>();
+			for (Category parent : level) {
+				for (int i = 0; i < fanOut; i++) {
+					nextLevel.add(new Category(parent.getTitle() + "." + i, parent));
+				}
+			}
+			level = nextLevel;
+		}
+		leafCategories.addAll(level);
+	}
+
+	/**
+	 * Returns the product of the given index
+	 *
+	 * @param index the product index between 0 and the product count
+	 * @return the product
+	 */
+	public Product product(int index) {
+
+		// Every product has its own random stream, independent of the generation order
+		SplittableRandom random = new SplittableRandom(mix(seed, index));
+
+		// Prices are skewed towards cheap products, rounded to cents
+		double price = Math.round(Math.exp(random.nextDouble(0.0, 6.5)) * 100) / 100.0;
+		Category category = leafCategories.get(random.nextInt(leafCategories.size()));
+		return new Product("P" + index, price, category);
+	}
+
+	/*
+	 * Returns the number of products
+	 */
+	public int getProductCount() {
+		return productCount;
+	}
+
+	/*
+	 * Returns all categories, parents come before their children
+	 */
+	public List<Category> getCategories() {
+		return Collections.unmodifiableList(categories);
+	}
+
+	/*
+	 * Returns the categories without children
+	 */
+	public List<Category> getLeafCategories() {
+		return Collections.unmodifiableList(leafCategories);
+	}
+
+	/*
+	 * Returns the seed of the catalog
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/*
+	 * Mixes a seed and an index into a new seed (SplitMix64 finalizer)
+	 */
+	public static long mix(long seed, long index) {
+		long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
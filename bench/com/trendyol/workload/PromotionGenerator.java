@@ -0,0 +1,87 @@
+package com.trendyol.workload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Generates deterministic campaign and coupon sets over a generated catalog
+ */
+public class PromotionGenerator {
+
+	// Catalog whose categories receive the campaigns
+	private final CatalogGenerator catalog;
+
+	// Seed of the promotions
+	private final long seed;
+
+	/*
+	 * Constructor
+	 */
+	public PromotionGenerator(CatalogGenerator catalog, long seed) {
+		this.catalog = catalog;
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates campaigns on random categories, both rate and amount campaigns are included
+	 *
+	 * @param count the number of campaigns
+	 * @return the campaigns
+	 */
+	public List<Campaign> campaigns(int count) {
+
+		SplittableRandom random = new SplittableRandom(CatalogGenerator.mix(seed, 1));
+		List<Category> categories = catalog.getCategories();
+		List<Campaign> campaigns = new ArrayList<Campaign>(count);
+		for (int i = 0; i < count; i++) {
+
+			// Pick the category and the minimum item count
+			Category category = categories.get(random.nextInt(categories.size()));
+			int minItemCount = random.nextInt(0, 11);
+
+			// Rates are between 5% and 50%, amounts are between 1 and 30
+			if (random.nextBoolean()) {
+				campaigns.add(new Campaign(category, random.nextInt(5, 51), minItemCount, DiscountType.RATE));
+			} else {
+				campaigns.add(new Campaign(category, random.nextInt(1, 31), minItemCount, DiscountType.AMOUNT));
+			}
+		}
+
+		return campaigns;
+	}
+
+	/**
+	 * Generates coupons with various minimum totals, both rate and amount coupons are included
+	 *
+	 * @param count the number of coupons
+	 * @return the coupons
+	 */
+	public List<Coupon> coupons(int count) {
+
+		SplittableRandom random = new SplittableRandom(CatalogGenerator.mix(seed, 2));
+		List<Coupon> coupons = new ArrayList<Coupon>(count);
+		for (int i = 0; i < count; i++) {
+
+			// Minimum totals are between 50 and 1000
+			double minPriceTotal = random.nextInt(1, 21) * 50.0;
+
+			// Rates are between 5% and 20%, amounts are between 5 and 100
+			if (random.nextBoolean()) {
+				coupons.add(new Coupon(minPriceTotal, random.nextInt(5, 21), DiscountType.RATE));
+			} else {
+				coupons.add(new Coupon(minPriceTotal, random.nextInt(1, 21) * 5.0, DiscountType.AMOUNT));
+			}
+		}
+
+		return coupons;
+	}
+}
@@ -0,0 +1,118 @@
+package com.trendyol.workload;
+
+import java.util.SplittableRandom;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Samples ranks between 1 and n with a Zipf distribution, i.e. P(k) is proportional to 1 / k^exponent
+ * Uses the rejection-inversion method of Hormann and Derflinger, so it needs constant memory even for millions of ranks
+ */
+public class ZipfDistribution {
+
+	// Number of ranks
+	private final int numberOfElements;
+
+	// Skew of the distribution, 0 means uniform
+	private final double exponent;
+
+	// Precalculated values of the method
+	private final double hIntegralX1;
+	private final double hIntegralNumberOfElements;
+	private final double s;
+
+	/*
+	 * Constructor
+	 */
+	public ZipfDistribution(int numberOfElements, double exponent) {
+		this.numberOfElements = numberOfElements;
+		this.exponent = exponent;
+		this.hIntegralX1 = hIntegral(1.5) - 1.0;
+		this.hIntegralNumberOfElements = hIntegral(numberOfElements + 0.5);
+		this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2));
+	}
+
+	/**
+	 * Draws a rank using the given random number generator
+	 *
+	 * @param random the random number generator
+	 * @return a rank between 1 and the number of elements
+	 */
+	public int sample(SplittableRandom random) {
+
+		// Most of the samples are accepted on the first iteration
+		while (true) {
+
+			// Invert a uniformly distributed value on the integral of the hat function
+			double u = hIntegralNumberOfElements + random.nextDouble() * (hIntegralX1 - hIntegralNumberOfElements);
+			double x = hIntegralInverse(u);
+			int k = (int) (x + 0.5);
+
+			// Round into the valid range
+			if (k < 1) {
+				k = 1;
+			} else if (k > numberOfElements) {
+				k = numberOfElements;
+			}
+
+			// Accept the rank if it lies below the distribution
+			if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+				return k;
+			}
+		}
+	}
+
+	/*
+	 * Returns the number of ranks
+	 */
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+
+	/*
+	 * Hat function, h(x) = 1 / x^exponent
+	 */
+	private double h(double x) {
+		return Math.exp(-exponent * Math.log(x));
+	}
+
+	/*
+	 * Integral of the hat function
+	 */
+	private double hIntegral(double x) {
+		double logX = Math.log(x);
+		return helper2((1.0 - exponent) * logX) * logX;
+	}
+
+	/*
+	 * Inverse of the integral of the hat function
+	 */
+	private double hIntegralInverse(double x) {
+		double t = x * (1.0 - exponent);
+		if (t < -1.0) {
+			t = -1.0;
+		}
+		return Math.exp(helper1(t) * x);
+	}
+
+	/*
+	 * Returns log(1 + x) / x, stable around zero
+	 */
+	private static double helper1(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.log1p(x) / x;
+		}
+		return 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+	}
+
+	/*
+	 * Returns (exp(x) - 1) / x, stable around zero
+	 */
+	private static double helper2(double x) {
+		if (Math.abs(x) > 1e-8) {
+			return Math.expm1(x) / x;
+		}
+		return 1.0 + x * 0.5 * (1.0 + x * 1.0 / 3.0 * (1.0 + 0.25 * x));
+	}
+}
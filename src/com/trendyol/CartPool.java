@@ -0,0 +1,127 @@
+package com.trendyol;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.trendyol.delivery.DeliveryMethod;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Pool of reusable shopping carts for short-lived carts, e.g. "what-if" pricing of delivery options and coupon previews
+ *
+ * The pool is split into stripes, and a thread always uses the stripe of its id, so threads rarely contend for the same lock
+ * Released carts are reset and detached from everything but their delivery method, see @{ShoppingCart.reset}
+ * Note: A released cart must not be used by the releasing code anymore, like a closed resource
+ * Releasing the same cart twice is rejected, otherwise two later acquisitions would hand it to two owners
+ */
+public class CartPool {
+
+	// Delivery method of the pooled carts
+	private final DeliveryMethod deliveryMethod;
+
+	// Stripes of idle carts, each guarded by its own lock
+	private final ArrayDeque<ShoppingCart>[] stripes;
+	private final int mask;
+
+	// Maximum number of idle carts in a stripe
+	private final int stripeCapacity;
+
+	// Statistics of the pool
+	private final AtomicLong createdCount = new AtomicLong();
+	private final AtomicLong reusedCount = new AtomicLong();
+
+	/*
+	 * Constructor
+	 * Stripe count is rounded up to a power of two
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public CartPool(DeliveryMethod deliveryMethod, int stripeCount, int stripeCapacity) {
+		int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+		this.deliveryMethod = deliveryMethod;
+		this.stripes = new ArrayDeque[size];
+		this.mask = size - 1;
+		this.stripeCapacity = stripeCapacity;
+		for (int i = 0; i < size; i++) {
+			stripes[i] = new ArrayDeque<ShoppingCart>(stripeCapacity);
+		}
+	}
+
+	/**
+	 * Returns an empty cart, a pooled one if there is any
+	 *
+	 * @return the cart
+	 */
+	public ShoppingCart acquire() {
+
+		// Take an idle cart from the stripe of the thread
+		ArrayDeque<ShoppingCart> stripe = stripe();
+		ShoppingCart shoppingCart;
+		synchronized (stripe) {
+			shoppingCart = stripe.pollLast();
+		}
+
+		// Create a new one if the stripe is empty
+		if (shoppingCart == null) {
+			createdCount.incrementAndGet();
+			return new ShoppingCart(deliveryMethod);
+		}
+
+		reusedCount.incrementAndGet();
+		shoppingCart.markAcquired();
+		return shoppingCart;
+	}
+
+	/**
+	 * Returns a cart to the pool
+	 * Carts of other delivery methods and snapshots are not pooled, and neither are the carts beyond the capacity
+	 *
+	 * @param shoppingCart the cart
+	 * @throws IllegalStateException if the cart is already released and not acquired again
+	 */
+	public void release(ShoppingCart shoppingCart) {
+
+		// Only the carts that the pool could have created are pooled
+		if (shoppingCart == null || shoppingCart.isSnapshot() || shoppingCart.getDeliveryMethod() != deliveryMethod) {
+			return;
+		}
+
+		// A cart is released once per acquisition
+		if (!shoppingCart.markPooled()) {
+			throw new IllegalStateException("Shopping cart is already released");
+		}
+
+		// Clear the cart before it becomes visible to other threads
+		shoppingCart.detach();
+		shoppingCart.reset();
+
+		ArrayDeque<ShoppingCart> stripe = stripe();
+		synchronized (stripe) {
+			if (stripe.size() < stripeCapacity) {
+				stripe.addLast(shoppingCart);
+			}
+		}
+	}
+
+	/*
+	 * Returns the stripe of the current thread
+	 */
+	private ArrayDeque<ShoppingCart> stripe() {
+		return stripes[(int) Thread.currentThread().getId() & mask];
+	}
+
+	/*
+	 * Returns the number of carts created by the pool
+	 */
+	public long getCreatedCount() {
+		return createdCount.get();
+	}
+
+	/*
+	 * Returns the number of carts reused by the pool
+	 */
+	public long getReusedCount() {
+		return reusedCount.get();
+	}
+}
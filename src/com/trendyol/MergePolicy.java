@@ -0,0 +1,44 @@
+package com.trendyol;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Signifies how the product counts are combined when a cart is merged into another
+ */
+public enum MergePolicy {
+
+	// Counts of the same product are added up
+	SUM {
+		@Override
+		public int merge(int existingCount, int incomingCount) {
+			return existingCount + incomingCount;
+		}
+	},
+
+	// The larger count of the same product is kept
+	MAX {
+		@Override
+		public int merge(int existingCount, int incomingCount) {
+			return Math.max(existingCount, incomingCount);
+		}
+	},
+
+	// Only the products that are not in the cart yet are taken
+	KEEP_EXISTING {
+		@Override
+		public int merge(int existingCount, int incomingCount) {
+			return existingCount > 0 ? existingCount : incomingCount;
+		}
+	};
+
+	/**
+	 * Combines the counts of a product
+	 * 
+	 * @param existingCount the count in the target cart, 0 if the product is not in it
+	 * @param incomingCount the count in the merged cart
+	 * @return the new count
+	 */
+	public abstract int merge(int existingCount, int incomingCount);
+
+}
@@ -0,0 +1,557 @@
+package com.trendyol;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.currency.Market;
+import com.trendyol.delivery.DeliveryMethod;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.PromotionScheduler;
+import com.trendyol.event.CartEventStream;
+import com.trendyol.inventory.ReservationBatcher;
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+import com.trendyol.product.Product;
+import com.trendyol.tax.TaxRateTable;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Keeps idle shopping carts outside of the heap as packed fixed-width records
+ *
+ * Record layout (all values are little endian):
+ * header   : lineCount (int), categoryCount (int), campaignCount (int), couponId (int), deliveryMethodId (int), schedulerId (int), totalPrice (double), eventStreamId (int), inventoryId (int), marketId (int), taxRatesId (int)
+ * lines    : productId (int), count (int)
+ * categories: categoryId (int), productCount (int), totalPrice (double), totalWeight (double), totalVolume (double)
+ * campaigns: campaignId (int)
+ *
+ * Products, categories, campaigns, coupons, delivery methods, promotion schedulers, event streams, inventories, markets and tax rates are shared between carts,
+ * so they are interned once in on-heap registries and the records only refer to their ids
+ * Registries are keyed on identity, e.g. a re-priced product with the same title gets its own id,
+ * and they count the references of the stored records, so an object is dropped when the last record that refers to it is rehydrated
+ *
+ * Parking a cart evicts it, so its stock reservation is released, and it is requested again on rehydration
+ */
+public class OffHeapCartStore {
+
+	// Default size of a single off-heap segment (64 MB)
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	// Sizes of the fixed-width record parts
+	private static final int HEADER_SIZE = 10 * Integer.BYTES + Double.BYTES;
+	private static final int LINE_SIZE = 2 * Integer.BYTES;
+	private static final int CATEGORY_SIZE = 2 * Integer.BYTES + 3 * Double.BYTES;
+	private static final int CAMPAIGN_SIZE = Integer.BYTES;
+
+	// Marks the missing coupon, delivery method, scheduler, event stream, inventory, market and tax rates in the header
+	private static final int NO_ID = -1;
+
+	// Marks the free slots on the index
+	private static final long FREE = -1L;
+
+	// Size of a newly allocated segment
+	private final int segmentSize;
+
+	// Off-heap memory segments, records are appended to the last one
+	private final List<ByteBuffer> segments = new ArrayList<ByteBuffer>();
+
+	// Handle to record address mapping, each address is (segment index << 32 | offset)
+	// Note: A primitive array is used on purpose, it holds no references for the garbage collector to trace
+	private long[] index = new long[1024];
+
+	// Handles that were released and can be given out again
+	private int[] freeHandles = new int[64];
+	private int freeHandleCount = 0;
+
+	// Next handle that was never given out
+	private int nextHandle = 0;
+
+	// Number of carts and bytes that are currently stored
+	private int size = 0;
+	private long liveBytes = 0;
+
+	// Bytes of the records that were already rehydrated, reclaimed on compaction
+	private long garbageBytes = 0;
+
+	// Registries of the shared objects, replaced with dense ones on compaction
+	private Registry<Product> products = new Registry<Product>();
+	private Registry<Category> categories = new Registry<Category>();
+	private Registry<Campaign> campaigns = new Registry<Campaign>();
+	private Registry<Coupon> coupons = new Registry<Coupon>();
+	private Registry<DeliveryMethod> deliveryMethods = new Registry<DeliveryMethod>();
+	private Registry<PromotionScheduler> promotionSchedulers = new Registry<PromotionScheduler>();
+	private Registry<CartEventStream> eventStreams = new Registry<CartEventStream>();
+	private Registry<ReservationBatcher> inventories = new Registry<ReservationBatcher>();
+	private Registry<Market> markets = new Registry<Market>();
+	private Registry<TaxRateTable> taxRateTables = new Registry<TaxRateTable>();
+
+	/*
+	 * Constructor
+	 */
+	public OffHeapCartStore() {
+		this(DEFAULT_SEGMENT_SIZE);
+	}
+
+	/*
+	 * Constructor with a custom segment size
+	 */
+	public OffHeapCartStore(int segmentSize) {
+		this.segmentSize = segmentSize;
+		Arrays.fill(index, FREE);
+	}
+
+	/**
+	 * Moves the given cart into the off-heap store
+	 * The cart instance should not be used afterwards, it is rehydrated on access
+	 *
+	 * @param shoppingCart the idle cart
+	 * @return the handle to access the cart later
+	 */
+	public synchronized int park(ShoppingCart shoppingCart) {
+
+		// Take the cart state from a snapshot, so that it is consistent even if the cart is still being modified
+		// Snapshots do not publish events nor reserve stock, so these are taken from the cart itself
+		CartEventStream eventStream = shoppingCart.getEventStream();
+		ReservationBatcher inventory = shoppingCart.getInventory();
+		shoppingCart.releaseReservation();
+		shoppingCart = shoppingCart.snapshot();
+		Map<Product, Integer> items = shoppingCart.getItems();
+		Map<Category, CategoryInfoHolder> categoryMapping = shoppingCart.getCategoryMapping();
+		List<Campaign> appliedCampaigns = shoppingCart.getAppliedCampaigns();
+
+		// Reserve the space for the record
+		int recordSize = recordSize(items.size(), categoryMapping.size(), appliedCampaigns.size());
+		long address = allocate(recordSize);
+		ByteBuffer segment = segments.get((int) (address >>> 32));
+		int offset = (int) address;
+
+		// Write the header
+		Coupon coupon = shoppingCart.getCoupon();
+		DeliveryMethod deliveryMethod = shoppingCart.getDeliveryMethod();
+		PromotionScheduler promotionScheduler = shoppingCart.getPromotionScheduler();
+		Market market = shoppingCart.getMarket();
+		TaxRateTable taxRates = shoppingCart.getTaxRates();
+		segment.putInt(offset, items.size());
+		segment.putInt(offset + 4, categoryMapping.size());
+		segment.putInt(offset + 8, appliedCampaigns.size());
+		segment.putInt(offset + 12, coupon == null ? NO_ID : coupons.intern(coupon));
+		segment.putInt(offset + 16, deliveryMethod == null ? NO_ID : deliveryMethods.intern(deliveryMethod));
+		segment.putInt(offset + 20, promotionScheduler == null ? NO_ID : promotionSchedulers.intern(promotionScheduler));
+		segment.putDouble(offset + 24, shoppingCart.getTotalPrice());
+		segment.putInt(offset + 32, eventStream == null ? NO_ID : eventStreams.intern(eventStream));
+		segment.putInt(offset + 36, inventory == null ? NO_ID : inventories.intern(inventory));
+		segment.putInt(offset + 40, market == null ? NO_ID : markets.intern(market));
+		segment.putInt(offset + 44, taxRates == null ? NO_ID : taxRateTables.intern(taxRates));
+		offset += HEADER_SIZE;
+
+		// Write the product lines
+		for (Map.Entry<Product, Integer> entry : items.entrySet()) {
+			segment.putInt(offset, products.intern(entry.getKey()));
+			segment.putInt(offset + 4, entry.getValue());
+			offset += LINE_SIZE;
+		}
+
+		// Write the category aggregates
+		for (Map.Entry<Category, CategoryInfoHolder> entry : categoryMapping.entrySet()) {
+			CategoryInfoHolder holder = entry.getValue();
+			segment.putInt(offset, categories.intern(entry.getKey()));
+			segment.putInt(offset + 4, holder.getProductCount());
+			segment.putDouble(offset + 8, holder.getTotalPrice());
+			segment.putDouble(offset + 16, holder.getTotalWeight());
+			segment.putDouble(offset + 24, holder.getTotalVolume());
+			offset += CATEGORY_SIZE;
+		}
+
+		// Write the applied campaigns
+		for (Campaign campaign : appliedCampaigns) {
+			segment.putInt(offset, campaigns.intern(campaign));
+			offset += CAMPAIGN_SIZE;
+		}
+
+		// Register the record under a handle
+		int handle = takeHandle();
+		index[handle] = address;
+		size++;
+		liveBytes += recordSize;
+		return handle;
+	}
+
+	/**
+	 * Rehydrates the cart of the given handle and removes it from the store
+	 *
+	 * @param handle the handle returned while parking the cart
+	 * @return the cart, or null if the handle is not in use
+	 */
+	public synchronized ShoppingCart rehydrate(int handle) {
+
+		// Handle invalid handles
+		if (handle < 0 || handle >= nextHandle || index[handle] == FREE) {
+			return null;
+		}
+
+		// Locate the record
+		long address = index[handle];
+		ByteBuffer segment = segments.get((int) (address >>> 32));
+		int offset = (int) address;
+
+		// Read the header
+		int lineCount = segment.getInt(offset);
+		int categoryCount = segment.getInt(offset + 4);
+		int campaignCount = segment.getInt(offset + 8);
+		int couponId = segment.getInt(offset + 12);
+		int deliveryMethodId = segment.getInt(offset + 16);
+		int promotionSchedulerId = segment.getInt(offset + 20);
+		double totalPrice = segment.getDouble(offset + 24);
+		int eventStreamId = segment.getInt(offset + 32);
+		int inventoryId = segment.getInt(offset + 36);
+		int marketId = segment.getInt(offset + 40);
+		int taxRatesId = segment.getInt(offset + 44);
+		offset += HEADER_SIZE;
+
+		// Create the cart with its delivery method
+		// Note: Every object is released from its registry as it is read, the record does not refer to it anymore
+		ShoppingCart shoppingCart = new ShoppingCart(release(deliveryMethods, deliveryMethodId));
+		shoppingCart.restoreTotalPrice(totalPrice);
+
+		// Restore the product lines
+		for (int i = 0; i < lineCount; i++) {
+			shoppingCart.restoreItem(release(products, segment.getInt(offset)), segment.getInt(offset + 4));
+			offset += LINE_SIZE;
+		}
+
+		// Restore the category aggregates
+		for (int i = 0; i < categoryCount; i++) {
+			CategoryInfoHolder holder = new CategoryInfoHolder(segment.getInt(offset + 4), segment.getDouble(offset + 8),
+					segment.getDouble(offset + 16), segment.getDouble(offset + 24));
+			shoppingCart.restoreCategory(release(categories, segment.getInt(offset)), holder);
+			offset += CATEGORY_SIZE;
+		}
+
+		shoppingCart.finishRestore();
+
+		// Restore the campaigns and the coupon
+		for (int i = 0; i < campaignCount; i++) {
+			shoppingCart.applyDiscounts(release(campaigns, segment.getInt(offset)));
+			offset += CAMPAIGN_SIZE;
+		}
+
+		if (couponId != NO_ID) {
+			shoppingCart.applyCoupon(release(coupons, couponId));
+		}
+
+		if (promotionSchedulerId != NO_ID) {
+			shoppingCart.setPromotionScheduler(release(promotionSchedulers, promotionSchedulerId));
+		}
+
+		if (marketId != NO_ID) {
+			shoppingCart.setMarket(release(markets, marketId));
+		}
+
+		if (taxRatesId != NO_ID) {
+			shoppingCart.setTaxRates(release(taxRateTables, taxRatesId));
+		}
+
+		// Request the stock of the items again
+		if (inventoryId != NO_ID) {
+			shoppingCart.setInventory(release(inventories, inventoryId));
+		}
+
+		// Reattach the event stream last, restoring is not a change of the cart
+		if (eventStreamId != NO_ID) {
+			shoppingCart.setEventStream(release(eventStreams, eventStreamId));
+		}
+
+		// Release the record, its space is reclaimed on the next compaction
+		int recordSize = recordSize(lineCount, categoryCount, campaignCount);
+		index[handle] = FREE;
+		releaseHandle(handle);
+		size--;
+		liveBytes -= recordSize;
+		garbageBytes += recordSize;
+
+		// Compact the segments when most of the space is wasted
+		if (garbageBytes > liveBytes && garbageBytes > segmentSize) {
+			compact();
+		}
+
+		return shoppingCart;
+	}
+
+	/**
+	 * Moves the live records into fresh segments and releases the wasted space
+	 * The registries are rebuilt from the live records, so that the ids of the dropped objects are not kept as free slots
+	 */
+	public synchronized void compact() {
+
+		// Take the current segments and registries aside and start over
+		List<ByteBuffer> oldSegments = new ArrayList<ByteBuffer>(segments);
+		segments.clear();
+		Registry<Product> oldProducts = products;
+		Registry<Category> oldCategories = categories;
+		Registry<Campaign> oldCampaigns = campaigns;
+		Registry<Coupon> oldCoupons = coupons;
+		Registry<DeliveryMethod> oldDeliveryMethods = deliveryMethods;
+		Registry<PromotionScheduler> oldPromotionSchedulers = promotionSchedulers;
+		Registry<CartEventStream> oldEventStreams = eventStreams;
+		Registry<ReservationBatcher> oldInventories = inventories;
+		Registry<Market> oldMarkets = markets;
+		Registry<TaxRateTable> oldTaxRateTables = taxRateTables;
+		products = new Registry<Product>();
+		categories = new Registry<Category>();
+		campaigns = new Registry<Campaign>();
+		coupons = new Registry<Coupon>();
+		deliveryMethods = new Registry<DeliveryMethod>();
+		promotionSchedulers = new Registry<PromotionScheduler>();
+		eventStreams = new Registry<CartEventStream>();
+		inventories = new Registry<ReservationBatcher>();
+		markets = new Registry<Market>();
+		taxRateTables = new Registry<TaxRateTable>();
+
+		// Copy every live record into the new segments
+		for (int handle = 0; handle < nextHandle; handle++) {
+
+			// Skip the free slots
+			long address = index[handle];
+			if (address == FREE) {
+				continue;
+			}
+
+			// Find the size of the record from its header
+			ByteBuffer source = oldSegments.get((int) (address >>> 32));
+			int offset = (int) address;
+			int recordSize = recordSize(source.getInt(offset), source.getInt(offset + 4), source.getInt(offset + 8));
+
+			// Copy the record
+			long newAddress = allocate(recordSize);
+			ByteBuffer target = segments.get((int) (newAddress >>> 32));
+			ByteBuffer record = source.duplicate();
+			record.limit(offset + recordSize);
+			record.position(offset);
+			ByteBuffer destination = target.duplicate();
+			destination.position((int) newAddress);
+			destination.put(record);
+
+			// Intern the objects of the record into the new registries
+			int position = (int) newAddress;
+			int lineCount = target.getInt(position);
+			int categoryCount = target.getInt(position + 4);
+			int campaignCount = target.getInt(position + 8);
+			remap(target, position + 12, oldCoupons, coupons);
+			remap(target, position + 16, oldDeliveryMethods, deliveryMethods);
+			remap(target, position + 20, oldPromotionSchedulers, promotionSchedulers);
+			remap(target, position + 32, oldEventStreams, eventStreams);
+			remap(target, position + 36, oldInventories, inventories);
+			remap(target, position + 40, oldMarkets, markets);
+			remap(target, position + 44, oldTaxRateTables, taxRateTables);
+			position += HEADER_SIZE;
+			for (int i = 0; i < lineCount; i++, position += LINE_SIZE) {
+				remap(target, position, oldProducts, products);
+			}
+			for (int i = 0; i < categoryCount; i++, position += CATEGORY_SIZE) {
+				remap(target, position, oldCategories, categories);
+			}
+			for (int i = 0; i < campaignCount; i++, position += CAMPAIGN_SIZE) {
+				remap(target, position, oldCampaigns, campaigns);
+			}
+
+			index[handle] = newAddress;
+		}
+
+		// Nothing is wasted anymore
+		garbageBytes = 0;
+	}
+
+	/*
+	 * Returns the object of an id and drops the reference of the record to it, the missing id gives null
+	 */
+	private static <T> T release(Registry<T> registry, int id) {
+		return id == NO_ID ? null : registry.release(id);
+	}
+
+	/*
+	 * Replaces an id of the old registry with the id of the same object in the new one, the missing ids stay missing
+	 */
+	private static <T> void remap(ByteBuffer segment, int position, Registry<T> oldRegistry, Registry<T> newRegistry) {
+		int id = segment.getInt(position);
+		if (id != NO_ID) {
+			segment.putInt(position, newRegistry.intern(oldRegistry.get(id)));
+		}
+	}
+
+	/**
+	 * Returns the number of stored carts
+	 *
+	 * @return count of carts
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the amount of off-heap memory reserved by the store
+	 *
+	 * @return reserved bytes
+	 */
+	public synchronized long getReservedBytes() {
+		long reservedBytes = 0;
+		for (ByteBuffer segment : segments) {
+			reservedBytes += segment.capacity();
+		}
+		return reservedBytes;
+	}
+
+	/**
+	 * Returns the number of shared objects that the stored carts refer to
+	 *
+	 * @return count of objects
+	 */
+	public synchronized int getRegisteredCount() {
+		return products.size() + categories.size() + campaigns.size() + coupons.size() + deliveryMethods.size() + promotionSchedulers.size()
+				+ eventStreams.size() + inventories.size() + markets.size() + taxRateTables.size();
+	}
+
+	/**
+	 * Returns the amount of off-heap memory used by the stored carts
+	 *
+	 * @return used bytes
+	 */
+	public synchronized long getLiveBytes() {
+		return liveBytes;
+	}
+
+	/*
+	 * Calculates the size of a record with the given number of entries
+	 */
+	private static int recordSize(int lineCount, int categoryCount, int campaignCount) {
+		return HEADER_SIZE + lineCount * LINE_SIZE + categoryCount * CATEGORY_SIZE + campaignCount * CAMPAIGN_SIZE;
+	}
+
+	/*
+	 * Reserves space for a record using bump allocation on the last segment
+	 * Returns the address of the reserved space
+	 */
+	private long allocate(int recordSize) {
+
+		// Open a new segment if the last one does not have enough space
+		// Note: Records larger than the segment size get a dedicated segment
+		ByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+		if (segment == null || segment.remaining() < recordSize) {
+			segment = ByteBuffer.allocateDirect(Math.max(segmentSize, recordSize)).order(ByteOrder.LITTLE_ENDIAN);
+			segments.add(segment);
+		}
+
+		// Bump the position of the segment
+		int offset = segment.position();
+		segment.position(offset + recordSize);
+		return ((long) (segments.size() - 1) << 32) | offset;
+	}
+
+	/*
+	 * Returns a free handle, growing the index if necessary
+	 */
+	private int takeHandle() {
+
+		// Prefer the released handles
+		if (freeHandleCount > 0) {
+			return freeHandles[--freeHandleCount];
+		}
+
+		// Grow the index when it is full
+		if (nextHandle == index.length) {
+			int oldLength = index.length;
+			index = Arrays.copyOf(index, oldLength * 2);
+			Arrays.fill(index, oldLength, index.length, FREE);
+		}
+
+		return nextHandle++;
+	}
+
+	/*
+	 * Puts the given handle back into the free handles
+	 */
+	private void releaseHandle(int handle) {
+		if (freeHandleCount == freeHandles.length) {
+			freeHandles = Arrays.copyOf(freeHandles, freeHandleCount * 2);
+		}
+		freeHandles[freeHandleCount++] = handle;
+	}
+
+	/*
+	 * Assigns sequential ids to the shared objects, and counts the references of the records to each of them
+	 * Objects are told apart by identity, since equal objects may differ in the fields that are not compared (e.g. product prices)
+	 */
+	private static class Registry<T> {
+
+		// Id to object mapping, the slots of the dropped objects are null
+		private final List<T> objects = new ArrayList<T>();
+
+		// Number of references of the records to each id
+		private int[] referenceCounts = new int[16];
+
+		// Object to id mapping
+		private final Map<T, Integer> ids = new IdentityHashMap<T, Integer>();
+
+		// Ids of the dropped objects, given out again before the new ones
+		private int[] freeIds = new int[16];
+		private int freeIdCount = 0;
+
+		/*
+		 * Returns the id of the given object and counts a reference to it, registering it if it is new
+		 */
+		int intern(T object) {
+			Integer id = ids.get(object);
+			if (id == null) {
+				if (freeIdCount > 0) {
+					id = freeIds[--freeIdCount];
+					objects.set(id, object);
+				} else {
+					id = objects.size();
+					objects.add(object);
+					if (id == referenceCounts.length) {
+						referenceCounts = Arrays.copyOf(referenceCounts, id * 2);
+					}
+				}
+				ids.put(object, id);
+			}
+			referenceCounts[id]++;
+			return id;
+		}
+
+		/*
+		 * Returns the object of the given id
+		 */
+		T get(int id) {
+			return objects.get(id);
+		}
+
+		/*
+		 * Returns the object of the given id and drops a reference to it, the object is dropped with its last reference
+		 */
+		T release(int id) {
+			T object = objects.get(id);
+			if (--referenceCounts[id] == 0) {
+				ids.remove(object);
+				objects.set(id, null);
+				if (freeIdCount == freeIds.length) {
+					freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+				}
+				freeIds[freeIdCount++] = id;
+			}
+			return object;
+		}
+
+		/*
+		 * Returns the number of registered objects
+		 */
+		int size() {
+			return ids.size();
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.trendyol;
+
+import java.util.Currency;
+
+import com.trendyol.product.Category;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Reusable result of ShoppingCart.quote, holds every price figure of a cart
+ * Buffers are meant to be pooled by the caller (e.g. one per request thread), they are not thread-safe
+ * Figures are in the currency of the cart market, or in the catalog currency if the cart has no market
+ */
+public class QuoteBuffer {
+
+	// Price figures of the last quoted cart
+	private double totalPrice;
+	private double campaignDiscount;
+	private double couponDiscount;
+	private double tax;
+	private double deliveryCost;
+
+	// Currency of the figures, null for the catalog currency
+	private Currency currency;
+
+	// Scratch arrays of the columnar campaign evaluation, grown when necessary and reused afterwards
+	double[] campaignDiscounts = new double[0];
+	int[] categoryCounts = new int[0];
+	double[] categoryTotals = new double[0];
+
+	// Scratch arrays of the tax evaluation, the share of each campaign category total that is given as discount
+	Category[] ratioCategories = new Category[0];
+	double[] discountRatios = new double[0];
+	int ratioCount = 0;
+
+	/*
+	 * Sets all figures at once
+	 */
+	void set(double totalPrice, double campaignDiscount, double couponDiscount, double tax, double deliveryCost, Currency currency) {
+		this.totalPrice = totalPrice;
+		this.campaignDiscount = campaignDiscount;
+		this.couponDiscount = couponDiscount;
+		this.tax = tax;
+		this.deliveryCost = deliveryCost;
+		this.currency = currency;
+	}
+
+	/*
+	 * Makes sure the scratch arrays are large enough
+	 */
+	void ensureCapacity(int campaignCount, int categoryCount) {
+		if (campaignDiscounts.length < campaignCount) {
+			campaignDiscounts = new double[campaignCount];
+		}
+		if (categoryCounts.length < categoryCount) {
+			categoryCounts = new int[categoryCount];
+			categoryTotals = new double[categoryCount];
+		}
+	}
+
+	/*
+	 * Makes sure the scratch arrays of the tax evaluation are large enough
+	 */
+	void ensureRatioCapacity(int count) {
+		if (ratioCategories.length < count) {
+			ratioCategories = new Category[count];
+			discountRatios = new double[count];
+		}
+	}
+
+	/*
+	 * Returns the total price before the discounts
+	 */
+	public double getTotalPrice() {
+		return totalPrice;
+	}
+
+	/*
+	 * Returns the total campaign discount
+	 */
+	public double getCampaignDiscount() {
+		return campaignDiscount;
+	}
+
+	/*
+	 * Returns the coupon discount
+	 */
+	public double getCouponDiscount() {
+		return couponDiscount;
+	}
+
+	/*
+	 * Returns the total price after all discounts are applied
+	 */
+	public double getTotalAmountAfterDiscounts() {
+		return totalPrice - campaignDiscount - couponDiscount;
+	}
+
+	/*
+	 * Returns the tax on the discounted items
+	 */
+	public double getTax() {
+		return tax;
+	}
+
+	/*
+	 * Returns the delivery cost
+	 */
+	public double getDeliveryCost() {
+		return deliveryCost;
+	}
+
+	/*
+	 * Returns the final price including the tax and the delivery cost
+	 */
+	public double getFinalPrice() {
+		return getTotalAmountAfterDiscounts() + tax + deliveryCost;
+	}
+
+	/*
+	 * Returns the currency of the figures, or null if they are in the catalog currency
+	 */
+	public Currency getCurrency() {
+		return currency;
+	}
+}
@@ -1,21 +1,37 @@
 package com.trendyol;
 
-import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.trendyol.currency.CurrencyFormats;
+import com.trendyol.currency.Market;
+import com.trendyol.delivery.DeliveryContext;
 import com.trendyol.delivery.DeliveryMethod;
+import com.trendyol.delivery.DeliveryQuote;
 import com.trendyol.discount.Campaign;
+import com.trendyol.discount.CampaignColumns;
 import com.trendyol.discount.Coupon;
-import com.trendyol.discount.DiscountType;
+import com.trendyol.discount.DiscountBreakdown;
+import com.trendyol.discount.Nudge;
+import com.trendyol.discount.NudgeIndex;
+import com.trendyol.discount.PromotionEpoch;
+import com.trendyol.discount.PromotionScheduler;
+import com.trendyol.event.CartEventStream;
+import com.trendyol.event.CartEventType;
+import com.trendyol.inventory.CartReservation;
+import com.trendyol.inventory.ReservationBatcher;
 import com.trendyol.product.Category;
 import com.trendyol.product.CategoryInfoHolder;
 import com.trendyol.product.Product;
+import com.trendyol.tax.TaxRateTable;
 
 /**
  * @author cbayar
@@ -28,8 +44,8 @@ public class ShoppingCart {
 	// Epsilon value for double precision comparison
 	public static final double EPSILON = 0.001;
 	
-	// Formatter for outputting currency values
-	private static NumberFormat currencyFormat = NumberFormat.getCurrencyInstance();
+	// Minimum number of delivery methods that are quoted in parallel
+	public static final int PARALLEL_DELIVERY_QUOTES = 16;
 	
 	// Formatter for products and price
 	private static String productFormat = "%-25s%-10sx%-5d%s%n";
@@ -45,8 +61,9 @@ public class ShoppingCart {
 	// Then again, the number of items in the card will not be very big so it shouldn't really matter
 	private Map<Category, CategoryInfoHolder> categoryMapping = new HashMap<Category, CategoryInfoHolder>();
 	
-	// List of applied campaigns
+	// List of applied campaigns, and the same campaigns as a set for the membership checks
 	private List<Campaign> appliedCampaigns = new ArrayList<Campaign>();
+	private Set<Campaign> appliedCampaignSet = new HashSet<Campaign>();
 
 	// Applied coupon if one exists
 	// Note: I understood only a single coupon can be applied to the cart from description
@@ -55,9 +72,73 @@ public class ShoppingCart {
 	// Delivery price calculation method of preference
 	private DeliveryMethod deliveryMethod;
 	
+	// Tax rates of the categories, if tax is applied
+	private TaxRateTable taxRates;
+	
+	// Tax of the last quote, reused until the cart or the promotion epoch changes
+	// The flag is written last, so that a snapshot read without locking never sees it before the tax
+	private double tax;
+	private PromotionEpoch taxEpoch;
+	private volatile boolean taxCached = false;
+	
+	// Currency and locale that the cart is priced and rendered in, if it is not the catalog currency
+	// Note: Prices are kept in the catalog currency and converted on the way out, see @{quote} and @{print}
+	private Market market;
+	
 	// Shortcut to the total price of all items in the cart
 	private double totalPrice = 0;
 	
+	// Shortcut to the number of distinct product categories, maintained along with the lookup table
+	private int deliveryCount = 0;
+	
+	// Own categories of the products, in the order they were added, so that the tax can be evaluated without iterating the maps
+	private List<Category> lineCategories = new ArrayList<Category>();
+	
+	// Snapshots are read-only copies of a cart, see @{snapshot}
+	private boolean frozen = false;
+	
+	// Whether the collections above are shared with the last snapshot
+	// The first write after a snapshot copies them, so the snapshot never observes a change (copy-on-write)
+	private boolean shared = false;
+	
+	// Category holders of the previous contents, reused after a reset instead of allocating new ones
+	private List<CategoryInfoHolder> spareHolders;
+	
+	// Whether the cart is released to a pool and not acquired again yet, see @{CartPool.release}
+	private boolean pooled = false;
+	
+	// Last taken snapshot, reused until the cart changes
+	private ShoppingCart lastSnapshot;
+	
+	// Result of the last discount evaluation, reused until the cart or the promotion epoch changes
+	private DiscountBreakdown discountBreakdown;
+	private PromotionEpoch discountBreakdownEpoch;
+	
+	// Scheduler of the time-windowed promotions, if one is used
+	private PromotionScheduler promotionScheduler;
+	
+	// Promotion epoch of a snapshot, fixed at the time the snapshot was taken
+	private PromotionEpoch snapshotEpoch;
+	
+	// Columnar layout of the campaigns, used when there are many of them
+	// Kept until the campaigns or the promotion epoch change, not on every item addition
+	private CampaignColumns campaignColumns;
+	private PromotionEpoch campaignColumnsEpoch;
+	
+	// Locked campaigns ordered by their gaps, built on the first read and then kept up to date on every change
+	// It belongs to a single cart and is never shared with the snapshots
+	private NudgeIndex nudgeIndex;
+	private PromotionEpoch nudgeIndexEpoch;
+	
+	// Stream that the changes of the cart are published to, if one is used
+	// Snapshots never change, so they do not publish anything
+	private CartEventStream eventStream;
+	
+	// Batcher that the stock of the items is reserved through, if one is used, and the reservation state of the cart
+	// Reservations are requested on every addition but completed in the background, see @{ReservationBatcher}
+	private ReservationBatcher inventory;
+	private CartReservation reservation;
+	
 	/*
 	 * Note: I had to pass the calculator and break the given interface rules on the pseudocode in this method
 	 * Passing it on the calculation method would be my preference but print method needed it, too
@@ -67,34 +148,70 @@ public class ShoppingCart {
 		this.deliveryMethod = deliveryMethod;
 	}
 	
+	/*
+	 * Snapshot constructor, shares the state of the given cart without copying it
+	 */
+	private ShoppingCart(ShoppingCart source) {
+		this.cart = source.cart;
+		this.categoryMapping = source.categoryMapping;
+		this.appliedCampaigns = source.appliedCampaigns;
+		this.appliedCampaignSet = source.appliedCampaignSet;
+		this.coupon = source.coupon;
+		this.deliveryMethod = source.deliveryMethod;
+		this.market = source.market;
+		this.taxRates = source.taxRates;
+		this.totalPrice = source.totalPrice;
+		this.deliveryCount = source.deliveryCount;
+		this.lineCategories = source.lineCategories;
+		this.promotionScheduler = source.promotionScheduler;
+		this.snapshotEpoch = source.currentEpoch();
+		this.campaignColumns = source.campaignColumns;
+		this.campaignColumnsEpoch = source.campaignColumnsEpoch;
+		this.frozen = true;
+	}
+	
 	/**
 	 * Adds the given amount of a product into the shopping cart
+	 * Every addition counts towards the category totals and the campaign thresholds, also when the product is already in the cart
 	 * 
 	 * @param product the product
 	 * @param count the count of product
 	 */
-	public void addItem(Product product, int count) {
+	public synchronized void addItem(Product product, int count) {
 		
 		// Make sure the parameters are valid
 		if (product != null && count > 0) {
 			
+			// Detach from the last snapshot before changing anything
+			prepareForWrite();
+			
 			// Updates the count of the existing product or adds it to the cart
-			if (cart.containsKey(product)) {
+			boolean newLine = !cart.containsKey(product);
+			if (!newLine) {
 				int totalCount = cart.get(product) + count;
 				cart.replace(product, totalCount);
 			} else {
 				cart.put(product, count);
-				updateLookupTable(product, count);
+			}
+			
+			// Category aggregates have to follow every addition, not only the first one of a product
+			updateLookupTable(product, count);
+			if (newLine) {
+				registerLine(product);
 			}
 			
 			// Update the total cart price
 			double productPrice = product.getPrice();
 			totalPrice += productPrice * count;
+			
+			// Request the stock and let the consumers know about the change
+			reserve(product, count);
+			publish(CartEventType.ITEM_ADDED, product, count, null, null);
 		}
 	}
 	
 	/**
-	 * Adds the new product information into consequent categories
+	 * Adds the product information into consequent categories
 	 * 
 	 * @param product the product
 	 */
@@ -105,12 +222,18 @@ public class ShoppingCart {
 		do {
 			
 			if (!categoryMapping.containsKey(category)) {
-				CategoryInfoHolder categoryInfoHolder = new CategoryInfoHolder();
-				categoryMapping.put(category, categoryInfoHolder);
+				categoryMapping.put(category, newHolder());
 			}
 			
 			// Add the product into the lookup table
-			categoryMapping.get(category).update(product, count);
+			CategoryInfoHolder categoryInfoHolder = categoryMapping.get(category);
+			categoryInfoHolder.update(product, count);
+			if (category == product.getCategory()) {
+				categoryInfoHolder.updateOwn(product, count);
+			}
+			if (nudgeIndex != null) {
+				nudgeIndex.update(category, categoryInfoHolder);
+			}
 			
 			// The block ends when there are no more parents
 			category = category.getParent();
@@ -118,12 +241,39 @@ public class ShoppingCart {
 		} while (category != null);
 	}
 
+	/*
+	 * Returns an empty category holder, reusing the holders of the contents before the last reset if there are any
+	 */
+	private CategoryInfoHolder newHolder() {
+		if (spareHolders == null || spareHolders.isEmpty()) {
+			return new CategoryInfoHolder();
+		}
+		CategoryInfoHolder holder = spareHolders.remove(spareHolders.size() - 1);
+		holder.clear();
+		return holder;
+	}
+	
+	/*
+	 * Counts a new distinct product on its own category, and the category as a delivery if it is the first product of it
+	 * The lookup table must already contain the category
+	 */
+	private void registerLine(Product product) {
+		if (categoryMapping.get(product.getCategory()).addLine() == 1) {
+			deliveryCount++;
+			lineCategories.add(product.getCategory());
+		}
+	}
+	
 	/**
 	 * Adds all applied campaigns into the campaign list
 	 * 
 	 * @param campaigns the list of applied campaigns
 	 */
-	public void applyDiscounts(Campaign... campaigns) {
+	public synchronized void applyDiscounts(Campaign... campaigns) {
+		
+		// Detach from the last snapshot before changing anything
+		prepareForWrite();
+		campaignColumns = null;
 		
 		// Add all campaigns into the list
 		for (Campaign campaign : campaigns) {
@@ -131,6 +281,10 @@ public class ShoppingCart {
 			// Skip the invalid campaigns
 			if (campaign != null) {
 				appliedCampaigns.add(campaign);
+				appliedCampaignSet.add(campaign);
+				register(campaign);
+				addNudge(campaign);
+				publish(CartEventType.CAMPAIGN_APPLIED, null, 0, campaign, null);
 			}
 		}
 	}
@@ -140,8 +294,423 @@ public class ShoppingCart {
 	 * 
 	 * @param coupon the coupon
 	 */
-	public void applyCoupon(Coupon coupon) {
+	public synchronized void applyCoupon(Coupon coupon) {
+		prepareForWrite();
 		this.coupon = coupon;
+		register(coupon);
+		publish(CartEventType.COUPON_APPLIED, null, 0, null, coupon);
+	}
+	
+	/**
+	 * Merges the given cart into this one, e.g. a guest cart into the account cart on login
+	 * 
+	 * Product counts are combined according to the policy, in a single pass over the lines of the other cart
+	 * With MergePolicy.SUM, the category aggregates of the other cart are folded in directly
+	 * Campaigns that are already applied are skipped
+	 * If both carts have a coupon, the one with the larger discount on the merged cart is kept
+	 * 
+	 * @param other the cart to merge into this one, it is not modified
+	 * @param policy the policy of combining the product counts
+	 */
+	public void merge(ShoppingCart other, MergePolicy policy) {
+		
+		// Nothing to merge
+		if (other == null || other == this || policy == null) {
+			return;
+		}
+		
+		// Take a consistent state of the other cart before locking this one, so that two carts merging into each other can not deadlock
+		ShoppingCart source = other.snapshot();
+		synchronized (this) {
+			
+			// Detach from the last snapshot before changing anything
+			prepareForWrite();
+			
+			// Fold the category aggregates of the other cart first, every line of it is added as a whole
+			if (policy == MergePolicy.SUM) {
+				for (Map.Entry<Category, CategoryInfoHolder> entry : source.categoryMapping.entrySet()) {
+					CategoryInfoHolder holder = categoryMapping.computeIfAbsent(entry.getKey(), category -> newHolder());
+					holder.merge(entry.getValue());
+					if (nudgeIndex != null) {
+						nudgeIndex.update(entry.getKey(), holder);
+					}
+				}
+				totalPrice += source.totalPrice;
+			}
+			
+			// Combine the product counts
+			int mergedLines = 0;
+			for (Map.Entry<Product, Integer> entry : source.cart.entrySet()) {
+				
+				// Only the increase of the count has to be added
+				Product product = entry.getKey();
+				int existingCount = cart.getOrDefault(product, 0);
+				int delta = policy.merge(existingCount, entry.getValue()) - existingCount;
+				if (delta <= 0) {
+					continue;
+				}
+				
+				cart.put(product, existingCount + delta);
+				reserve(product, delta);
+				mergedLines++;
+				
+				// Category aggregates of summed carts are already folded, the others are updated line by line
+				if (policy != MergePolicy.SUM) {
+					updateLookupTable(product, delta);
+					totalPrice += product.getPrice() * delta;
+				}
+				
+				// Count the new lines
+				if (existingCount == 0) {
+					registerLine(product);
+				}
+			}
+			
+			// Add the campaigns that are not applied yet
+			campaignColumns = null;
+			for (Campaign campaign : source.appliedCampaigns) {
+				if (appliedCampaignSet.add(campaign)) {
+					appliedCampaigns.add(campaign);
+					register(campaign);
+					addNudge(campaign);
+				}
+			}
+			
+			// Resolve the coupon conflict by keeping the more beneficial one
+			register(source.coupon);
+			if (coupon == null) {
+				coupon = source.coupon;
+			} else if (source.coupon != null && source.coupon != coupon) {
+				PromotionEpoch epoch = currentEpoch();
+				double existingDiscount = calculateDiscountBreakdown(epoch, coupon).getCouponDiscount();
+				double incomingDiscount = calculateDiscountBreakdown(epoch, source.coupon).getCouponDiscount();
+				if (incomingDiscount > existingDiscount) {
+					coupon = source.coupon;
+				}
+			}
+			
+			// Merge is published as a single change, the consumers can read the merged state from the cart
+			publish(CartEventType.CARTS_MERGED, null, mergedLines, null, null);
+		}
+	}
+	
+	/**
+	 * Empties the cart, so that it can be reused instead of creating a new one
+	 * 
+	 * Collections keep their capacity and the category holders are kept for the next contents, so a reused cart
+	 * does not allocate them again. The configuration (delivery method, promotion scheduler, market, tax rates,
+	 * event stream and inventory) is kept, and the reserved stock is released.
+	 * 
+	 * Snapshots taken before the reset are not affected
+	 */
+	public synchronized void reset() {
+		
+		// Snapshots can not be modified
+		if (frozen) {
+			throw new UnsupportedOperationException("Shopping cart snapshots are read-only");
+		}
+		
+		// Collections shared with a snapshot belong to it now, the others are cleared in place
+		if (shared) {
+			cart = new HashMap<Product, Integer>();
+			categoryMapping = new HashMap<Category, CategoryInfoHolder>();
+			appliedCampaigns = new ArrayList<Campaign>();
+			appliedCampaignSet = new HashSet<Campaign>();
+			lineCategories = new ArrayList<Category>();
+			shared = false;
+		} else {
+			if (spareHolders == null) {
+				spareHolders = new ArrayList<CategoryInfoHolder>(categoryMapping.size());
+			}
+			spareHolders.addAll(categoryMapping.values());
+			cart.clear();
+			categoryMapping.clear();
+			appliedCampaigns.clear();
+			appliedCampaignSet.clear();
+			lineCategories.clear();
+		}
+		
+		// Clear the rest of the contents and the results calculated on them
+		coupon = null;
+		totalPrice = 0;
+		deliveryCount = 0;
+		lastSnapshot = null;
+		discountBreakdown = null;
+		campaignColumns = null;
+		nudgeIndex = null;
+		taxCached = false;
+		
+		// Give back the stock, and keep reserving through the same batcher
+		if (inventory != null) {
+			inventory.release(reservation);
+			reservation = new CartReservation();
+		}
+		
+		publish(CartEventType.CART_RESET, null, 0, null, null);
+	}
+	
+	/*
+	 * Detaches the cart from everything but its delivery method, used before the cart is pooled
+	 */
+	synchronized void detach() {
+		releaseReservation();
+		promotionScheduler = null;
+		market = null;
+		taxRates = null;
+		eventStream = null;
+	}
+	
+	/*
+	 * Marks the cart as released to a pool, and returns false if it already is
+	 */
+	synchronized boolean markPooled() {
+		if (pooled) {
+			return false;
+		}
+		pooled = true;
+		return true;
+	}
+	
+	/*
+	 * Marks the cart as acquired from a pool
+	 */
+	synchronized void markAcquired() {
+		pooled = false;
+	}
+	
+	/**
+	 * Returns an immutable snapshot of the cart
+	 * Pricing, delivery and printing methods of the snapshot work on a consistent state,
+	 * while the cart itself can still be modified by other threads
+	 * 
+	 * Taking a snapshot does not copy anything, the snapshot shares the collections with the cart
+	 * Only the first write after a snapshot copies them (copy-on-write)
+	 * 
+	 * @return the snapshot
+	 */
+	public synchronized ShoppingCart snapshot() {
+		
+		// Snapshots are already immutable
+		if (frozen) {
+			return this;
+		}
+		
+		// Reuse the last snapshot if nothing changed since then
+		if (lastSnapshot == null || lastSnapshot.snapshotEpoch != currentEpoch()) {
+			lastSnapshot = new ShoppingCart(this);
+			shared = true;
+		}
+		
+		return lastSnapshot;
+	}
+	
+	/**
+	 * Sets the scheduler of the time-windowed promotions
+	 * Scheduled campaigns that are active in the current epoch are applied in addition to the applied campaigns,
+	 * and the applied campaigns and coupon are only taken into account while they are valid
+	 * 
+	 * @param promotionScheduler the scheduler, or null to apply the promotions regardless of time
+	 */
+	public synchronized void setPromotionScheduler(PromotionScheduler promotionScheduler) {
+		prepareForWrite();
+		this.promotionScheduler = promotionScheduler;
+		this.campaignColumns = null;
+		this.nudgeIndex = null;
+		
+		// Periods of the promotions that are already applied have to be registered with the new scheduler
+		for (Campaign campaign : appliedCampaigns) {
+			register(campaign);
+		}
+		register(coupon);
+	}
+	
+	/*
+	 * Registers the validity period of an applied campaign with the scheduler, if one is used
+	 */
+	private void register(Campaign campaign) {
+		if (promotionScheduler != null) {
+			promotionScheduler.register(campaign);
+		}
+	}
+	
+	/*
+	 * Registers the validity period of an applied coupon with the scheduler, if one is used
+	 */
+	private void register(Coupon coupon) {
+		if (promotionScheduler != null && coupon != null) {
+			promotionScheduler.register(coupon);
+		}
+	}
+	
+	/**
+	 * Returns the scheduler of the time-windowed promotions, if one is used
+	 * 
+	 * @return the scheduler
+	 */
+	public PromotionScheduler getPromotionScheduler() {
+		return promotionScheduler;
+	}
+	
+	/**
+	 * Sets the market that the cart is priced and rendered in
+	 * Quotes and the printed output are converted into the market currency, the other methods stay in the catalog currency
+	 * 
+	 * @param market the market, or null to use the catalog currency and the default locale
+	 */
+	public synchronized void setMarket(Market market) {
+		prepareForWrite();
+		this.market = market;
+	}
+	
+	/**
+	 * Returns the market that the cart is priced and rendered in, if one is set
+	 * 
+	 * @return the market
+	 */
+	public Market getMarket() {
+		return market;
+	}
+	
+	/**
+	 * Sets the stream that the changes of the cart are published to
+	 * Events are published by the modifying thread while it holds the lock of the cart,
+	 * so a stream with BackPressurePolicy.BLOCK holds back the writes of the cart while its consumer is behind
+	 * 
+	 * @param eventStream the stream, or null to stop publishing
+	 */
+	public synchronized void setEventStream(CartEventStream eventStream) {
+		if (frozen) {
+			throw new UnsupportedOperationException("Shopping cart snapshots are read-only");
+		}
+		this.eventStream = eventStream;
+	}
+	
+	/**
+	 * Returns the stream that the changes of the cart are published to, if one is used
+	 * 
+	 * @return the event stream
+	 */
+	public CartEventStream getEventStream() {
+		return eventStream;
+	}
+	
+	/**
+	 * Sets the batcher that the stock of the items is reserved through
+	 * The items that are already in the cart are requested right away, the later additions are requested as they are added
+	 * Stock that is reserved through the previous batcher is released
+	 * 
+	 * @param inventory the batcher, or null to stop reserving
+	 */
+	public synchronized void setInventory(ReservationBatcher inventory) {
+		
+		// Snapshots can not be modified
+		if (frozen) {
+			throw new UnsupportedOperationException("Shopping cart snapshots are read-only");
+		}
+		
+		// Give back what is reserved so far
+		releaseReservation();
+		
+		// Request the current items through the new batcher
+		if (inventory != null) {
+			this.inventory = inventory;
+			this.reservation = new CartReservation();
+			for (Map.Entry<Product, Integer> entry : cart.entrySet()) {
+				reserve(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+	
+	/**
+	 * Returns the batcher that the stock of the items is reserved through, if one is used
+	 * 
+	 * @return the batcher
+	 */
+	public ReservationBatcher getInventory() {
+		return inventory;
+	}
+	
+	/**
+	 * Returns the reservation state of the items, if a batcher is used
+	 * 
+	 * @return the reservation
+	 */
+	public CartReservation getReservation() {
+		return reservation;
+	}
+	
+	/**
+	 * Releases the stock reserved for the cart and stops reserving, e.g. when the cart is evicted
+	 */
+	public synchronized void releaseReservation() {
+		if (inventory != null) {
+			inventory.release(reservation);
+			inventory = null;
+			reservation = null;
+		}
+	}
+	
+	/*
+	 * Requests the stock of an added quantity, if a batcher is used
+	 */
+	private void reserve(Product product, int count) {
+		if (inventory != null) {
+			inventory.request(reservation, product, count);
+		}
+	}
+	
+	/*
+	 * Publishes a change of the cart, if a stream is used
+	 */
+	private void publish(CartEventType type, Product product, int count, Campaign campaign, Coupon coupon) {
+		CartEventStream stream = eventStream;
+		if (stream != null) {
+			stream.publish(type, this, product, count, campaign, coupon);
+		}
+	}
+	
+	/**
+	 * Checks if the cart is a read-only snapshot
+	 * 
+	 * @return snapshot status
+	 */
+	public boolean isSnapshot() {
+		return frozen;
+	}
+	
+	/*
+	 * Makes sure the cart can be modified without affecting the snapshots
+	 * Must be called from a synchronized method before any modification
+	 */
+	private void prepareForWrite() {
+		
+		// Snapshots can not be modified
+		if (frozen) {
+			throw new UnsupportedOperationException("Shopping cart snapshots are read-only");
+		}
+		
+		// Copy the collections if they are still shared with the last snapshot
+		if (shared) {
+			
+			cart = new HashMap<Product, Integer>(cart);
+			appliedCampaigns = new ArrayList<Campaign>(appliedCampaigns);
+			appliedCampaignSet = new HashSet<Campaign>(appliedCampaignSet);
+			lineCategories = new ArrayList<Category>(lineCategories);
+			
+			// Category holders are mutable, so they are copied one by one
+			Map<Category, CategoryInfoHolder> mappingCopy = new HashMap<Category, CategoryInfoHolder>(categoryMapping.size() * 2);
+			for (Map.Entry<Category, CategoryInfoHolder> entry : categoryMapping.entrySet()) {
+				mappingCopy.put(entry.getKey(), new CategoryInfoHolder(entry.getValue()));
+			}
+			categoryMapping = mappingCopy;
+			
+			shared = false;
+		}
+		
+		// The next snapshot and the discounts have to be calculated again
+		lastSnapshot = null;
+		discountBreakdown = null;
+		taxCached = false;
 	}
 	
 	/**
@@ -159,7 +728,7 @@ public class ShoppingCart {
 	 * @return the price
 	 */
 	public double getTotalAmountAfterDiscounts() {
-		return totalPrice - getCampaignDiscount() - getCouponDiscount();
+		return getDiscountBreakdown().getTotalAmountAfterDiscounts();
 	}
 	
 	/**
@@ -168,63 +737,416 @@ public class ShoppingCart {
 	 * @return the discount
 	 */
 	public double getCouponDiscount() {
+		return getDiscountBreakdown().getCouponDiscount();
+	}
+	
+	/**
+	 * Return the total campaign discount amount
+	 * 
+	 * @return the discount
+	 */
+	public double getCampaignDiscount() {
+		return getDiscountBreakdown().getCampaignDiscount();
+	}
+	
+	/**
+	 * Returns the allocation of the discounts on campaigns, categories and product lines
+	 * The breakdown is calculated in a single evaluation and cached until the cart changes,
+	 * so the totals and the allocations always belong to the same state
+	 * 
+	 * @return the discount breakdown
+	 */
+	public DiscountBreakdown getDiscountBreakdown() {
 		
-		// Only apply if a coupon is applied
-		if (coupon != null) {
-			
-			// Check coupon validity
-			double priceAfterCampaigns = totalPrice - getCampaignDiscount();
-			double minPriceTotal = coupon.getMinPriceTotal();
-			if (priceAfterCampaigns >= minPriceTotal || Math.abs(priceAfterCampaigns - minPriceTotal) < EPSILON) {
-				
-				// For DiscountType.RATE, calculate the discount by percentage 
-				DiscountType discountType = coupon.getDiscountType();
-				if (discountType == DiscountType.RATE) {
-					return priceAfterCampaigns * coupon.getDiscount() / 100;
-				}
-				
-				// Otherwise, return the discount amount directly
-				return coupon.getDiscount();
+		// Snapshots never change, so the cached value can be read without locking
+		if (frozen) {
+			DiscountBreakdown breakdown = discountBreakdown;
+			if (breakdown == null) {
+				breakdown = calculateDiscountBreakdown(snapshotEpoch, coupon);
+				discountBreakdown = breakdown;
 			}
+			return breakdown;
 		}
 		
-		// No discount will be applied
-		return 0;
+		// Live carts are evaluated under the lock, so that a write can not interleave with the evaluation
+		synchronized (this) {
+			PromotionEpoch epoch = currentEpoch();
+			if (discountBreakdown == null || discountBreakdownEpoch != epoch) {
+				discountBreakdown = calculateDiscountBreakdown(epoch, coupon);
+				discountBreakdownEpoch = epoch;
+			}
+			return discountBreakdown;
+		}
 	}
 	
 	/**
-	 * Return the total campaign discount amount
+	 * Returns the tax on the items after the discounts allocated on them
+	 * The tax is evaluated in the same pass as @{quote}, without the discount breakdown
 	 * 
-	 * @return the discount
+	 * @return the tax, or 0 if no tax rates are set
 	 */
-	public double getCampaignDiscount() {
+	public double getTax() {
+		
+		// Tax is not applied
+		if (taxRates == null) {
+			return 0;
+		}
+		
+		// Snapshots never change, so they can be evaluated without locking
+		if (frozen) {
+			return taxCached ? tax : evaluateTax();
+		}
+		
+		// Live carts are evaluated under the lock, so that a write can not interleave with the evaluation
+		synchronized (this) {
+			return taxCached && taxEpoch == currentEpoch() ? tax : evaluateTax();
+		}
+	}
+	
+	/*
+	 * Evaluates the tax in the catalog currency through a quote pass
+	 */
+	private double evaluateTax() {
+		QuoteBuffer buffer = new QuoteBuffer();
+		evaluateQuote(buffer);
+		return buffer.getTax();
+	}
+	
+	/**
+	 * Sets the tax rates of the categories
+	 * 
+	 * @param taxRates the rates, or null to apply no tax
+	 */
+	public synchronized void setTaxRates(TaxRateTable taxRates) {
+		prepareForWrite();
+		this.taxRates = taxRates;
+	}
+	
+	/**
+	 * Returns the tax rates of the categories, if tax is applied
+	 * 
+	 * @return the tax rates
+	 */
+	public TaxRateTable getTaxRates() {
+		return taxRates;
+	}
+	
+	/**
+	 * Fills the given buffer with every price figure of the cart in a single evaluation
+	 * Nothing is allocated, so request threads can price carts with pooled buffers
+	 * 
+	 * The cached discount breakdown and tax are used when they are up to date, otherwise the totals are evaluated directly
+	 * The tax is evaluated per line category from the share of each category total that is given as discount,
+	 * which is the same allocation as the one of the breakdown, see @{DiscountBreakdown.calculate}
+	 * 
+	 * @param buffer the buffer to fill
+	 */
+	public void quote(QuoteBuffer buffer) {
+		
+		// Snapshots never change, so they can be quoted without locking
+		if (frozen) {
+			fillQuote(buffer);
+			return;
+		}
+		
+		// Live carts are quoted under the lock, so that a write can not interleave with the evaluation
+		synchronized (this) {
+			fillQuote(buffer);
+		}
+	}
+	
+	/*
+	 * Evaluates the price figures into the given buffer
+	 */
+	private void fillQuote(QuoteBuffer buffer) {
+		
+		// Evaluate in the catalog currency
+		evaluateQuote(buffer);
+		
+		// Convert all figures with the same rates
+		if (market != null) {
+			double rate = market.getRate();
+			buffer.set(buffer.getTotalPrice() * rate, buffer.getCampaignDiscount() * rate, buffer.getCouponDiscount() * rate,
+					buffer.getTax() * rate, buffer.getDeliveryCost() * rate, market.getCurrency());
+		}
+	}
+	
+	/*
+	 * Evaluates the price figures into the given buffer in the catalog currency
+	 */
+	private void evaluateQuote(QuoteBuffer buffer) {
+		
+		// Prefer the cached breakdown and tax, they hold the same figures
+		double campaignDiscount;
+		double couponDiscount;
+		double tax = 0;
+		PromotionEpoch epoch = currentEpoch();
+		boolean taxUpToDate = taxRates == null || (taxCached && (frozen || taxEpoch == epoch));
+		DiscountBreakdown breakdown = discountBreakdown;
+		if (taxUpToDate && breakdown != null && (frozen || discountBreakdownEpoch == epoch)) {
+			campaignDiscount = breakdown.getCampaignDiscount();
+			couponDiscount = breakdown.getCouponDiscount();
+			tax = taxRates == null ? 0 : this.tax;
+		} else {
+			
+			// Campaigns are evaluated once, the coupon is evaluated on their result
+			campaignDiscount = quoteCampaignDiscount(epoch, buffer);
+			Coupon validCoupon = coupon != null && (epoch == null || epoch.isActive(coupon)) ? coupon : null;
+			couponDiscount = DiscountBreakdown.calculateCouponDiscount(validCoupon, totalPrice - campaignDiscount);
+			
+			// Tax is evaluated on the discount ratios collected by the campaign evaluation
+			if (taxRates != null) {
+				tax = quoteTax(campaignDiscount, couponDiscount, buffer);
+				this.tax = tax;
+				taxEpoch = epoch;
+				taxCached = true;
+			}
+		}
+		
+		buffer.set(totalPrice, campaignDiscount, couponDiscount, tax, getDeliveryCost(), null);
+	}
+	
+	/*
+	 * Evaluates the total campaign discount without allocating, in the same order as the discount breakdown
+	 */
+	private double quoteCampaignDiscount(PromotionEpoch epoch, QuoteBuffer buffer) {
+		
+		// Use the columnar layout if it is up to date
+		CampaignColumns columns = campaignColumns;
+		if (columns != null && campaignColumnsEpoch == epoch) {
+			buffer.ensureCapacity(columns.getCampaignCount(), columns.getCategoryCount());
+			double totalDiscount = columns.evaluate(categoryMapping, buffer.campaignDiscounts, buffer.categoryCounts, buffer.categoryTotals);
+			if (taxRates != null) {
+				buffer.ensureRatioCapacity(columns.getCategoryCount());
+				buffer.ratioCount = columns.collectDiscountRatios(buffer.campaignDiscounts, buffer.categoryTotals, buffer.ratioCategories, buffer.discountRatios);
+			}
+			return totalDiscount;
+		}
 		
-		// Each campaign will be applied individually to calculate the total discount
+		// Otherwise, evaluate the valid applied campaigns one by one
+		// Note: Indexed loops are used on purpose, they do not create iterators
+		List<Campaign> scheduledCampaigns = epoch == null ? Collections.<Campaign>emptyList() : epoch.getCampaigns();
+		if (taxRates != null) {
+			buffer.ensureRatioCapacity(appliedCampaigns.size() + scheduledCampaigns.size());
+			buffer.ratioCount = 0;
+		}
 		double totalDiscount = 0;
-		for (Campaign campaign : appliedCampaigns) {
+		for (int i = 0; i < appliedCampaigns.size(); i++) {
+			Campaign campaign = appliedCampaigns.get(i);
+			if (epoch == null || epoch.isActive(campaign)) {
+				totalDiscount += quoteCampaign(campaign, buffer);
+			}
+		}
+		
+		// Followed by the scheduled ones
+		for (int i = 0; i < scheduledCampaigns.size(); i++) {
+			Campaign campaign = scheduledCampaigns.get(i);
+			if (!appliedCampaignSet.contains(campaign)) {
+				totalDiscount += quoteCampaign(campaign, buffer);
+			}
+		}
+		
+		return totalDiscount;
+	}
+	
+	/*
+	 * Evaluates a single campaign, and collects its share of the category total if the tax is applied
+	 */
+	private double quoteCampaign(Campaign campaign, QuoteBuffer buffer) {
+		CategoryInfoHolder holder = categoryMapping.get(campaign.getCategory());
+		double discount = DiscountBreakdown.calculateCampaignDiscount(campaign, holder);
+		if (taxRates != null && discount != 0 && holder.getTotalPrice() > 0) {
+			buffer.ratioCategories[buffer.ratioCount] = campaign.getCategory();
+			buffer.discountRatios[buffer.ratioCount] = discount / holder.getTotalPrice();
+			buffer.ratioCount++;
+		}
+		return discount;
+	}
+	
+	/*
+	 * Evaluates the tax from the discount ratios collected in the buffer, without allocating
+	 * Lines of the same category share the campaign ratios of its chain and the coupon ratio, so they are taxed together
+	 */
+	private double quoteTax(double campaignDiscount, double couponDiscount, QuoteBuffer buffer) {
+		
+		// Coupon is prorated on what is left after the campaigns
+		double priceAfterCampaigns = totalPrice - campaignDiscount;
+		double couponRatio = priceAfterCampaigns > 0 ? couponDiscount / priceAfterCampaigns : 0;
+		
+		double totalTax = 0;
+		for (int i = 0; i < lineCategories.size(); i++) {
 			
-			// Campaign will be applied only when there are items on the corresponding category
-			// Note: I ignored the overlaps on the same/parent categories
-			Category category = campaign.getCategory();
-			if (categoryMapping.containsKey(category)) {
-				
-				// If there are enough products of the given category, calculate the discount amount
-				CategoryInfoHolder holder = categoryMapping.get(category);
-				if (holder.getProductCount() > campaign.getMinItemCount()) {
-					
-					// Discount amount is depending on the discount type
-					if (campaign.getDiscountType() == DiscountType.RATE) {
-						double categoryTotal = holder.getTotalPrice();
-						totalDiscount += categoryTotal * campaign.getDiscount() / 100;
-					} else {
-						totalDiscount += campaign.getDiscount();
+			// Collect the campaign ratios of the category and of the ones above it
+			Category category = lineCategories.get(i);
+			double campaignRatio = 0;
+			for (Category parent = category; parent != null; parent = parent.getParent()) {
+				for (int j = 0; j < buffer.ratioCount; j++) {
+					if (parent.equals(buffer.ratioCategories[j])) {
+						campaignRatio += buffer.discountRatios[j];
 					}
 				}
 			}
+			
+			// Tax the lines of the category on their total after the discounts
+			double taxableAmount = categoryMapping.get(category).getOwnTotalPrice() * (1 - campaignRatio) * (1 - couponRatio);
+			if (taxableAmount > 0) {
+				totalTax += taxableAmount * taxRates.getRate(category) / 100;
+			}
 		}
 		
-		// Return the total discount
-		return totalDiscount;
+		return totalTax;
+	}
+	
+	/*
+	 * Evaluates the campaigns and the given coupon on the current state of the cart
+	 */
+	private DiscountBreakdown calculateDiscountBreakdown(PromotionEpoch epoch, Coupon coupon) {
+		
+		// Without a scheduler, the applied promotions are used as they are
+		if (epoch == null) {
+			return DiscountBreakdown.calculate(cart, categoryMapping, appliedCampaigns, getCampaignColumns(appliedCampaigns, epoch), coupon, totalPrice);
+		}
+		
+		// Otherwise, the valid applied campaigns are followed by the scheduled ones
+		List<Campaign> campaigns = activeCampaigns(epoch);
+		
+		// Coupon is dropped outside of its validity period
+		Coupon validCoupon = coupon != null && epoch.isActive(coupon) ? coupon : null;
+		return DiscountBreakdown.calculate(cart, categoryMapping, campaigns, getCampaignColumns(campaigns, epoch), validCoupon, totalPrice);
+	}
+	
+	/*
+	 * Returns the campaigns that are in effect in the given epoch, the valid applied ones followed by the scheduled ones
+	 */
+	private List<Campaign> activeCampaigns(PromotionEpoch epoch) {
+		
+		// Without a scheduler, the applied campaigns are used as they are
+		if (epoch == null) {
+			return appliedCampaigns;
+		}
+		
+		List<Campaign> campaigns = new ArrayList<Campaign>(appliedCampaigns.size() + epoch.getCampaigns().size());
+		for (Campaign campaign : appliedCampaigns) {
+			if (epoch.isActive(campaign)) {
+				campaigns.add(campaign);
+			}
+		}
+		for (Campaign campaign : epoch.getCampaigns()) {
+			if (!appliedCampaignSet.contains(campaign)) {
+				campaigns.add(campaign);
+			}
+		}
+		return campaigns;
+	}
+	
+	/**
+	 * Returns the campaigns that are closest to be unlocked, e.g. to tell the shopper to add one more item
+	 * Only the applied campaigns, and the scheduled ones if a scheduler is used, are taken into account
+	 * 
+	 * The campaigns are kept ordered as the cart changes, so a read only costs as much as the number of returned campaigns
+	 * 
+	 * @param count the maximum number of campaigns
+	 * @return the nudges, the smallest item gap first
+	 */
+	public List<Nudge> getCampaignNudges(int count) {
+		
+		// Snapshots never change, so their index is built once and read without locking
+		if (frozen) {
+			NudgeIndex index = nudgeIndex;
+			if (index == null) {
+				index = new NudgeIndex(activeCampaigns(snapshotEpoch), categoryMapping);
+				nudgeIndex = index;
+			}
+			return index.nearest(count);
+		}
+		
+		// Live carts build the index on the first read, or when the promotion epoch changes
+		synchronized (this) {
+			PromotionEpoch epoch = currentEpoch();
+			if (nudgeIndex == null || nudgeIndexEpoch != epoch) {
+				nudgeIndex = new NudgeIndex(activeCampaigns(epoch), categoryMapping);
+				nudgeIndexEpoch = epoch;
+			}
+			return nudgeIndex.nearest(count);
+		}
+	}
+	
+	/**
+	 * Returns how much the price after the campaign discounts is missing for the applied coupon
+	 * The gap is taken from the discount breakdown, which is cached until the cart changes
+	 * 
+	 * @return the nudge, or null if there is no coupon, it is already unlocked or it is not valid at the moment
+	 */
+	public Nudge getCouponNudge() {
+		
+		// Snapshots never change, so they can be read without locking
+		if (frozen) {
+			return couponNudge();
+		}
+		
+		// Live carts are read under the lock, so that the coupon and the breakdown belong to the same state
+		synchronized (this) {
+			return couponNudge();
+		}
+	}
+	
+	/*
+	 * Evaluates the coupon nudge on the current state
+	 */
+	private Nudge couponNudge() {
+		
+		// Only a valid coupon can be unlocked
+		PromotionEpoch epoch = currentEpoch();
+		if (coupon == null || (epoch != null && !epoch.isActive(coupon))) {
+			return null;
+		}
+		
+		// Coupon is unlocked within the precision, see @{DiscountBreakdown.calculateCouponDiscount}
+		DiscountBreakdown breakdown = getDiscountBreakdown();
+		double gap = coupon.getMinPriceTotal() - (breakdown.getTotalPrice() - breakdown.getCampaignDiscount());
+		return gap >= EPSILON ? Nudge.forCoupon(coupon, gap) : null;
+	}
+	
+	/*
+	 * Adds a newly applied campaign to the nudge index, if it is built and the campaign is in effect
+	 */
+	private void addNudge(Campaign campaign) {
+		PromotionEpoch epoch = currentEpoch();
+		if (nudgeIndex != null && (epoch == null || epoch.isActive(campaign))) {
+			nudgeIndex.addCampaign(campaign, categoryMapping.get(campaign.getCategory()));
+		}
+	}
+	
+	/*
+	 * Returns the columnar layout of the given campaigns, or null if there are too few of them
+	 * The layout is built once and reused while the campaigns and the epoch stay the same
+	 */
+	private CampaignColumns getCampaignColumns(List<Campaign> campaigns, PromotionEpoch epoch) {
+		
+		// Per-campaign evaluation is cheaper for a few campaigns
+		if (campaigns.size() < CampaignColumns.MIN_CAMPAIGN_COUNT) {
+			return null;
+		}
+		
+		// Build the layout if the cached one is out of date
+		CampaignColumns columns = campaignColumns;
+		if (columns == null || campaignColumnsEpoch != epoch) {
+			columns = new CampaignColumns(campaigns);
+			campaignColumns = columns;
+			campaignColumnsEpoch = epoch;
+		}
+		
+		return columns;
+	}
+	
+	/*
+	 * Returns the promotion epoch that the cart is priced with, or null if no scheduler is used
+	 */
+	private PromotionEpoch currentEpoch() {
+		if (frozen) {
+			return snapshotEpoch;
+		}
+		return promotionScheduler == null ? null : promotionScheduler.getCurrentEpoch();
 	}
 	
 	/**
@@ -243,10 +1165,167 @@ public class ShoppingCart {
 		return deliveryMethod.calculateFor(this);
 	}
 	
+	/**
+	 * Prices the cart with each of the given delivery methods, e.g. to show the shipping options to the customer
+	 * The delivery method of the cart is not changed
+	 * 
+	 * The counts, the discounted total and the tax are computed once under the lock and shared by all methods
+	 * A snapshot is taken under the same lock if any of the methods reads the cart itself, see @{DeliveryMethod.readsCart}
+	 * Long lists are evaluated in parallel, so the methods must be thread-safe
+	 * 
+	 * @param deliveryMethods the delivery methods to compare
+	 * @return the quote of each method, in the same order, in the currency of the cart market
+	 */
+	public List<DeliveryQuote> quoteDelivery(List<? extends DeliveryMethod> deliveryMethods) {
+		
+		// Note: The methods are copied into an array, since the given list may not have a fast random access
+		DeliveryMethod[] methods = deliveryMethods.toArray(new DeliveryMethod[deliveryMethods.size()]);
+		boolean readsCart = false;
+		for (DeliveryMethod method : methods) {
+			readsCart |= method.readsCart();
+		}
+		
+		// Compute the shared inputs and the snapshot on a consistent state
+		DeliveryContext context;
+		Market quoteMarket;
+		if (frozen) {
+			context = deliveryContext(readsCart);
+			quoteMarket = market;
+		} else {
+			synchronized (this) {
+				context = deliveryContext(readsCart);
+				quoteMarket = market;
+			}
+		}
+		
+		// Evaluate the methods, each one writes only its own slot
+		double[] costs = new double[methods.length];
+		IntStream indices = IntStream.range(0, methods.length);
+		if (methods.length >= PARALLEL_DELIVERY_QUOTES) {
+			indices = indices.parallel();
+		}
+		indices.forEach(i -> costs[i] = methods[i].quoteFor(context));
+		
+		// Collect the quotes, converted with the same rate as @{quote}
+		double rate = quoteMarket == null ? 1 : quoteMarket.getRate();
+		Currency currency = quoteMarket == null ? null : quoteMarket.getCurrency();
+		double totalAmount = context.getTotalAmountAfterDiscounts() + context.getTax();
+		List<DeliveryQuote> quotes = new ArrayList<DeliveryQuote>(methods.length);
+		for (int i = 0; i < methods.length; i++) {
+			quotes.add(new DeliveryQuote(methods[i], costs[i] * rate, (totalAmount + costs[i]) * rate, currency));
+		}
+		
+		return quotes;
+	}
+	
+	/*
+	 * Returns the delivery inputs of the current state in the catalog currency, the caller holds the lock of a live cart
+	 * The snapshot is only taken if a delivery method reads the cart
+	 */
+	private DeliveryContext deliveryContext(boolean readsCart) {
+		QuoteBuffer buffer = new QuoteBuffer();
+		evaluateQuote(buffer);
+		ShoppingCart current = readsCart ? snapshot() : null;
+		return new DeliveryContext(current, deliveryCount, cart.size(), buffer.getTotalAmountAfterDiscounts(), buffer.getTax());
+	}
+	
+	/**
+	 * Returns a read-only view of the products in the cart and their counts
+	 * 
+	 * @return the cart items
+	 */
+	public Map<Product, Integer> getItems() {
+		return Collections.unmodifiableMap(cart);
+	}
+	
+	/**
+	 * Returns a read-only view of the applied campaigns
+	 * 
+	 * @return the campaigns
+	 */
+	public List<Campaign> getAppliedCampaigns() {
+		return Collections.unmodifiableList(appliedCampaigns);
+	}
+	
+	/**
+	 * Returns the applied coupon, if one exists
+	 * 
+	 * @return the coupon
+	 */
+	public Coupon getCoupon() {
+		return coupon;
+	}
+	
+	/**
+	 * Returns the delivery method of the cart
+	 * 
+	 * @return the delivery method
+	 */
+	public DeliveryMethod getDeliveryMethod() {
+		return deliveryMethod;
+	}
+	
+	/**
+	 * Returns a read-only view of the aggregates of each category in the cart, including the parent categories
+	 * The holders must not be modified, use a snapshot to read them while the cart is being modified
+	 * 
+	 * @return the category aggregates
+	 */
+	public Map<Category, CategoryInfoHolder> getCategoryTotals() {
+		return Collections.unmodifiableMap(categoryMapping);
+	}
+	
+	/*
+	 * Returns the category lookup table, used by the cart stores to persist the aggregates
+	 */
+	Map<Category, CategoryInfoHolder> getCategoryMapping() {
+		return categoryMapping;
+	}
+	
+	/*
+	 * Puts a product line back into the cart without touching the lookup table
+	 * Only used while rehydrating a stored cart, the aggregates are restored separately
+	 */
+	void restoreItem(Product product, int count) {
+		cart.put(product, count);
+	}
+	
+	/*
+	 * Puts a stored category aggregate back into the lookup table
+	 */
+	void restoreCategory(Category category, CategoryInfoHolder holder) {
+		categoryMapping.put(category, holder);
+	}
+	
+	/*
+	 * Restores the stored total price as is, so that no rounding difference is introduced by summing the lines again
+	 */
+	void restoreTotalPrice(double totalPrice) {
+		this.totalPrice = totalPrice;
+	}
+	
+	/*
+	 * Recounts the lines, the deliveries and the own totals of the categories once the items and the categories are restored
+	 */
+	void finishRestore() {
+		for (Map.Entry<Product, Integer> entry : cart.entrySet()) {
+			categoryMapping.get(entry.getKey().getCategory()).updateOwn(entry.getKey(), entry.getValue());
+			registerLine(entry.getKey());
+		}
+	}
+	
 	/**
 	 * Print out the cart information
+	 * The information is taken from a snapshot, so that concurrent modifications do not mix into the output
 	 */
 	public void print() {
+		snapshot().printState();
+	}
+	
+	/*
+	 * Prints out the current state of the cart
+	 */
+	private void printState() {
 		
 		// If the cart is empty, return without printing information
 		if (isEmpty()) {
@@ -254,6 +1333,9 @@ public class ShoppingCart {
 			return;
 		}
 		
+		// Take the exchange rate once, so that all amounts are converted with the same table
+		double rate = market == null ? 1 : market.getRate();
+		
 		// Categorize the products using streams
 		Map<Category, List<Product>> categoriedProducts = cart.keySet().stream().collect(Collectors.groupingBy(p -> p.getCategory()));
 		for (Category category : categoriedProducts.keySet()) {
@@ -273,7 +1355,7 @@ public class ShoppingCart {
 				double total = price * count;
 				
 				// Output product information
-				System.out.printf(productFormat, title, currencyFormat.format(price), count, currencyFormat.format(total));
+				System.out.printf(productFormat, title, format(price, rate), count, format(total, rate));
 			}
 			
 			// Add extra space after each category
@@ -281,31 +1363,48 @@ public class ShoppingCart {
 		}
 		
 		// Output total price
-		System.out.printf(priceFormat, "Total Price: ", currencyFormat.format(totalPrice));
+		DiscountBreakdown breakdown = getDiscountBreakdown();
+		System.out.printf(priceFormat, "Total Price: ", format(totalPrice, rate));
 		
 		// Output total campaign discount
-		double campaignDiscount = getCampaignDiscount();
+		double campaignDiscount = breakdown.getCampaignDiscount();
 		if (campaignDiscount > 0) {
-			System.out.printf(priceFormat, "Campaign Discount: ", currencyFormat.format(campaignDiscount));
+			System.out.printf(priceFormat, "Campaign Discount: ", format(campaignDiscount, rate));
 		}
 
 		// Output coupon discount
-		double couponDiscount = getCouponDiscount();
+		double couponDiscount = breakdown.getCouponDiscount();
 		if (couponDiscount > 0) {
-			System.out.printf(priceFormat, "Coupon Discount: ", currencyFormat.format(couponDiscount));
+			System.out.printf(priceFormat, "Coupon Discount: ", format(couponDiscount, rate));
 		}
 		
 		// Add extra space
 		System.out.println();
 		
 		// Calculate the final price
+		double tax = getTax();
 		double shippingPrice = getDeliveryCost();
-		double totalPrice = getTotalAmountAfterDiscounts();
-		double finalPrice = totalPrice + shippingPrice;
+		double totalPrice = breakdown.getTotalAmountAfterDiscounts();
+		double finalPrice = totalPrice + tax + shippingPrice;
+		
+		// Output tax, if it is applied
+		if (tax > 0) {
+			System.out.printf(priceFormat, "Tax: ", format(tax, rate));
+		}
 		
 		// Output shipping and final price
-		System.out.printf(priceFormat, "Shipping Price: ", currencyFormat.format(shippingPrice));
-		System.out.printf(priceFormat, "Final Price: ", currencyFormat.format(finalPrice));
+		System.out.printf(priceFormat, "Shipping Price: ", format(shippingPrice, rate));
+		System.out.printf(priceFormat, "Final Price: ", format(finalPrice, rate));
+	}
+	
+	/*
+	 * Converts an amount of the catalog currency with the given rate and formats it in the market locale
+	 */
+	private String format(double amount, double rate) {
+		if (market == null) {
+			return CurrencyFormats.format(amount);
+		}
+		return market.format(amount * rate);
 	}
 	
 	/**
@@ -315,16 +1414,9 @@ public class ShoppingCart {
 	 */
 	public int deliveryCount() {
 		
-		// Collect distinct categories from the products in the cart
+		// The count is maintained on every new product, so that it can be read without collecting the categories
 		// Note: I assumed the parent categories do not affect this method
-		Set<Category> categorySet = new HashSet<Category>();
-		for (Product product : cart.keySet()) {
-			Category category = product.getCategory();
-			categorySet.add(category);
-		}
-		
-		// Return the size of the set
-		return categorySet.size();
+		return deliveryCount;
 	}
 	
 	/**
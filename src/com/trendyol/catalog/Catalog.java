@@ -0,0 +1,176 @@
+package com.trendyol.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.discount.Campaign;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable, versioned set of the categories, products and campaigns that a node serves
+ * Categories and products can be looked up by their titles, and campaigns by their categories
+ *
+ * A catalog is either built from its parts or loaded from a prebuilt image, see @{CatalogImage}
+ */
+public class Catalog {
+
+	// Version of the catalog data, e.g. the time it was exported
+	private final long version;
+
+	// Contents of the catalog, parents come before their children in the category list
+	private final List<Category> categories;
+	private final List<Product> products;
+	private final List<Campaign> campaigns;
+
+	// Lookup tables
+	private final Map<String, Category> categoriesByTitle;
+	private final Map<String, Product> productsByTitle;
+	private final Map<Category, List<Campaign>> campaignsByCategory;
+
+	/*
+	 * Constructor, builds the lookup tables
+	 * Parents of the given categories and of the product and campaign categories are added if they are missing
+	 */
+	public Catalog(long version, List<Category> categories, List<Product> products, List<Campaign> campaigns) {
+
+		// Order the categories so that parents come first
+		Map<Category, Boolean> visited = new HashMap<Category, Boolean>();
+		List<Category> orderedCategories = new ArrayList<Category>();
+		for (Category category : categories) {
+			addCategory(category, visited, orderedCategories);
+		}
+		for (Product product : products) {
+			addCategory(product.getCategory(), visited, orderedCategories);
+		}
+		for (Campaign campaign : campaigns) {
+			addCategory(campaign.getCategory(), visited, orderedCategories);
+		}
+
+		// Group the campaigns by their categories, keeping their order
+		Map<Category, List<Campaign>> campaignsByCategory = new HashMap<Category, List<Campaign>>();
+		for (Campaign campaign : campaigns) {
+			campaignsByCategory.computeIfAbsent(campaign.getCategory(), category -> new ArrayList<Campaign>()).add(campaign);
+		}
+
+		this.version = version;
+		this.categories = Collections.unmodifiableList(orderedCategories);
+		this.products = Collections.unmodifiableList(new ArrayList<Product>(products));
+		this.campaigns = Collections.unmodifiableList(new ArrayList<Campaign>(campaigns));
+		this.categoriesByTitle = indexCategories(orderedCategories);
+		this.productsByTitle = indexProducts(this.products);
+		this.campaignsByCategory = freeze(campaignsByCategory);
+	}
+
+	/*
+	 * Constructor of the loaded catalogs, the categories are already ordered and the campaigns already grouped
+	 */
+	Catalog(long version, List<Category> categories, List<Product> products, List<Campaign> campaigns, Map<Category, List<Campaign>> campaignsByCategory) {
+		this.version = version;
+		this.categories = Collections.unmodifiableList(categories);
+		this.products = Collections.unmodifiableList(products);
+		this.campaigns = Collections.unmodifiableList(campaigns);
+		this.categoriesByTitle = indexCategories(categories);
+		this.productsByTitle = indexProducts(products);
+		this.campaignsByCategory = freeze(campaignsByCategory);
+	}
+
+	/*
+	 * Adds a category after its parents, if it is not added yet
+	 */
+	private static void addCategory(Category category, Map<Category, Boolean> visited, List<Category> orderedCategories) {
+		if (category == null || visited.containsKey(category)) {
+			return;
+		}
+		addCategory(category.getParent(), visited, orderedCategories);
+		visited.put(category, Boolean.TRUE);
+		orderedCategories.add(category);
+	}
+
+	/*
+	 * Builds the title lookup table of the categories
+	 */
+	private static Map<String, Category> indexCategories(List<Category> categories) {
+		Map<String, Category> index = new HashMap<String, Category>(categories.size() * 2);
+		for (Category category : categories) {
+			index.put(category.getTitle(), category);
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	/*
+	 * Builds the title lookup table of the products
+	 */
+	private static Map<String, Product> indexProducts(List<Product> products) {
+		Map<String, Product> index = new HashMap<String, Product>(products.size() * 2);
+		for (Product product : products) {
+			index.put(product.getTitle(), product);
+		}
+		return Collections.unmodifiableMap(index);
+	}
+
+	/*
+	 * Makes the campaign groups read-only
+	 */
+	private static Map<Category, List<Campaign>> freeze(Map<Category, List<Campaign>> campaignsByCategory) {
+		for (Map.Entry<Category, List<Campaign>> entry : campaignsByCategory.entrySet()) {
+			entry.setValue(Collections.unmodifiableList(entry.getValue()));
+		}
+		return Collections.unmodifiableMap(campaignsByCategory);
+	}
+
+	/*
+	 * Returns the version of the catalog data
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/*
+	 * Returns the categories, parents come before their children
+	 */
+	public List<Category> getCategories() {
+		return categories;
+	}
+
+	/*
+	 * Returns the products
+	 */
+	public List<Product> getProducts() {
+		return products;
+	}
+
+	/*
+	 * Returns the campaigns
+	 */
+	public List<Campaign> getCampaigns() {
+		return campaigns;
+	}
+
+	/*
+	 * Returns the category with the given title, or null if there is none
+	 */
+	public Category getCategory(String title) {
+		return categoriesByTitle.get(title);
+	}
+
+	/*
+	 * Returns the product with the given title, or null if there is none
+	 */
+	public Product getProduct(String title) {
+		return productsByTitle.get(title);
+	}
+
+	/*
+	 * Returns the campaigns defined on the given category
+	 */
+	public List<Campaign> getCampaigns(Category category) {
+		return campaignsByCategory.getOrDefault(category, Collections.<Campaign>emptyList());
+	}
+}
@@ -0,0 +1,282 @@
+package com.trendyol.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Writes and loads prebuilt binary images of catalogs, so that a node does not rebuild its catalog on startup
+ * Images are loaded through a memory-mapped file, records refer to each other by their indexes and nothing is parsed from text
+ *
+ * Image layout (all values are little endian):
+ * header   : magic (int), formatVersion (int), catalogVersion (long), categoryCount (int), productCount (int), campaignCount (int), checksum (int)
+ * categories: parentIndex (int, -1 for roots), titleLength (int), title (UTF-8)
+ * products : categoryIndex (int), price (double), weight (double), volume (double), titleLength (int), title (UTF-8)
+ * campaigns: categoryIndex (int), discountType (int), minItemCount (int), discount (double), validFrom (long), validUntil (long)
+ * index    : groupCount (int), then for each campaign category: categoryIndex (int), campaignCount (int), campaignIndexes (int...)
+ *
+ * The checksum is the CRC32 of the header fields before it, followed by everything after the header
+ * Counts and indexes are still checked against the image, so that a damaged image always fails with an IOException
+ */
+public class CatalogImage {
+
+	// Marks the catalog image files ("TYCI")
+	private static final int MAGIC = 0x54594349;
+
+	// Version of the image layout, images of other versions have to be rebuilt
+	public static final int FORMAT_VERSION = 3;
+
+	// Sizes of the fixed-width parts
+	private static final int HEADER_SIZE = 2 * Integer.BYTES + Long.BYTES + 4 * Integer.BYTES;
+	private static final int CAMPAIGN_SIZE = 3 * Integer.BYTES + Double.BYTES + 2 * Long.BYTES;
+
+	// Offset of the checksum in the header, and the smallest sizes of the variable-width records
+	private static final int CHECKSUM_OFFSET = HEADER_SIZE - Integer.BYTES;
+	private static final int MIN_CATEGORY_SIZE = 2 * Integer.BYTES;
+	private static final int MIN_PRODUCT_SIZE = 2 * Integer.BYTES + 3 * Double.BYTES;
+
+	/*
+	 * Static methods only
+	 */
+	private CatalogImage() {
+	}
+
+	/**
+	 * Writes the image of a catalog into a file, replacing it if it exists
+	 *
+	 * @param catalog the catalog
+	 * @param path the image file
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(Catalog catalog, Path path) throws IOException {
+
+		// Assign indexes to the categories and encode the titles
+		List<Category> categories = catalog.getCategories();
+		List<Product> products = catalog.getProducts();
+		List<Campaign> campaigns = catalog.getCampaigns();
+		Map<Category, Integer> categoryIndexes = new HashMap<Category, Integer>(categories.size() * 2);
+		byte[][] categoryTitles = new byte[categories.size()][];
+		byte[][] productTitles = new byte[products.size()][];
+		int size = HEADER_SIZE + campaigns.size() * CAMPAIGN_SIZE + Integer.BYTES;
+		for (int i = 0; i < categories.size(); i++) {
+			categoryIndexes.put(categories.get(i), i);
+			categoryTitles[i] = categories.get(i).getTitle().getBytes(StandardCharsets.UTF_8);
+			size += 2 * Integer.BYTES + categoryTitles[i].length;
+		}
+		for (int i = 0; i < products.size(); i++) {
+			productTitles[i] = products.get(i).getTitle().getBytes(StandardCharsets.UTF_8);
+			size += 2 * Integer.BYTES + 3 * Double.BYTES + productTitles[i].length;
+		}
+
+		// Group the campaigns by their categories for the index
+		Map<Campaign, Integer> campaignIndexes = new IdentityHashMap<Campaign, Integer>();
+		for (int i = 0; i < campaigns.size(); i++) {
+			campaignIndexes.put(campaigns.get(i), i);
+		}
+		List<Category> campaignCategories = new ArrayList<Category>();
+		for (Category category : categories) {
+			int groupSize = catalog.getCampaigns(category).size();
+			if (groupSize > 0) {
+				campaignCategories.add(category);
+				size += 2 * Integer.BYTES + groupSize * Integer.BYTES;
+			}
+		}
+
+		// Write the records after the header
+		ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(HEADER_SIZE);
+		for (int i = 0; i < categories.size(); i++) {
+			Category parent = categories.get(i).getParent();
+			buffer.putInt(parent == null ? -1 : categoryIndexes.get(parent));
+			buffer.putInt(categoryTitles[i].length);
+			buffer.put(categoryTitles[i]);
+		}
+		for (int i = 0; i < products.size(); i++) {
+			Product product = products.get(i);
+			buffer.putInt(categoryIndexes.get(product.getCategory()));
+			buffer.putDouble(product.getPrice());
+			buffer.putDouble(product.getWeight());
+			buffer.putDouble(product.getVolume());
+			buffer.putInt(productTitles[i].length);
+			buffer.put(productTitles[i]);
+		}
+		for (Campaign campaign : campaigns) {
+			buffer.putInt(categoryIndexes.get(campaign.getCategory()));
+			buffer.putInt(campaign.getDiscountType().ordinal());
+			buffer.putInt(campaign.getMinItemCount());
+			buffer.putDouble(campaign.getDiscount());
+			buffer.putLong(campaign.getValidFrom());
+			buffer.putLong(campaign.getValidUntil());
+		}
+		buffer.putInt(campaignCategories.size());
+		for (Category category : campaignCategories) {
+			List<Campaign> group = catalog.getCampaigns(category);
+			buffer.putInt(categoryIndexes.get(category));
+			buffer.putInt(group.size());
+			for (Campaign campaign : group) {
+				buffer.putInt(campaignIndexes.get(campaign));
+			}
+		}
+
+		// Write the header with the checksum of the header fields and the records
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, FORMAT_VERSION);
+		buffer.putLong(8, catalog.getVersion());
+		buffer.putInt(16, categories.size());
+		buffer.putInt(20, products.size());
+		buffer.putInt(24, campaigns.size());
+		CRC32 checksum = new CRC32();
+		checksum.update(buffer.array(), 0, CHECKSUM_OFFSET);
+		checksum.update(buffer.array(), HEADER_SIZE, size - HEADER_SIZE);
+		buffer.putInt(CHECKSUM_OFFSET, (int) checksum.getValue());
+
+		// Write the image in one go
+		buffer.rewind();
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Loads a catalog from its image
+	 *
+	 * @param path the image file
+	 * @return the catalog
+	 * @throws IOException if the file can not be read, or it is not a valid image of the current format version
+	 */
+	public static Catalog load(Path path) throws IOException {
+		try {
+			return decode(path);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Corrupted catalog image: " + path, e);
+		}
+	}
+
+	/*
+	 * Loads a catalog from its image, decoding errors of damaged images are left to the caller
+	 */
+	private static Catalog decode(Path path) throws IOException {
+
+		// Map the whole image
+		MappedByteBuffer mapped;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+				throw new IOException("Invalid catalog image size: " + channel.size());
+			}
+			mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		ByteBuffer buffer = mapped.order(ByteOrder.LITTLE_ENDIAN);
+
+		// Validate the header
+		if (buffer.getInt(0) != MAGIC) {
+			throw new IOException("Not a catalog image: " + path);
+		}
+		if (buffer.getInt(4) != FORMAT_VERSION) {
+			throw new IOException("Unsupported catalog image version " + buffer.getInt(4) + ", expected " + FORMAT_VERSION);
+		}
+		long version = buffer.getLong(8);
+		int categoryCount = buffer.getInt(16);
+		int productCount = buffer.getInt(20);
+		int campaignCount = buffer.getInt(24);
+
+		// Validate the header fields and the records
+		CRC32 checksum = new CRC32();
+		ByteBuffer headerFields = buffer.duplicate();
+		headerFields.position(0).limit(CHECKSUM_OFFSET);
+		checksum.update(headerFields);
+		buffer.position(HEADER_SIZE);
+		checksum.update(buffer);
+		if ((int) checksum.getValue() != buffer.getInt(CHECKSUM_OFFSET)) {
+			throw new IOException("Corrupted catalog image: " + path);
+		}
+
+		// The records have to fit in the image, before anything is allocated for them
+		long minSize = HEADER_SIZE + (long) categoryCount * MIN_CATEGORY_SIZE + (long) productCount * MIN_PRODUCT_SIZE
+				+ (long) campaignCount * CAMPAIGN_SIZE + Integer.BYTES;
+		if (categoryCount < 0 || productCount < 0 || campaignCount < 0 || minSize > buffer.capacity()) {
+			throw new IOException("Corrupted catalog image: " + path);
+		}
+
+		// Read the categories, parents come before their children
+		buffer.position(HEADER_SIZE);
+		DiscountType[] discountTypes = DiscountType.values();
+		List<Category> categories = new ArrayList<Category>(categoryCount);
+		for (int i = 0; i < categoryCount; i++) {
+			int parentIndex = buffer.getInt();
+			String title = readTitle(buffer);
+			categories.add(parentIndex < 0 ? new Category(title) : new Category(title, categories.get(parentIndex)));
+		}
+
+		// Read the products
+		List<Product> products = new ArrayList<Product>(productCount);
+		for (int i = 0; i < productCount; i++) {
+			Category category = categories.get(buffer.getInt());
+			double price = buffer.getDouble();
+			double weight = buffer.getDouble();
+			double volume = buffer.getDouble();
+			products.add(new Product(readTitle(buffer), price, category, weight, volume));
+		}
+
+		// Read the campaigns
+		List<Campaign> campaigns = new ArrayList<Campaign>(campaignCount);
+		for (int i = 0; i < campaignCount; i++) {
+			Category category = categories.get(buffer.getInt());
+			DiscountType discountType = discountTypes[buffer.getInt()];
+			int minItemCount = buffer.getInt();
+			double discount = buffer.getDouble();
+			long validFrom = buffer.getLong();
+			long validUntil = buffer.getLong();
+			campaigns.add(new Campaign(category, discount, minItemCount, discountType, validFrom, validUntil));
+		}
+
+		// Read the campaign index
+		int groupCount = buffer.getInt();
+		Map<Category, List<Campaign>> campaignsByCategory = new HashMap<Category, List<Campaign>>(Math.min(groupCount, categoryCount) * 2);
+		for (int i = 0; i < groupCount; i++) {
+			Category category = categories.get(buffer.getInt());
+			int groupSize = buffer.getInt();
+			List<Campaign> group = new ArrayList<Campaign>(Math.min(groupSize, buffer.remaining() / Integer.BYTES));
+			for (int j = 0; j < groupSize; j++) {
+				group.add(campaigns.get(buffer.getInt()));
+			}
+			campaignsByCategory.put(category, group);
+		}
+
+		return new Catalog(version, categories, products, campaigns, campaignsByCategory);
+	}
+
+	/*
+	 * Reads a length-prefixed UTF-8 title, a length beyond the image is not allocated
+	 */
+	private static String readTitle(ByteBuffer buffer) {
+		int length = buffer.getInt();
+		if (length < 0 || length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,78 @@
+package com.trendyol.catalog;
+
+import java.util.List;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryMethod;
+import com.trendyol.discount.Campaign;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Exercises the pricing paths of the shopping cart on a catalog, so that they are compiled before the node serves requests
+ * Carts are filled with the catalog products and campaigns in a fixed pattern, nothing is printed or kept
+ */
+public class WarmUp {
+
+	// Number of lines in a warm-up cart
+	private static final int LINE_COUNT = 8;
+
+	/*
+	 * Static methods only
+	 */
+	private WarmUp() {
+	}
+
+	/**
+	 * Runs the warm-up on the given catalog
+	 *
+	 * @param catalog the catalog
+	 * @param deliveryMethod the delivery method of the node
+	 * @param iterations the number of carts to price, e.g. 10.000 for the JIT compilers to kick in
+	 * @return a checksum of the results, so that the work can not be optimized away
+	 */
+	public static double run(Catalog catalog, DeliveryMethod deliveryMethod, int iterations) {
+
+		// Nothing to exercise without products
+		List<Product> products = catalog.getProducts();
+		if (products.isEmpty()) {
+			return 0;
+		}
+
+		double checksum = 0;
+		QuoteBuffer buffer = new QuoteBuffer();
+		ShoppingCart previousCart = null;
+		for (int i = 0; i < iterations; i++) {
+
+			// Fill a cart with products spread over the catalog, and their campaigns
+			ShoppingCart shoppingCart = new ShoppingCart(deliveryMethod);
+			for (int j = 0; j < LINE_COUNT; j++) {
+				Product product = products.get((int) ((i * 31L + j * 7919L) % products.size()));
+				shoppingCart.addItem(product, 1 + j % 3);
+				List<Campaign> campaigns = catalog.getCampaigns(product.getCategory());
+				if (!campaigns.isEmpty()) {
+					shoppingCart.applyDiscounts(campaigns.get(i % campaigns.size()));
+				}
+			}
+
+			// Exercise the pricing paths
+			shoppingCart.quote(buffer);
+			checksum += buffer.getFinalPrice();
+			ShoppingCart snapshot = shoppingCart.snapshot();
+			checksum += snapshot.getDiscountBreakdown().getTotalAmountAfterDiscounts();
+
+			// Merge the previous cart as it was before its own merge, so that the carts do not grow
+			if (previousCart != null) {
+				shoppingCart.merge(previousCart, MergePolicy.SUM);
+			}
+			checksum += shoppingCart.getTotalAmountAfterDiscounts() + shoppingCart.getDeliveryCost();
+			previousCart = snapshot;
+		}
+
+		return checksum;
+	}
+}
@@ -0,0 +1,96 @@
+package com.trendyol.currency;
+
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Cache of the currency formatters of each locale and currency
+ * NumberFormat is not thread-safe, so every thread gets its own formatter, which is built once and reused afterwards
+ */
+public class CurrencyFormats {
+
+	// Formatters by locale, then by currency
+	private static final ConcurrentHashMap<Locale, ConcurrentHashMap<Currency, ThreadLocal<NumberFormat>>> FORMATS =
+			new ConcurrentHashMap<Locale, ConcurrentHashMap<Currency, ThreadLocal<NumberFormat>>>();
+
+	// Formatter of the default locale and its currency
+	private static final ThreadLocal<NumberFormat> DEFAULT_FORMAT = ThreadLocal.withInitial(NumberFormat::getCurrencyInstance);
+
+	/*
+	 * Static methods only
+	 */
+	private CurrencyFormats() {
+	}
+
+	/**
+	 * Formats an amount in the given locale and currency
+	 *
+	 * @param amount the amount
+	 * @param locale the locale
+	 * @param currency the currency
+	 * @return the formatted amount
+	 */
+	public static String format(double amount, Locale locale, Currency currency) {
+		return get(locale, currency).format(amount);
+	}
+
+	/**
+	 * Formats an amount in the default locale and its currency
+	 *
+	 * @param amount the amount
+	 * @return the formatted amount
+	 */
+	public static String format(double amount) {
+		return DEFAULT_FORMAT.get().format(amount);
+	}
+
+	/**
+	 * Returns the formatter of the current thread for the given locale and currency
+	 * The formatter must not be modified or passed to other threads
+	 *
+	 * @param locale the locale
+	 * @param currency the currency
+	 * @return the formatter
+	 */
+	public static NumberFormat get(Locale locale, Currency currency) {
+		return formats(locale, currency).get();
+	}
+
+	/**
+	 * Returns the per-thread formatters of the given locale and currency
+	 * Callers that format repeatedly should keep the result, so that only ThreadLocal.get is paid on each call
+	 *
+	 * @param locale the locale
+	 * @param currency the currency
+	 * @return the per-thread formatters, shared by all callers of the same locale and currency
+	 */
+	public static ThreadLocal<NumberFormat> formats(Locale locale, Currency currency) {
+
+		// Plain reads first, computeIfAbsent locks the bin even when the value is present on Java 8
+		ConcurrentHashMap<Currency, ThreadLocal<NumberFormat>> localeFormats = FORMATS.get(locale);
+		if (localeFormats == null) {
+			localeFormats = FORMATS.computeIfAbsent(locale, l -> new ConcurrentHashMap<Currency, ThreadLocal<NumberFormat>>());
+		}
+		ThreadLocal<NumberFormat> formats = localeFormats.get(currency);
+		if (formats == null) {
+			formats = localeFormats.computeIfAbsent(currency, c -> ThreadLocal.withInitial(() -> create(locale, currency)));
+		}
+		return formats;
+	}
+
+	/*
+	 * Builds a new formatter
+	 */
+	private static NumberFormat create(Locale locale, Currency currency) {
+		NumberFormat format = NumberFormat.getCurrencyInstance(locale);
+		format.setCurrency(currency);
+		format.setMinimumFractionDigits(Math.max(0, currency.getDefaultFractionDigits()));
+		format.setMaximumFractionDigits(Math.max(0, currency.getDefaultFractionDigits()));
+		return format;
+	}
+}
@@ -0,0 +1,96 @@
+package com.trendyol.currency;
+
+import java.util.Collections;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable table of the exchange rates from a base currency, i.e. the currency that the catalog prices are given in
+ * Tables are never modified, a new table is published through @{ExchangeRates} when the rates change
+ */
+public class ExchangeRateTable {
+
+	// Currency of the catalog prices
+	private final Currency baseCurrency;
+
+	// Units of each currency for a single unit of the base currency
+	private final Map<Currency, Double> rates;
+
+	// Version of the rates, e.g. the time they were published
+	private final long version;
+
+	/*
+	 * Constructor
+	 * The base currency is added with the rate 1 if it is missing
+	 */
+	public ExchangeRateTable(Currency baseCurrency, Map<Currency, Double> rates, long version) {
+
+		// Validate the rates once, so that the conversions do not need to
+		Map<Currency, Double> rateCopy = new HashMap<Currency, Double>(rates);
+		rateCopy.putIfAbsent(baseCurrency, 1.0);
+		for (Map.Entry<Currency, Double> entry : rateCopy.entrySet()) {
+			if (entry.getValue() == null || !(entry.getValue() > 0) || Double.isInfinite(entry.getValue())) {
+				throw new IllegalArgumentException("Invalid exchange rate for " + entry.getKey() + ": " + entry.getValue());
+			}
+		}
+
+		this.baseCurrency = baseCurrency;
+		this.rates = Collections.unmodifiableMap(rateCopy);
+		this.version = version;
+	}
+
+	/**
+	 * Returns the units of the given currency for a single unit of the base currency
+	 *
+	 * @param currency the currency
+	 * @return the rate
+	 * @throws IllegalArgumentException if the table has no rate for the currency
+	 */
+	public double getRate(Currency currency) {
+		Double rate = rates.get(currency);
+		if (rate == null) {
+			throw new IllegalArgumentException("No exchange rate for " + currency);
+		}
+		return rate;
+	}
+
+	/**
+	 * Converts an amount between two currencies of the table
+	 *
+	 * @param amount the amount
+	 * @param from the currency of the amount
+	 * @param to the target currency
+	 * @return the converted amount
+	 */
+	public double convert(double amount, Currency from, Currency to) {
+		if (from.equals(to)) {
+			return amount;
+		}
+		return amount / getRate(from) * getRate(to);
+	}
+
+	/*
+	 * Returns the currency of the catalog prices
+	 */
+	public Currency getBaseCurrency() {
+		return baseCurrency;
+	}
+
+	/*
+	 * Returns the rates of all currencies
+	 */
+	public Map<Currency, Double> getRates() {
+		return rates;
+	}
+
+	/*
+	 * Returns the version of the rates
+	 */
+	public long getVersion() {
+		return version;
+	}
+}
@@ -0,0 +1,62 @@
+package com.trendyol.currency;
+
+import java.util.Currency;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Holder of the current exchange rate table
+ * Readers take the table with a single volatile read and convert all figures of a cart with it, so a cart is never priced with mixed rates
+ * A new table replaces the current one atomically, older tables are rejected so that out-of-order updates can not roll the rates back
+ * A new table has to keep every currency of the current one, since markets of those currencies may be pricing with it
+ */
+public class ExchangeRates {
+
+	// Current table
+	private final AtomicReference<ExchangeRateTable> table;
+
+	/*
+	 * Constructor
+	 */
+	public ExchangeRates(ExchangeRateTable table) {
+		this.table = new AtomicReference<ExchangeRateTable>(table);
+	}
+
+	/*
+	 * Returns the current table
+	 */
+	public ExchangeRateTable getTable() {
+		return table.get();
+	}
+
+	/**
+	 * Publishes a new table, if it is newer than the current one and has the same base currency and all of its currencies
+	 *
+	 * @param newTable the new table
+	 * @return false if the table is older than the current one
+	 * @throws IllegalArgumentException if the base currency is different, or a currency of the current table is missing
+	 */
+	public boolean update(ExchangeRateTable newTable) {
+		while (true) {
+			ExchangeRateTable current = table.get();
+			if (!current.getBaseCurrency().equals(newTable.getBaseCurrency())) {
+				throw new IllegalArgumentException("Base currency can not change from " + current.getBaseCurrency() + " to " + newTable.getBaseCurrency());
+			}
+			if (!newTable.getRates().keySet().containsAll(current.getRates().keySet())) {
+				Set<Currency> missingCurrencies = new HashSet<Currency>(current.getRates().keySet());
+				missingCurrencies.removeAll(newTable.getRates().keySet());
+				throw new IllegalArgumentException("Exchange rates are missing for " + missingCurrencies);
+			}
+			if (newTable.getVersion() <= current.getVersion()) {
+				return false;
+			}
+			if (table.compareAndSet(current, newTable)) {
+				return true;
+			}
+		}
+	}
+}
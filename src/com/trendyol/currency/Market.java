@@ -0,0 +1,90 @@
+package com.trendyol.currency;
+
+import java.text.NumberFormat;
+import java.util.Currency;
+import java.util.Locale;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable pricing context of a market, i.e. the currency that a cart is priced in and the locale that it is rendered in
+ * Catalog prices are given in the base currency of the exchange rates and they are converted on the way out
+ */
+public class Market {
+
+	// Locale of the rendering
+	private final Locale locale;
+
+	// Currency of the cart
+	private final Currency currency;
+
+	// Exchange rates from the catalog currency
+	private final ExchangeRates exchangeRates;
+
+	// Per-thread formatters of the locale and the currency, resolved once for the market
+	private final ThreadLocal<NumberFormat> formats;
+
+	/*
+	 * Constructor
+	 * The currency has to be in the current rates, and the rates keep it in every later table, see @{ExchangeRates.update}
+	 */
+	public Market(Locale locale, Currency currency, ExchangeRates exchangeRates) {
+		exchangeRates.getTable().getRate(currency);
+		this.locale = locale;
+		this.currency = currency;
+		this.exchangeRates = exchangeRates;
+		this.formats = CurrencyFormats.formats(locale, currency);
+	}
+
+	/**
+	 * Returns the current rate from the catalog currency into the market currency
+	 * Callers converting several figures should take the rate once, so that all of them use the same table
+	 *
+	 * @return the rate
+	 */
+	public double getRate() {
+		return exchangeRates.getTable().getRate(currency);
+	}
+
+	/**
+	 * Converts an amount of the catalog currency into the market currency with the current rates
+	 *
+	 * @param amount the amount in the catalog currency
+	 * @return the amount in the market currency
+	 */
+	public double convert(double amount) {
+		return amount * getRate();
+	}
+
+	/**
+	 * Formats an amount of the market currency
+	 *
+	 * @param amount the amount in the market currency
+	 * @return the formatted amount
+	 */
+	public String format(double amount) {
+		return formats.get().format(amount);
+	}
+
+	/*
+	 * Returns the locale
+	 */
+	public Locale getLocale() {
+		return locale;
+	}
+
+	/*
+	 * Returns the currency
+	 */
+	public Currency getCurrency() {
+		return currency;
+	}
+
+	/*
+	 * Returns the exchange rates
+	 */
+	public ExchangeRates getExchangeRates() {
+		return exchangeRates;
+	}
+}
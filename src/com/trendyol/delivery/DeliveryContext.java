@@ -0,0 +1,80 @@
+package com.trendyol.delivery;
+
+import com.trendyol.ShoppingCart;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Inputs of a delivery cost calculation, computed once from a consistent cart state and shared by all delivery methods
+ * Methods that need more than these figures can still read a snapshot of the cart, see @{DeliveryMethod.quoteFor}
+ *
+ * The snapshot is taken together with the figures, and only if one of the methods reads it, see @{DeliveryMethod.readsCart}
+ * So quoting a live cart with methods that only use the figures does not make its next change copy the collections
+ */
+public class DeliveryContext {
+
+	// Snapshot of the cart, null if none of the methods reads it
+	private final ShoppingCart cart;
+
+	// Number of distinct categories and products in the cart
+	private final int deliveryCount;
+	private final int productCount;
+
+	// Total price after all discounts, and the tax on it
+	private final double totalAmountAfterDiscounts;
+	private final double tax;
+
+	/*
+	 * Constructor
+	 */
+	public DeliveryContext(ShoppingCart cart, int deliveryCount, int productCount, double totalAmountAfterDiscounts, double tax) {
+		this.cart = cart;
+		this.deliveryCount = deliveryCount;
+		this.productCount = productCount;
+		this.totalAmountAfterDiscounts = totalAmountAfterDiscounts;
+		this.tax = tax;
+	}
+
+	/*
+	 * Returns the cart snapshot
+	 */
+	public ShoppingCart getCart() {
+		return cart;
+	}
+
+	/*
+	 * Returns the number of distinct categories
+	 */
+	public int getDeliveryCount() {
+		return deliveryCount;
+	}
+
+	/*
+	 * Returns the number of distinct products
+	 */
+	public int getProductCount() {
+		return productCount;
+	}
+
+	/*
+	 * Returns the total price after all discounts
+	 */
+	public double getTotalAmountAfterDiscounts() {
+		return totalAmountAfterDiscounts;
+	}
+
+	/*
+	 * Returns the tax
+	 */
+	public double getTax() {
+		return tax;
+	}
+
+	/*
+	 * Checks if the cart is empty
+	 */
+	public boolean isEmpty() {
+		return productCount == 0;
+	}
+}
@@ -53,4 +53,32 @@ public class DeliveryCostCalculator implements DeliveryMethod {
 		// Return the total delivery cost
 		return deliveryCost;
 	}
+	
+	/**
+	 * Calculates the cost of delivery from the precomputed inputs of a cart
+	 * 
+	 * @param context the delivery inputs of the cart
+	 * @return the delivery cost
+	 */
+	@Override
+	public double quoteFor(DeliveryContext context) {
+		
+		// Handle the empty cart case
+		if (context.isEmpty()) {
+			return 0;
+		}
+		
+		// Same formula on the shared figures
+		return costPerDelivery * context.getDeliveryCount() + costPerProduct * context.getProductCount() + fixedCost;
+	}
+	
+	/**
+	 * Checks if @{quoteFor} reads the cart snapshot of the context
+	 * 
+	 * @return false, since only the shared figures are used
+	 */
+	@Override
+	public boolean readsCart() {
+		return false;
+	}
 }
@@ -20,4 +20,25 @@ public interface DeliveryMethod {
 	 */
 	double calculateFor(ShoppingCart cart);
 	
+	/**
+	 * Calculates the cost of delivery from the precomputed inputs of a cart
+	 * Methods that only depend on the cart figures should override this, the default reads the cart snapshot
+	 * 
+	 * @param context the delivery inputs of the cart
+	 * @return the delivery cost
+	 */
+	default double quoteFor(DeliveryContext context) {
+		return calculateFor(context.getCart());
+	}
+	
+	/**
+	 * Checks if @{quoteFor} reads the cart snapshot of the context
+	 * The snapshot is only taken for the quotes that contain such a method
+	 * 
+	 * @return true if the cart is read, by default
+	 */
+	default boolean readsCart() {
+		return true;
+	}
+	
 }
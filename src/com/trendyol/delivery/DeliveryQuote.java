@@ -0,0 +1,62 @@
+package com.trendyol.delivery;
+
+import java.util.Currency;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Price of a cart with one of the compared delivery methods
+ */
+public class DeliveryQuote {
+
+	// Quoted delivery method
+	private final DeliveryMethod deliveryMethod;
+
+	// Delivery cost of the method
+	private final double deliveryCost;
+
+	// Price of the cart with the delivery cost
+	private final double finalPrice;
+
+	// Currency of the prices, null for the catalog currency
+	private final Currency currency;
+
+	/*
+	 * Constructor
+	 */
+	public DeliveryQuote(DeliveryMethod deliveryMethod, double deliveryCost, double finalPrice, Currency currency) {
+		this.deliveryMethod = deliveryMethod;
+		this.deliveryCost = deliveryCost;
+		this.finalPrice = finalPrice;
+		this.currency = currency;
+	}
+
+	/*
+	 * Returns the delivery method
+	 */
+	public DeliveryMethod getDeliveryMethod() {
+		return deliveryMethod;
+	}
+
+	/*
+	 * Returns the delivery cost
+	 */
+	public double getDeliveryCost() {
+		return deliveryCost;
+	}
+
+	/*
+	 * Returns the price of the cart with the delivery cost
+	 */
+	public double getFinalPrice() {
+		return finalPrice;
+	}
+
+	/*
+	 * Returns the currency of the prices, or null if they are in the catalog currency
+	 */
+	public Currency getCurrency() {
+		return currency;
+	}
+}
@@ -0,0 +1,88 @@
+package com.trendyol.delivery;
+
+import java.util.Map;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Calculates the delivery cost from the estimated number of parcels and the total weight of the cart
+ *
+ * The estimate is read from the weight and volume totals that the cart keeps for each category, so its cost is
+ * proportional to the number of categories instead of the number of lines
+ * Note: I assumed each root category is shipped in its own parcels, e.g. from its own warehouse
+ */
+public class ParcelDeliveryCalculator implements DeliveryMethod {
+
+	// Cost factor for a single parcel
+	private final double costPerParcel;
+
+	// Cost factor for a single kilogram
+	private final double costPerKilogram;
+
+	// Fixed cost addition
+	private final double fixedCost;
+
+	// Capacity of a single parcel, in kilograms and liters
+	private final double maxParcelWeight;
+	private final double maxParcelVolume;
+
+	/*
+	 * Constructor
+	 */
+	public ParcelDeliveryCalculator(double costPerParcel, double costPerKilogram, double fixedCost, double maxParcelWeight, double maxParcelVolume) {
+		if (maxParcelWeight <= 0 || maxParcelVolume <= 0) {
+			throw new IllegalArgumentException("Invalid parcel capacity: " + maxParcelWeight + ", " + maxParcelVolume);
+		}
+		this.costPerParcel = costPerParcel;
+		this.costPerKilogram = costPerKilogram;
+		this.fixedCost = fixedCost;
+		this.maxParcelWeight = maxParcelWeight;
+		this.maxParcelVolume = maxParcelVolume;
+	}
+
+	/**
+	 * Calculates the cost of delivery for the given cart
+	 *
+	 * @param cart the shopping cart
+	 * @return the delivery cost
+	 */
+	@Override
+	public double calculateFor(ShoppingCart cart) {
+
+		// Handle invalid and empty cart cases
+		if (cart == null || cart.isEmpty()) {
+			return 0;
+		}
+
+		// Root categories hold the totals of their whole tree, so each product is counted once
+		int parcelCount = 0;
+		double totalWeight = 0;
+		for (Map.Entry<Category, CategoryInfoHolder> entry : cart.getCategoryTotals().entrySet()) {
+			if (entry.getKey().getParent() == null) {
+				CategoryInfoHolder holder = entry.getValue();
+				parcelCount += estimateParcels(holder.getTotalWeight(), holder.getTotalVolume());
+				totalWeight += holder.getTotalWeight();
+			}
+		}
+
+		return costPerParcel * parcelCount + costPerKilogram * totalWeight + fixedCost;
+	}
+
+	/**
+	 * Estimates the number of parcels needed for the given weight and volume
+	 * Products without physical attributes still need a parcel
+	 *
+	 * @param weight the total weight
+	 * @param volume the total volume
+	 * @return the parcel count
+	 */
+	public int estimateParcels(double weight, double volume) {
+		double parcels = Math.max(Math.ceil(weight / maxParcelWeight), Math.ceil(volume / maxParcelVolume));
+		return Math.max(1, (int) parcels);
+	}
+}
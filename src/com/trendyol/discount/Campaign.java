@@ -23,14 +23,28 @@ public class Campaign {
 	// Type of discount changes how the discount will be applied
 	private DiscountType discountType;
 
+	// Validity period as epoch milliseconds, unlimited by default
+	private long validFrom;
+	private long validUntil;
+
 	/*
 	 * Constructor
 	 */
 	public Campaign(Category category, double discount, int minItemCount, DiscountType discountType) {
+		this(category, discount, minItemCount, discountType, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/*
+	 * Extended constructor with the validity period, given as epoch milliseconds
+	 * The campaign is active from validFrom (inclusive) until validUntil (exclusive)
+	 */
+	public Campaign(Category category, double discount, int minItemCount, DiscountType discountType, long validFrom, long validUntil) {
 		this.category = category;
 		this.discount = discount;
 		this.minItemCount = minItemCount;
 		this.discountType = discountType;
+		this.validFrom = validFrom;
+		this.validUntil = validUntil;
 	}
 
 	/*
@@ -60,4 +74,25 @@ public class Campaign {
 	public DiscountType getDiscountType() {
 		return discountType;
 	}
+
+	/*
+	 * Returns the start of the validity period
+	 */
+	public long getValidFrom() {
+		return validFrom;
+	}
+
+	/*
+	 * Returns the end of the validity period
+	 */
+	public long getValidUntil() {
+		return validUntil;
+	}
+
+	/*
+	 * Checks if the campaign is valid at the given time
+	 */
+	public boolean isActiveAt(long time) {
+		return time >= validFrom && time < validUntil;
+	}
 }
@@ -0,0 +1,147 @@
+package com.trendyol.discount;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Columnar layout of a campaign list for carts with many campaigns
+ *
+ * Campaign thresholds and discounts are kept in primitive arrays, and the campaign categories are given dense ids
+ * An evaluation probes the category lookup table once per distinct category instead of once per campaign,
+ * then computes the eligibility and the discounts in a single branch-free loop over the arrays
+ *
+ * The discount of a campaign is eligible * (categoryTotal * rate / 100 + amount), where a rate campaign has no amount
+ * and an amount campaign has no rate, so the results are exactly the same as the ones of the per-campaign evaluation
+ */
+public class CampaignColumns {
+
+	// Minimum number of campaigns for which the columnar evaluation pays off
+	public static final int MIN_CAMPAIGN_COUNT = 16;
+
+	// Count of a category that is not in the cart, no campaign threshold can be below it
+	private static final int MISSING = Integer.MIN_VALUE;
+
+	// Distinct categories of the campaigns, indexed by their dense ids
+	private final Category[] categories;
+
+	// Campaign columns
+	private final int[] categoryIds;
+	private final int[] minItemCounts;
+	private final double[] rates;
+	private final double[] amounts;
+
+	/*
+	 * Constructor
+	 */
+	public CampaignColumns(List<Campaign> campaigns) {
+
+		int size = campaigns.size();
+		categoryIds = new int[size];
+		minItemCounts = new int[size];
+		rates = new double[size];
+		amounts = new double[size];
+
+		// Assign dense ids to the categories and fill the columns
+		Map<Category, Integer> ids = new HashMap<Category, Integer>();
+		for (int i = 0; i < size; i++) {
+			Campaign campaign = campaigns.get(i);
+			Integer id = ids.get(campaign.getCategory());
+			if (id == null) {
+				id = ids.size();
+				ids.put(campaign.getCategory(), id);
+			}
+			categoryIds[i] = id;
+			minItemCounts[i] = campaign.getMinItemCount();
+			if (campaign.getDiscountType() == DiscountType.RATE) {
+				rates[i] = campaign.getDiscount();
+			} else {
+				amounts[i] = campaign.getDiscount();
+			}
+		}
+
+		categories = new Category[ids.size()];
+		for (Map.Entry<Category, Integer> entry : ids.entrySet()) {
+			categories[entry.getValue()] = entry.getKey();
+		}
+	}
+
+	/**
+	 * Evaluates all campaigns on the given category lookup table
+	 *
+	 * @param categoryMapping the category lookup table of the cart
+	 * @param discounts the discount of each campaign is written into this array, must be at least as long as the campaign count
+	 * @param counts scratch array, must be at least as long as the category count
+	 * @param totals scratch array, must be at least as long as the category count
+	 * @return the total discount
+	 */
+	public double evaluate(Map<Category, CategoryInfoHolder> categoryMapping, double[] discounts, int[] counts, double[] totals) {
+
+		// Gather the aggregates of each distinct category into the dense arrays
+		for (int id = 0; id < categories.length; id++) {
+			CategoryInfoHolder holder = categoryMapping.get(categories[id]);
+			counts[id] = holder == null ? MISSING : holder.getProductCount();
+			totals[id] = holder == null ? 0 : holder.getTotalPrice();
+		}
+
+		// Eligibility and discounts without branches on the campaign data
+		double totalDiscount = 0;
+		for (int i = 0; i < categoryIds.length; i++) {
+			int id = categoryIds[i];
+			double eligible = counts[id] > minItemCounts[i] ? 1.0 : 0.0;
+			double discount = eligible * (totals[id] * rates[i] / 100 + amounts[i]);
+			discounts[i] = discount;
+			totalDiscount += discount;
+		}
+
+		return totalDiscount;
+	}
+
+	/**
+	 * Collects the share of each campaign category total that is given as discount, after an evaluation
+	 *
+	 * @param discounts the discounts written by the evaluation
+	 * @param totals the category totals written by the evaluation
+	 * @param ratioCategories the categories are written into this array, must be at least as long as the category count
+	 * @param ratios the share of each category is written into this array, must be at least as long as the category count
+	 * @return the number of categories written
+	 */
+	public int collectDiscountRatios(double[] discounts, double[] totals, Category[] ratioCategories, double[] ratios) {
+
+		// Sum the discounts of each category
+		for (int id = 0; id < categories.length; id++) {
+			ratioCategories[id] = categories[id];
+			ratios[id] = 0;
+		}
+		for (int i = 0; i < categoryIds.length; i++) {
+			ratios[categoryIds[i]] += discounts[i];
+		}
+
+		// Categories that are not in the cart give no discount
+		for (int id = 0; id < categories.length; id++) {
+			ratios[id] = totals[id] > 0 ? ratios[id] / totals[id] : 0;
+		}
+
+		return categories.length;
+	}
+
+	/*
+	 * Returns the number of campaigns
+	 */
+	public int getCampaignCount() {
+		return categoryIds.length;
+	}
+
+	/*
+	 * Returns the number of distinct campaign categories
+	 */
+	public int getCategoryCount() {
+		return categories.length;
+	}
+}
@@ -19,13 +19,27 @@ public class Coupon {
 	// Type of discount changes how the discount will be applied
 	private DiscountType discountType;
 
+	// Validity period as epoch milliseconds, unlimited by default
+	private long validFrom;
+	private long validUntil;
+
 	/*
 	 * Constructor
 	 */
 	public Coupon(double minPriceTotal, double discount, DiscountType discountType) {
+		this(minPriceTotal, discount, discountType, Long.MIN_VALUE, Long.MAX_VALUE);
+	}
+
+	/*
+	 * Extended constructor with the validity period, given as epoch milliseconds
+	 * The coupon is active from validFrom (inclusive) until validUntil (exclusive)
+	 */
+	public Coupon(double minPriceTotal, double discount, DiscountType discountType, long validFrom, long validUntil) {
 		this.minPriceTotal = minPriceTotal;
 		this.discount = discount;
 		this.discountType = discountType;
+		this.validFrom = validFrom;
+		this.validUntil = validUntil;
 	}
 
 	/*
@@ -48,4 +62,25 @@ public class Coupon {
 	public DiscountType getDiscountType() {
 		return discountType;
 	}
+
+	/*
+	 * Returns the start of the validity period
+	 */
+	public long getValidFrom() {
+		return validFrom;
+	}
+
+	/*
+	 * Returns the end of the validity period
+	 */
+	public long getValidUntil() {
+		return validUntil;
+	}
+
+	/*
+	 * Checks if the coupon is valid at the given time
+	 */
+	public boolean isActiveAt(long time) {
+		return time >= validFrom && time < validUntil;
+	}
 }
@@ -0,0 +1,285 @@
+package com.trendyol.discount;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable result of a single discount evaluation of a cart
+ * Holds the totals together with the allocation of the discounts on campaigns, categories and product lines
+ *
+ * Campaign discounts are allocated to the lines of the campaign category in proportion to the line totals
+ * Coupon discount is prorated on the lines in proportion to their totals after the campaign discounts
+ * Category allocations follow the category tree, i.e. a category receives the allocations of all lines below it
+ */
+public class DiscountBreakdown {
+
+	// Total price of the items before the discounts
+	private final double totalPrice;
+
+	// Total discount amounts
+	private final double campaignDiscount;
+	private final double couponDiscount;
+
+	// Discount amount of each applied campaign (zero for the ineffective ones)
+	private final Map<Campaign, Double> campaignDiscounts;
+
+	// Allocation of the discounts on the categories
+	private final Map<Category, Double> categoryCampaignDiscounts;
+	private final Map<Category, Double> categoryCouponDiscounts;
+
+	// Allocation of the discounts on the product lines
+	private final Map<Product, Double> lineCampaignDiscounts;
+	private final Map<Product, Double> lineCouponDiscounts;
+
+	/*
+	 * Constructor
+	 */
+	private DiscountBreakdown(double totalPrice, double campaignDiscount, double couponDiscount, Map<Campaign, Double> campaignDiscounts,
+			Map<Category, Double> categoryCampaignDiscounts, Map<Category, Double> categoryCouponDiscounts,
+			Map<Product, Double> lineCampaignDiscounts, Map<Product, Double> lineCouponDiscounts) {
+		this.totalPrice = totalPrice;
+		this.campaignDiscount = campaignDiscount;
+		this.couponDiscount = couponDiscount;
+		this.campaignDiscounts = Collections.unmodifiableMap(campaignDiscounts);
+		this.categoryCampaignDiscounts = Collections.unmodifiableMap(categoryCampaignDiscounts);
+		this.categoryCouponDiscounts = Collections.unmodifiableMap(categoryCouponDiscounts);
+		this.lineCampaignDiscounts = Collections.unmodifiableMap(lineCampaignDiscounts);
+		this.lineCouponDiscounts = Collections.unmodifiableMap(lineCouponDiscounts);
+	}
+
+	/**
+	 * Evaluates the campaigns and the coupon on the given cart state
+	 *
+	 * @param items the products in the cart and their counts
+	 * @param categoryMapping the category lookup table of the cart
+	 * @param campaigns the applied campaigns
+	 * @param coupon the applied coupon, can be null
+	 * @param totalPrice the total price of the items
+	 * @return the breakdown
+	 */
+	public static DiscountBreakdown calculate(Map<Product, Integer> items, Map<Category, CategoryInfoHolder> categoryMapping,
+			List<Campaign> campaigns, Coupon coupon, double totalPrice) {
+		return calculate(items, categoryMapping, campaigns, null, coupon, totalPrice);
+	}
+
+	/**
+	 * Evaluates the campaigns and the coupon on the given cart state
+	 * If the columnar layout of the campaigns is given, the campaigns are evaluated through it
+	 *
+	 * @param items the products in the cart and their counts
+	 * @param categoryMapping the category lookup table of the cart
+	 * @param campaigns the applied campaigns
+	 * @param columns the columnar layout of the same campaigns, can be null
+	 * @param coupon the applied coupon, can be null
+	 * @param totalPrice the total price of the items
+	 * @return the breakdown
+	 */
+	public static DiscountBreakdown calculate(Map<Product, Integer> items, Map<Category, CategoryInfoHolder> categoryMapping,
+			List<Campaign> campaigns, CampaignColumns columns, Coupon coupon, double totalPrice) {
+
+		// Evaluate the campaigns in bulk when the columnar layout is available
+		double[] columnDiscounts = null;
+		if (columns != null) {
+			columnDiscounts = new double[columns.getCampaignCount()];
+			int categoryCount = columns.getCategoryCount();
+			columns.evaluate(categoryMapping, columnDiscounts, new int[categoryCount], new double[categoryCount]);
+		}
+
+		// Each campaign will be applied individually to calculate the total discount
+		// Meanwhile, the share of each category total that is given as discount is collected for the line allocation
+		double totalCampaignDiscount = 0;
+		Map<Campaign, Double> campaignDiscounts = new LinkedHashMap<Campaign, Double>();
+		Map<Category, Double> discountRatios = new HashMap<Category, Double>();
+		for (int i = 0; i < campaigns.size(); i++) {
+
+			// Take the discount from the columns, or evaluate the campaign itself
+			Campaign campaign = campaigns.get(i);
+			Category category = campaign.getCategory();
+			double discount = columnDiscounts != null ? columnDiscounts[i] : calculateCampaignDiscount(campaign, categoryMapping.get(category));
+
+			// Lines of the category will receive the discount in proportion to their totals
+			if (discount != 0) {
+				double categoryTotal = categoryMapping.get(category).getTotalPrice();
+				if (categoryTotal > 0) {
+					discountRatios.merge(category, discount / categoryTotal, Double::sum);
+				}
+			}
+
+			totalCampaignDiscount += discount;
+			campaignDiscounts.merge(campaign, discount, Double::sum);
+		}
+
+		// Coupon is evaluated on the price after the campaigns
+		double priceAfterCampaigns = totalPrice - totalCampaignDiscount;
+		double totalCouponDiscount = calculateCouponDiscount(coupon, priceAfterCampaigns);
+		double couponRatio = priceAfterCampaigns > 0 ? totalCouponDiscount / priceAfterCampaigns : 0;
+
+		// Allocate the discounts on the lines and on the categories above them
+		Map<Category, Double> categoryCampaignDiscounts = new HashMap<Category, Double>();
+		Map<Category, Double> categoryCouponDiscounts = new HashMap<Category, Double>();
+		Map<Product, Double> lineCampaignDiscounts = new HashMap<Product, Double>();
+		Map<Product, Double> lineCouponDiscounts = new HashMap<Product, Double>();
+		for (Map.Entry<Product, Integer> entry : items.entrySet()) {
+
+			// Collect the campaign discount of the line from all of its categories
+			Product product = entry.getKey();
+			double lineTotal = product.getPrice() * entry.getValue();
+			double lineCampaignDiscount = 0;
+			for (Category category = product.getCategory(); category != null; category = category.getParent()) {
+				Double ratio = discountRatios.get(category);
+				if (ratio != null) {
+					lineCampaignDiscount += lineTotal * ratio;
+				}
+			}
+
+			// Coupon is prorated on what is left after the campaigns
+			double lineCouponDiscount = (lineTotal - lineCampaignDiscount) * couponRatio;
+			lineCampaignDiscounts.put(product, lineCampaignDiscount);
+			lineCouponDiscounts.put(product, lineCouponDiscount);
+
+			// Roll the line allocations up the category tree
+			for (Category category = product.getCategory(); category != null; category = category.getParent()) {
+				categoryCampaignDiscounts.merge(category, lineCampaignDiscount, Double::sum);
+				categoryCouponDiscounts.merge(category, lineCouponDiscount, Double::sum);
+			}
+		}
+
+		return new DiscountBreakdown(totalPrice, totalCampaignDiscount, totalCouponDiscount, campaignDiscounts,
+				categoryCampaignDiscounts, categoryCouponDiscounts, lineCampaignDiscounts, lineCouponDiscounts);
+	}
+
+	/**
+	 * Calculates the discount of a single campaign
+	 *
+	 * @param campaign the campaign
+	 * @param holder the aggregate of the campaign category, can be null if the category is not in the cart
+	 * @return the discount
+	 */
+	public static double calculateCampaignDiscount(Campaign campaign, CategoryInfoHolder holder) {
+
+		// Campaign will be applied only when there are enough items on the corresponding category
+		// Note: Overlaps on the same/parent categories are ignored
+		if (holder != null && holder.getProductCount() > campaign.getMinItemCount()) {
+
+			// Discount amount is depending on the discount type
+			if (campaign.getDiscountType() == DiscountType.RATE) {
+				return holder.getTotalPrice() * campaign.getDiscount() / 100;
+			}
+			return campaign.getDiscount();
+		}
+
+		// No discount will be applied
+		return 0;
+	}
+
+	/**
+	 * Calculates the coupon discount
+	 *
+	 * @param coupon the coupon, can be null
+	 * @param priceAfterCampaigns the total price after the campaign discounts
+	 * @return the discount
+	 */
+	public static double calculateCouponDiscount(Coupon coupon, double priceAfterCampaigns) {
+
+		// Only apply if a coupon is applied
+		if (coupon != null) {
+
+			// Check coupon validity
+			double minPriceTotal = coupon.getMinPriceTotal();
+			if (priceAfterCampaigns >= minPriceTotal || Math.abs(priceAfterCampaigns - minPriceTotal) < ShoppingCart.EPSILON) {
+
+				// For DiscountType.RATE, calculate the discount by percentage
+				if (coupon.getDiscountType() == DiscountType.RATE) {
+					return priceAfterCampaigns * coupon.getDiscount() / 100;
+				}
+
+				// Otherwise, return the discount amount directly
+				return coupon.getDiscount();
+			}
+		}
+
+		// No discount will be applied
+		return 0;
+	}
+
+	/*
+	 * Returns the total price before the discounts
+	 */
+	public double getTotalPrice() {
+		return totalPrice;
+	}
+
+	/*
+	 * Returns the total campaign discount
+	 */
+	public double getCampaignDiscount() {
+		return campaignDiscount;
+	}
+
+	/*
+	 * Returns the coupon discount
+	 */
+	public double getCouponDiscount() {
+		return couponDiscount;
+	}
+
+	/*
+	 * Returns the total price after all discounts are applied
+	 */
+	public double getTotalAmountAfterDiscounts() {
+		return totalPrice - campaignDiscount - couponDiscount;
+	}
+
+	/*
+	 * Returns the discount amount of each applied campaign
+	 */
+	public Map<Campaign, Double> getCampaignDiscounts() {
+		return campaignDiscounts;
+	}
+
+	/*
+	 * Returns the campaign discounts allocated on each category
+	 */
+	public Map<Category, Double> getCategoryCampaignDiscounts() {
+		return categoryCampaignDiscounts;
+	}
+
+	/*
+	 * Returns the coupon discount allocated on each category
+	 */
+	public Map<Category, Double> getCategoryCouponDiscounts() {
+		return categoryCouponDiscounts;
+	}
+
+	/*
+	 * Returns the campaign discounts allocated on each product line
+	 */
+	public Map<Product, Double> getLineCampaignDiscounts() {
+		return lineCampaignDiscounts;
+	}
+
+	/*
+	 * Returns the coupon discount allocated on each product line
+	 */
+	public Map<Product, Double> getLineCouponDiscounts() {
+		return lineCouponDiscounts;
+	}
+
+	/*
+	 * Returns the total discount allocated on the given product line
+	 */
+	public double getLineDiscount(Product product) {
+		return lineCampaignDiscounts.getOrDefault(product, 0.0) + lineCouponDiscounts.getOrDefault(product, 0.0);
+	}
+}
@@ -0,0 +1,74 @@
+package com.trendyol.discount;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tells how far a cart is from unlocking a campaign or a coupon, e.g. "add 1 more book to get 20% off"
+ */
+public class Nudge {
+
+	// Locked campaign, null for a coupon nudge
+	private final Campaign campaign;
+
+	// Locked coupon, null for a campaign nudge
+	private final Coupon coupon;
+
+	// Number of items to add on the campaign category
+	private final int itemGap;
+
+	// Amount to add on the price after the campaign discounts
+	private final double priceGap;
+
+	/*
+	 * Constructor
+	 */
+	private Nudge(Campaign campaign, Coupon coupon, int itemGap, double priceGap) {
+		this.campaign = campaign;
+		this.coupon = coupon;
+		this.itemGap = itemGap;
+		this.priceGap = priceGap;
+	}
+
+	/*
+	 * Creates the nudge of a campaign that needs the given number of items more
+	 */
+	public static Nudge forCampaign(Campaign campaign, int itemGap) {
+		return new Nudge(campaign, null, itemGap, 0);
+	}
+
+	/*
+	 * Creates the nudge of a coupon that needs the given amount more
+	 */
+	public static Nudge forCoupon(Coupon coupon, double priceGap) {
+		return new Nudge(null, coupon, 0, priceGap);
+	}
+
+	/*
+	 * Returns the locked campaign, if the nudge is for a campaign
+	 */
+	public Campaign getCampaign() {
+		return campaign;
+	}
+
+	/*
+	 * Returns the locked coupon, if the nudge is for a coupon
+	 */
+	public Coupon getCoupon() {
+		return coupon;
+	}
+
+	/*
+	 * Returns the number of items to add on the campaign category
+	 */
+	public int getItemGap() {
+		return itemGap;
+	}
+
+	/*
+	 * Returns the amount to add for the coupon
+	 */
+	public double getPriceGap() {
+		return priceGap;
+	}
+}
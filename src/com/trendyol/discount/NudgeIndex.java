@@ -0,0 +1,159 @@
+package com.trendyol.discount;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Keeps the locked campaigns of a cart ordered by the number of items missing to unlock them
+ *
+ * The index is updated on every change of a category aggregate, touching only the campaigns of that category
+ * Item counts of a cart only grow, so a campaign that is unlocked once leaves the index for good
+ * Reading the nearest campaigns walks the head of the ordered set, i.e. O(k) for k campaigns
+ */
+public class NudgeIndex {
+
+	// Orders the entries by their gaps, then by the order they were added
+	private static final Comparator<Entry> ORDER = Comparator.<Entry>comparingInt(entry -> entry.gap).thenComparingLong(entry -> entry.order);
+
+	// Locked campaigns of each category
+	private final Map<Category, List<Entry>> entriesByCategory = new HashMap<Category, List<Entry>>();
+
+	// Locked campaigns, nearest first
+	private final TreeSet<Entry> entriesByGap = new TreeSet<Entry>(ORDER);
+
+	// Campaigns that are already indexed, locked or not, so that a campaign applied twice is nudged once
+	private final Map<Campaign, Boolean> indexed = new IdentityHashMap<Campaign, Boolean>();
+
+	// Insertion counter for the tie breaks
+	private long nextOrder = 0;
+
+	/*
+	 * Constructor, indexes the given campaigns on the given category lookup table
+	 */
+	public NudgeIndex(List<Campaign> campaigns, Map<Category, CategoryInfoHolder> categoryMapping) {
+		for (Campaign campaign : campaigns) {
+			addCampaign(campaign, categoryMapping.get(campaign.getCategory()));
+		}
+	}
+
+	/**
+	 * Adds a campaign to the index, if it is locked
+	 *
+	 * @param campaign the campaign
+	 * @param holder the aggregate of the campaign category, can be null if the category is not in the cart
+	 */
+	public void addCampaign(Campaign campaign, CategoryInfoHolder holder) {
+
+		// Every campaign is indexed once
+		if (indexed.put(campaign, Boolean.TRUE) != null) {
+			return;
+		}
+
+		// Unlocked campaigns do not need a nudge
+		int gap = gapOf(campaign, holder);
+		if (gap > 0) {
+			Entry entry = new Entry(campaign, gap, nextOrder++);
+			entriesByCategory.computeIfAbsent(campaign.getCategory(), category -> new ArrayList<Entry>()).add(entry);
+			entriesByGap.add(entry);
+		}
+	}
+
+	/**
+	 * Updates the campaigns of a category after its aggregate changed
+	 *
+	 * @param category the category
+	 * @param holder the new aggregate of the category
+	 */
+	public void update(Category category, CategoryInfoHolder holder) {
+
+		// Only the locked campaigns of the category are affected
+		List<Entry> entries = entriesByCategory.get(category);
+		if (entries == null) {
+			return;
+		}
+
+		// Reposition each campaign, dropping the unlocked ones
+		for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			entriesByGap.remove(entry);
+			entry.gap = gapOf(entry.campaign, holder);
+			if (entry.gap > 0) {
+				entriesByGap.add(entry);
+			} else {
+				iterator.remove();
+			}
+		}
+
+		if (entries.isEmpty()) {
+			entriesByCategory.remove(category);
+		}
+	}
+
+	/**
+	 * Returns the nearest locked campaigns
+	 *
+	 * @param count the maximum number of campaigns
+	 * @return the nudges, nearest first
+	 */
+	public List<Nudge> nearest(int count) {
+
+		// Nothing to collect
+		if (count <= 0 || entriesByGap.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		// Walk the head of the ordered set
+		List<Nudge> nudges = new ArrayList<Nudge>(Math.min(count, entriesByGap.size()));
+		for (Iterator<Entry> iterator = entriesByGap.iterator(); iterator.hasNext() && nudges.size() < count;) {
+			Entry entry = iterator.next();
+			nudges.add(Nudge.forCampaign(entry.campaign, entry.gap));
+		}
+		return nudges;
+	}
+
+	/*
+	 * Returns the number of items missing to unlock a campaign, zero or less if it is unlocked
+	 * Campaigns are unlocked when the item count exceeds the minimum item count, see @{DiscountBreakdown.calculateCampaignDiscount}
+	 */
+	private static int gapOf(Campaign campaign, CategoryInfoHolder holder) {
+		int productCount = holder == null ? 0 : holder.getProductCount();
+		return campaign.getMinItemCount() + 1 - productCount;
+	}
+
+	/*
+	 * A locked campaign and its gap
+	 */
+	private static class Entry {
+
+		// Locked campaign
+		private final Campaign campaign;
+
+		// Number of items missing
+		private int gap;
+
+		// Insertion order for the tie breaks
+		private final long order;
+
+		/*
+		 * Constructor
+		 */
+		private Entry(Campaign campaign, int gap, long order) {
+			this.campaign = campaign;
+			this.gap = gap;
+			this.order = order;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.trendyol.discount;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * A period of time in which the set of scheduled campaigns does not change
+ * Epochs are created by the PromotionScheduler, only the time of the current epoch is moved forward by the scheduler,
+ * and only while none of the registered promotions starts or ends, see @{PromotionScheduler.advance}
+ */
+public class PromotionEpoch {
+
+	// Period of the epoch, start is inclusive and end is exclusive
+	private final long startTime;
+	private final long endTime;
+
+	// Time that the validity of the applied promotions is checked at
+	private volatile long time;
+
+	// Scheduled campaigns that are active during the epoch, collected from the index of the scheduler on the first read
+	private final Supplier<List<Campaign>> campaignResolver;
+	private volatile List<Campaign> campaigns;
+
+	/*
+	 * Constructor
+	 */
+	PromotionEpoch(long startTime, long endTime, long time, Supplier<List<Campaign>> campaignResolver) {
+		this.startTime = startTime;
+		this.endTime = endTime;
+		this.time = time;
+		this.campaignResolver = campaignResolver;
+	}
+
+	/*
+	 * Returns the start of the epoch
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	/*
+	 * Returns the end of the epoch, which is the start of the next one
+	 */
+	public long getEndTime() {
+		return endTime;
+	}
+
+	/*
+	 * Returns the time that the validity of the applied promotions is checked at
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/*
+	 * Moves the time forward, while the validity of the registered promotions stays the same
+	 */
+	void setTime(long time) {
+		this.time = time;
+	}
+
+	/*
+	 * Returns the scheduled campaigns that are active during the epoch, in their registration order
+	 */
+	public List<Campaign> getCampaigns() {
+
+		// Two threads may resolve the same list, both results are equal
+		List<Campaign> result = campaigns;
+		if (result == null) {
+			result = campaignResolver.get();
+			campaigns = result;
+		}
+		return result;
+	}
+
+	/**
+	 * Checks if the campaign is active at the time of the epoch
+	 * The result stays the same as long as the epoch is used, if the campaign is registered, see @{PromotionScheduler.register}
+	 *
+	 * @param campaign the campaign
+	 * @return active status
+	 */
+	public boolean isActive(Campaign campaign) {
+		return campaign.isActiveAt(time);
+	}
+
+	/**
+	 * Checks if the coupon is valid at the time of the epoch
+	 *
+	 * @param coupon the coupon
+	 * @return active status
+	 */
+	public boolean isActive(Coupon coupon) {
+		return coupon.isActiveAt(time);
+	}
+}
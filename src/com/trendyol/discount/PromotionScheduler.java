@@ -0,0 +1,336 @@
+package com.trendyol.discount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Activates and deactivates the campaigns and coupons according to their validity periods
+ *
+ * The validity periods of the scheduled campaigns are indexed into a timeline once: every start and end time is a boundary,
+ * and each interval between two boundaries is an epoch in which no scheduled campaign starts or ends
+ * Resolving the epoch of a given time is a binary search on the boundaries
+ *
+ * The scheduled campaigns are kept in an interval index (a segment tree over the epochs), so the index takes
+ * O(n log n) memory however much the periods overlap, and an epoch collects its campaigns on the first read in O(log n + k)
+ *
+ * Promotions that are applied to single carts are registered with the scheduler, see @{PromotionScheduler.register}
+ * They are not applied to the other carts and they do not change the timeline, only their future start and end times are kept,
+ * so that advancing past one of them switches to a new epoch. Epochs check the applied promotions at their time,
+ * which the scheduler moves forward as long as no boundary is passed, see @{PromotionEpoch.isActive}
+ *
+ * Carts only keep a reference to the scheduler, so advancing to the next epoch is a single
+ * reference swap for all carts instead of adding and removing promotions on each of them
+ */
+public class PromotionScheduler {
+
+	// Scheduled campaigns, in their registration order
+	private final List<Campaign> campaigns;
+
+	// Boundaries and campaign index of the scheduled campaigns
+	private final Timeline timeline;
+
+	// Start and end times of the registered promotions that are after the current time
+	// Boundaries are dropped once the time passes them, up to the pruned time
+	private final TreeSet<Long> times = new TreeSet<Long>();
+	private long prunedTime;
+
+	// Epoch that the carts currently price with, and the time it was resolved for
+	private volatile PromotionEpoch currentEpoch;
+	private long currentTime;
+
+	/*
+	 * Constructor
+	 * Scheduled campaigns are applied to all carts that use the scheduler during their validity periods
+	 * Scheduled coupons still have to be applied to a cart, they are only registered up front
+	 */
+	public PromotionScheduler(List<Campaign> campaigns, List<Coupon> coupons, long now) {
+
+		// Collect the boundaries of the campaign periods, the unlimited ends are not boundaries
+		this.campaigns = new ArrayList<Campaign>(campaigns);
+		TreeSet<Long> campaignTimes = new TreeSet<Long>();
+		for (Campaign campaign : campaigns) {
+			addBoundaries(campaignTimes, campaign.getValidFrom(), campaign.getValidUntil(), Long.MIN_VALUE);
+		}
+		timeline = new Timeline(this.campaigns, campaignTimes);
+
+		// Only the future ends of the coupons are kept
+		currentTime = now;
+		prunedTime = now;
+		for (Coupon coupon : coupons) {
+			addBoundaries(times, coupon.getValidFrom(), coupon.getValidUntil(), now);
+		}
+		currentEpoch = epochAt(now);
+	}
+
+	/**
+	 * Returns a new epoch of the given time in O(log n)
+	 *
+	 * @param time the time as epoch milliseconds
+	 * @return the epoch
+	 */
+	public PromotionEpoch epochAt(long time) {
+		return timeline.epochAt(time);
+	}
+
+	/**
+	 * Switches all carts that use the scheduler to the epoch of the given time
+	 * The current epoch is kept if the time moves forward without passing any boundary, so the carts keep their cached results
+	 *
+	 * @param now the current time as epoch milliseconds
+	 * @return true if the epoch has changed
+	 */
+	public synchronized boolean advance(long now) {
+
+		// Boundaries may have been dropped before the current time if it moved back, the epoch is not kept over them
+		PromotionEpoch epoch = currentEpoch;
+		Long nextTime = times.higher(currentTime);
+		boolean kept = now >= currentTime && currentTime >= prunedTime && (nextTime == null || nextTime > now)
+				&& timeline.indexAt(now) == timeline.indexAt(currentTime);
+		currentTime = now;
+
+		// Passed boundaries are not needed anymore
+		if (now > prunedTime) {
+			times.headSet(now, true).clear();
+			prunedTime = now;
+		}
+
+		if (kept) {
+			epoch.setTime(now);
+			return false;
+		}
+		currentEpoch = epochAt(now);
+		return true;
+	}
+
+	/**
+	 * Registers the validity period of a campaign that is applied to a single cart
+	 * The campaign is not applied to the other carts
+	 *
+	 * @param campaign the campaign
+	 * @return true if a new boundary is kept
+	 */
+	public boolean register(Campaign campaign) {
+		return register(campaign.getValidFrom(), campaign.getValidUntil());
+	}
+
+	/**
+	 * Registers the validity period of a coupon that is applied to a cart
+	 *
+	 * @param coupon the coupon
+	 * @return true if a new boundary is kept
+	 */
+	public boolean register(Coupon coupon) {
+		return register(coupon.getValidFrom(), coupon.getValidUntil());
+	}
+
+	/*
+	 * Keeps the future ends of a validity period, so that the current epoch ends on them
+	 * The current epoch is kept, since the validity of the promotion at the current time is checked at the time of the epoch
+	 */
+	private synchronized boolean register(long validFrom, long validUntil) {
+		return addBoundaries(times, validFrom, validUntil, currentTime);
+	}
+
+	/*
+	 * Returns the current epoch
+	 */
+	public PromotionEpoch getCurrentEpoch() {
+		return currentEpoch;
+	}
+
+	/*
+	 * Returns the time that the current epoch was resolved for
+	 */
+	public synchronized long getCurrentTime() {
+		return currentTime;
+	}
+
+	/*
+	 * Returns the scheduled campaigns, in their registration order
+	 */
+	public List<Campaign> getCampaigns() {
+		return Collections.unmodifiableList(campaigns);
+	}
+
+	/*
+	 * Returns the number of epochs on the timeline of the scheduled campaigns
+	 */
+	public int getEpochCount() {
+		return timeline.epochCount;
+	}
+
+	/*
+	 * Returns the number of boundaries of the registered promotions that are kept
+	 */
+	public synchronized int getBoundaryCount() {
+		return times.size();
+	}
+
+	/*
+	 * Adds the ends of a validity period that are after the given time into the boundaries, and returns true if any of them is new
+	 * The unlimited ends are never after the given time
+	 */
+	private static boolean addBoundaries(TreeSet<Long> times, long validFrom, long validUntil, long after) {
+		if (validFrom >= validUntil) {
+			return false;
+		}
+		boolean added = false;
+		if (validFrom > after && validFrom != Long.MAX_VALUE) {
+			added |= times.add(validFrom);
+		}
+		if (validUntil > after && validUntil != Long.MAX_VALUE) {
+			added |= times.add(validUntil);
+		}
+		return added;
+	}
+
+	/*
+	 * Boundaries, epochs and the campaign index of the scheduled campaigns
+	 */
+	private static class Timeline {
+
+		// Sorted boundaries, epoch i covers the time between boundaries[i - 1] and boundaries[i]
+		private final long[] boundaries;
+		private final int epochCount;
+
+		// Campaigns of the epochs, collected on the first read
+		private final AtomicReferenceArray<List<Campaign>> resolvedCampaigns;
+
+		// Segment tree over the epochs, leaves start at index size and each node holds the campaign indexes that cover all of its epochs
+		private final int size;
+		private final int[][] nodes;
+
+		// Scheduled campaigns
+		private final List<Campaign> campaigns;
+
+		/*
+		 * Constructor
+		 */
+		private Timeline(List<Campaign> campaigns, TreeSet<Long> times) {
+
+			this.campaigns = campaigns;
+			boundaries = new long[times.size()];
+			int i = 0;
+			for (long time : times) {
+				boundaries[i++] = time;
+			}
+
+			// Each campaign covers a range of epochs, which is split into O(log n) nodes of the tree
+			// Nodes are counted first, so that they can be filled into exact arrays
+			epochCount = boundaries.length + 1;
+			size = Integer.highestOneBit(epochCount) == epochCount ? epochCount : Integer.highestOneBit(epochCount) << 1;
+			int[] counts = new int[2 * size];
+			for (Campaign campaign : campaigns) {
+				visit(campaign, counts, null, 0);
+			}
+			nodes = new int[2 * size][];
+			for (i = 0; i < nodes.length; i++) {
+				nodes[i] = new int[counts[i]];
+			}
+			Arrays.fill(counts, 0);
+			for (i = 0; i < campaigns.size(); i++) {
+				visit(campaigns.get(i), counts, nodes, i);
+			}
+			resolvedCampaigns = new AtomicReferenceArray<List<Campaign>>(epochCount);
+		}
+
+		/*
+		 * Visits the nodes that the epochs of the campaign are split into, counting them or filling the campaign index into them
+		 */
+		private void visit(Campaign campaign, int[] counts, int[][] nodes, int campaignIndex) {
+
+			// Skip the empty periods
+			if (campaign.getValidFrom() >= campaign.getValidUntil()) {
+				return;
+			}
+
+			// The range of the epochs, unlimited ends reach the first and the last epochs
+			int low = campaign.getValidFrom() == Long.MIN_VALUE ? 0 : indexOf(campaign.getValidFrom());
+			int high = campaign.getValidUntil() == Long.MAX_VALUE ? boundaries.length + 1 : indexOf(campaign.getValidUntil());
+			for (low += size, high += size; low < high; low >>= 1, high >>= 1) {
+				if ((low & 1) == 1) {
+					add(low++, counts, nodes, campaignIndex);
+				}
+				if ((high & 1) == 1) {
+					add(--high, counts, nodes, campaignIndex);
+				}
+			}
+		}
+
+		/*
+		 * Counts or fills a node
+		 */
+		private static void add(int node, int[] counts, int[][] nodes, int campaignIndex) {
+			if (nodes != null) {
+				nodes[node][counts[node]] = campaignIndex;
+			}
+			counts[node]++;
+		}
+
+		/*
+		 * Returns the index of the epoch that starts on the given boundary
+		 */
+		private int indexOf(long boundary) {
+			return Arrays.binarySearch(boundaries, boundary) + 1;
+		}
+
+		/*
+		 * Returns the index of the epoch of the given time, which is the number of boundaries that are not after it
+		 */
+		private int indexAt(long time) {
+			int index = Arrays.binarySearch(boundaries, time);
+			return index >= 0 ? index + 1 : -index - 1;
+		}
+
+		/*
+		 * Returns a new epoch of the given time, epochs of the same interval share their campaigns
+		 */
+		private PromotionEpoch epochAt(long time) {
+			int epochIndex = indexAt(time);
+			long startTime = epochIndex == 0 ? Long.MIN_VALUE : boundaries[epochIndex - 1];
+			long endTime = epochIndex == boundaries.length ? Long.MAX_VALUE : boundaries[epochIndex];
+			return new PromotionEpoch(startTime, endTime, time, () -> campaignsOf(epochIndex));
+		}
+
+		/*
+		 * Returns the campaigns of an epoch, two threads may collect the same list and both results are equal
+		 */
+		private List<Campaign> campaignsOf(int epochIndex) {
+			List<Campaign> result = resolvedCampaigns.get(epochIndex);
+			if (result == null) {
+				result = collectCampaigns(epochIndex);
+				resolvedCampaigns.set(epochIndex, result);
+			}
+			return result;
+		}
+
+		/*
+		 * Collects the campaigns of an epoch from the nodes on the path to its leaf, in the registration order
+		 */
+		private List<Campaign> collectCampaigns(int epochIndex) {
+			int count = 0;
+			for (int node = epochIndex + size; node > 0; node >>= 1) {
+				count += nodes[node].length;
+			}
+			int[] indexes = new int[count];
+			count = 0;
+			for (int node = epochIndex + size; node > 0; node >>= 1) {
+				System.arraycopy(nodes[node], 0, indexes, count, nodes[node].length);
+				count += nodes[node].length;
+			}
+			Arrays.sort(indexes);
+			List<Campaign> result = new ArrayList<Campaign>(count);
+			for (int index : indexes) {
+				result.add(campaigns.get(index));
+			}
+			return Collections.unmodifiableList(result);
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.trendyol.event;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Signifies what a cart does when the consumer of the event stream falls behind
+ */
+public enum BackPressurePolicy {
+
+	// Events are dropped while the buffer is full, the cart never waits
+	DROP,
+
+	// Only a sample of the events is published while the buffer is more than half full, the rest is dropped
+	// Events are dropped while the buffer is full, the cart never waits
+	SAMPLE,
+
+	// The cart waits until there is space in the buffer, no event is lost
+	// Note: A slow consumer slows down the cart writes, use only when every event is needed
+	BLOCK
+
+}
@@ -0,0 +1,94 @@
+package com.trendyol.event;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * A change on a shopping cart
+ * Events are slots of the ring buffer and they are reused once consumed, so nothing is allocated on the write path
+ * Handlers must copy the values they want to keep after the callback returns
+ */
+public class CartEvent {
+
+	// Type of the change
+	private CartEventType type;
+
+	// Changed cart
+	private ShoppingCart cart;
+
+	// Details of the change, only the ones related to the type are set
+	private Product product;
+	private int count;
+	private Campaign campaign;
+	private Coupon coupon;
+
+	// Time of the change as epoch milliseconds
+	private long timestamp;
+
+	/*
+	 * Fills the slot with a new change
+	 */
+	void set(CartEventType type, ShoppingCart cart, Product product, int count, Campaign campaign, Coupon coupon, long timestamp) {
+		this.type = type;
+		this.cart = cart;
+		this.product = product;
+		this.count = count;
+		this.campaign = campaign;
+		this.coupon = coupon;
+		this.timestamp = timestamp;
+	}
+
+	/*
+	 * Returns the type of the change
+	 */
+	public CartEventType getType() {
+		return type;
+	}
+
+	/*
+	 * Returns the changed cart
+	 */
+	public ShoppingCart getCart() {
+		return cart;
+	}
+
+	/*
+	 * Returns the added product
+	 */
+	public Product getProduct() {
+		return product;
+	}
+
+	/*
+	 * Returns the added count, or the number of merged lines
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/*
+	 * Returns the applied campaign
+	 */
+	public Campaign getCampaign() {
+		return campaign;
+	}
+
+	/*
+	 * Returns the applied coupon
+	 */
+	public Coupon getCoupon() {
+		return coupon;
+	}
+
+	/*
+	 * Returns the time of the change
+	 */
+	public long getTimestamp() {
+		return timestamp;
+	}
+}
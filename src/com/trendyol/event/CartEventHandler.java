@@ -0,0 +1,20 @@
+package com.trendyol.event;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * An interface for the consumers of the cart events
+ */
+public interface CartEventHandler {
+
+	/**
+	 * Handles a single event, events are delivered in batches in the order they are published
+	 *
+	 * @param event the event, only valid until the method returns
+	 * @param sequence the sequence number of the event
+	 * @param endOfBatch whether the event is the last one of the current batch, e.g. to flush
+	 */
+	void onEvent(CartEvent event, long sequence, boolean endOfBatch);
+
+}
@@ -0,0 +1,72 @@
+package com.trendyol.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Consumer loop of a cart event stream, meant to run on its own thread
+ * Events are delivered in batches to all handlers, in the order of the handlers
+ */
+public class CartEventProcessor implements Runnable {
+
+	// Maximum number of events delivered in one batch
+	private static final int MAX_BATCH_SIZE = 256;
+
+	// Wait time when there are no events
+	private static final long IDLE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	// Consumed stream
+	private final CartEventStream stream;
+
+	// Handlers of the events
+	private final CartEventHandler[] handlers;
+
+	// Running state of the loop
+	private volatile boolean running = true;
+
+	/*
+	 * Constructor
+	 */
+	public CartEventProcessor(CartEventStream stream, CartEventHandler... handlers) {
+		this.stream = stream;
+		this.handlers = handlers;
+	}
+
+	/**
+	 * Consumes the events until stopped, then delivers the remaining ones
+	 */
+	@Override
+	public void run() {
+
+		// Deliver the batches while running
+		while (running) {
+			if (stream.poll(this::dispatch, MAX_BATCH_SIZE) == 0) {
+				LockSupport.parkNanos(IDLE_NANOS);
+			}
+		}
+
+		// Drain what is left
+		while (stream.poll(this::dispatch, MAX_BATCH_SIZE) > 0) {
+			continue;
+		}
+	}
+
+	/**
+	 * Stops the loop, the events that are already published are still delivered
+	 */
+	public void stop() {
+		running = false;
+	}
+
+	/*
+	 * Delivers an event to all handlers
+	 */
+	private void dispatch(CartEvent event, long sequence, boolean endOfBatch) {
+		for (CartEventHandler handler : handlers) {
+			handler.onEvent(event, sequence, endOfBatch);
+		}
+	}
+}
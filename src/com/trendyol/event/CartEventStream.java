@@ -0,0 +1,167 @@
+package com.trendyol.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Bounded, lock-free ring buffer of cart events with many producers (carts) and a single consumer
+ *
+ * Producers claim a sequence number with a compare-and-set, fill the slot of that sequence and mark it as published
+ * The consumer delivers the contiguous published events in batches and only then frees their slots
+ * When the buffer is full, the back-pressure policy decides whether the event is dropped or the producer waits
+ */
+public class CartEventStream {
+
+	// Number of slots, always a power of two
+	private final int capacity;
+	private final int mask;
+
+	// Preallocated events
+	private final CartEvent[] slots;
+
+	// Sequence that was last published into each slot, -1 if none
+	private final AtomicLongArray published;
+
+	// Next sequence to be claimed by a producer
+	private final AtomicLong claimSequence = new AtomicLong();
+
+	// Next sequence to be consumed, every slot before it can be reused
+	private final AtomicLong consumeSequence = new AtomicLong();
+
+	// Behaviour when the consumer falls behind
+	private final BackPressurePolicy policy;
+
+	// One event out of this many is published while sampling
+	private final int sampleRate;
+
+	// Counters of the dropped and the sampled out events
+	private final AtomicLong droppedCount = new AtomicLong();
+	private final AtomicLong sampleCounter = new AtomicLong();
+
+	/*
+	 * Constructor
+	 * Capacity is rounded up to a power of two
+	 */
+	public CartEventStream(int capacity, BackPressurePolicy policy) {
+		this(capacity, policy, 10);
+	}
+
+	/*
+	 * Constructor with the sample rate of BackPressurePolicy.SAMPLE
+	 */
+	public CartEventStream(int capacity, BackPressurePolicy policy, int sampleRate) {
+		this.capacity = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+		this.mask = this.capacity - 1;
+		this.policy = policy;
+		this.sampleRate = Math.max(1, sampleRate);
+		this.slots = new CartEvent[this.capacity];
+		this.published = new AtomicLongArray(this.capacity);
+		for (int i = 0; i < this.capacity; i++) {
+			slots[i] = new CartEvent();
+			published.set(i, -1);
+		}
+	}
+
+	/**
+	 * Publishes a change of a cart
+	 *
+	 * @param type the type of the change
+	 * @param cart the changed cart
+	 * @param product the added product, if any
+	 * @param count the added count, if any
+	 * @param campaign the applied campaign, if any
+	 * @param coupon the applied coupon, if any
+	 * @return false if the event is dropped
+	 */
+	public boolean publish(CartEventType type, ShoppingCart cart, Product product, int count, Campaign campaign, Coupon coupon) {
+
+		// Claim a sequence
+		long sequence;
+		while (true) {
+
+			// Apply the back-pressure policy when the consumer falls behind
+			sequence = claimSequence.get();
+			long used = sequence - consumeSequence.get();
+			if (used >= capacity) {
+				if (policy != BackPressurePolicy.BLOCK) {
+					droppedCount.incrementAndGet();
+					return false;
+				}
+				LockSupport.parkNanos(1_000);
+				continue;
+			}
+
+			// Publish only a sample of the events while the buffer is filling up
+			if (policy == BackPressurePolicy.SAMPLE && used >= capacity / 2 && sampleCounter.incrementAndGet() % sampleRate != 0) {
+				droppedCount.incrementAndGet();
+				return false;
+			}
+
+			if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+				break;
+			}
+		}
+
+		// Fill the slot and make it visible to the consumer
+		int index = (int) sequence & mask;
+		slots[index].set(type, cart, product, count, campaign, coupon, System.currentTimeMillis());
+		published.set(index, sequence);
+		return true;
+	}
+
+	/**
+	 * Delivers the published events to the handler, must only be called from a single consumer thread
+	 *
+	 * @param handler the handler
+	 * @param maxBatchSize the maximum number of events to deliver
+	 * @return the number of delivered events
+	 */
+	public int poll(CartEventHandler handler, int maxBatchSize) {
+
+		// Find the contiguous published events
+		long first = consumeSequence.get();
+		long last = first;
+		while (last - first < maxBatchSize && published.get((int) last & mask) == last) {
+			last++;
+		}
+
+		// Deliver them as a batch
+		for (long sequence = first; sequence < last; sequence++) {
+			handler.onEvent(slots[(int) sequence & mask], sequence, sequence == last - 1);
+		}
+
+		// Free the slots for the producers
+		consumeSequence.set(last);
+		return (int) (last - first);
+	}
+
+	/*
+	 * Returns the number of slots
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/*
+	 * Returns the number of events waiting for the consumer
+	 */
+	public long getBacklog() {
+		return claimSequence.get() - consumeSequence.get();
+	}
+
+	/*
+	 * Returns the number of dropped events
+	 */
+	public long getDroppedCount() {
+		return droppedCount.get();
+	}
+}
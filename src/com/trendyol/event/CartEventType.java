@@ -0,0 +1,26 @@
+package com.trendyol.event;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Signifies which change of a cart an event describes
+ */
+public enum CartEventType {
+
+	// A product is added, the event carries the product and the added count
+	ITEM_ADDED,
+
+	// A campaign is applied, the event carries the campaign
+	CAMPAIGN_APPLIED,
+
+	// A coupon is applied or removed, the event carries the coupon (null when removed)
+	COUPON_APPLIED,
+
+	// Another cart is merged into the cart, the event carries the number of merged lines as the count
+	CARTS_MERGED,
+
+	// The cart is emptied to be reused
+	CART_RESET
+
+}
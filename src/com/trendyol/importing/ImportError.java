@@ -0,0 +1,43 @@
+package com.trendyol.importing;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * A line of an order file that could not be imported
+ */
+public class ImportError {
+
+	// Number of the line in the file, starting from 1
+	private final long lineNumber;
+
+	// Reason of the error
+	private final String message;
+
+	/*
+	 * Constructor
+	 */
+	public ImportError(long lineNumber, String message) {
+		this.lineNumber = lineNumber;
+		this.message = message;
+	}
+
+	/*
+	 * Returns the number of the line
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	/*
+	 * Returns the reason of the error
+	 */
+	public String getMessage() {
+		return message;
+	}
+
+	@Override
+	public String toString() {
+		return "Line " + lineNumber + ": " + message;
+	}
+}
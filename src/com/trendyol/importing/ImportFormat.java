@@ -0,0 +1,247 @@
+package com.trendyol.importing;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Supported order file formats, every line of a file is a single order line
+ *
+ * CSV    : cartId,productTitle,quantity with an optional header line, fields can be quoted with double quotes
+ * NDJSON : {"cartId": "...", "productTitle": "...", "quantity": 1}
+ */
+public enum ImportFormat {
+
+	CSV {
+		@Override
+		OrderLine parse(String line, long lineNumber) {
+
+			// Skip the header line
+			if (lineNumber == 1 && line.startsWith("cartId")) {
+				return OrderLine.SKIPPED;
+			}
+
+			String[] fields = splitCsv(line);
+			if (fields == null || fields.length != 3) {
+				return OrderLine.error(lineNumber, "Expected 3 fields: cartId,productTitle,quantity");
+			}
+			return OrderLine.of(lineNumber, fields[0], fields[1], fields[2]);
+		}
+	},
+
+	NDJSON {
+		@Override
+		OrderLine parse(String line, long lineNumber) {
+			String[] fields = parseJson(line);
+			if (fields == null) {
+				return OrderLine.error(lineNumber, "Malformed JSON object");
+			}
+			if (fields[0] == null || fields[1] == null || fields[2] == null) {
+				return OrderLine.error(lineNumber, "Expected the fields cartId, productTitle and quantity");
+			}
+			return OrderLine.of(lineNumber, fields[0], fields[1], fields[2]);
+		}
+	};
+
+	/*
+	 * Parses a non-empty line of the format
+	 */
+	abstract OrderLine parse(String line, long lineNumber);
+
+	/*
+	 * Splits a CSV line into its fields, returns null if a quote is not closed
+	 */
+	private static String[] splitCsv(String line) {
+
+		String[] fields = new String[3];
+		int fieldCount = 0;
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+
+			// Inside quotes, only a quote is special, and two quotes stand for one
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				if (fieldCount == fields.length) {
+					return null;
+				}
+				fields[fieldCount++] = field.toString().trim();
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+
+		// The last field ends with the line
+		if (quoted || fieldCount != fields.length - 1) {
+			return null;
+		}
+		fields[fieldCount] = field.toString().trim();
+		return fields;
+	}
+
+	/*
+	 * Parses a flat JSON object with string and number values into the fields cartId, productTitle and quantity
+	 * Returns null if the object is malformed, other keys are ignored
+	 */
+	private static String[] parseJson(String line) {
+
+		String[] fields = new String[3];
+		JsonCursor cursor = new JsonCursor(line);
+		if (!cursor.consume('{')) {
+			return null;
+		}
+		if (cursor.consume('}')) {
+			return cursor.atEnd() ? fields : null;
+		}
+
+		do {
+			// Read the key and the value
+			String key = cursor.readString();
+			if (key == null || !cursor.consume(':')) {
+				return null;
+			}
+			String value = cursor.readValue();
+			if (value == null) {
+				return null;
+			}
+
+			// Keep the known fields
+			if (key.equals("cartId")) {
+				fields[0] = value;
+			} else if (key.equals("productTitle")) {
+				fields[1] = value;
+			} else if (key.equals("quantity")) {
+				fields[2] = value;
+			}
+		} while (cursor.consume(','));
+
+		return cursor.consume('}') && cursor.atEnd() ? fields : null;
+	}
+
+	/*
+	 * Reads the tokens of a flat JSON object
+	 */
+	private static class JsonCursor {
+
+		// Parsed text and the current position
+		private final String text;
+		private int position = 0;
+
+		/*
+		 * Constructor
+		 */
+		private JsonCursor(String text) {
+			this.text = text;
+		}
+
+		/*
+		 * Skips the whitespace, then consumes the given character if it is next
+		 */
+		private boolean consume(char c) {
+			skipWhitespace();
+			if (position < text.length() && text.charAt(position) == c) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		/*
+		 * Checks if only whitespace is left
+		 */
+		private boolean atEnd() {
+			skipWhitespace();
+			return position == text.length();
+		}
+
+		/*
+		 * Reads a string or a number value, returns null for other values
+		 */
+		private String readValue() {
+			skipWhitespace();
+			if (position < text.length() && text.charAt(position) == '"') {
+				return readString();
+			}
+			int start = position;
+			while (position < text.length() && "+-.0123456789eE".indexOf(text.charAt(position)) >= 0) {
+				position++;
+			}
+			return position > start ? text.substring(start, position) : null;
+		}
+
+		/*
+		 * Reads a quoted string with its escapes, returns null if it is malformed
+		 */
+		private String readString() {
+			if (!consume('"')) {
+				return null;
+			}
+			StringBuilder value = new StringBuilder();
+			while (position < text.length()) {
+				char c = text.charAt(position++);
+				if (c == '"') {
+					return value.toString();
+				}
+				if (c != '\\') {
+					value.append(c);
+					continue;
+				}
+				if (position == text.length()) {
+					return null;
+				}
+				char escaped = text.charAt(position++);
+				switch (escaped) {
+				case 'n':
+					value.append('\n');
+					break;
+				case 't':
+					value.append('\t');
+					break;
+				case 'r':
+					value.append('\r');
+					break;
+				case 'b':
+					value.append('\b');
+					break;
+				case 'f':
+					value.append('\f');
+					break;
+				case 'u':
+					if (position + 4 > text.length()) {
+						return null;
+					}
+					try {
+						value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+					} catch (NumberFormatException e) {
+						return null;
+					}
+					position += 4;
+					break;
+				default:
+					value.append(escaped);
+				}
+			}
+			return null;
+		}
+
+		/*
+		 * Skips the whitespace
+		 */
+		private void skipWhitespace() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package com.trendyol.importing;
+
+import java.util.List;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Result of an order import
+ */
+public class ImportReport {
+
+	// Number of the order lines read from the file, not counting the empty lines and the header
+	private final long lineCount;
+
+	// Number of the lines added into the carts
+	private final long importedCount;
+
+	// Number of the lines that failed
+	private final long errorCount;
+
+	// Errors of the failed lines up to the configured limit, in line order
+	private final List<ImportError> errors;
+
+	/*
+	 * Constructor
+	 */
+	public ImportReport(long lineCount, long importedCount, long errorCount, List<ImportError> errors) {
+		this.lineCount = lineCount;
+		this.importedCount = importedCount;
+		this.errorCount = errorCount;
+		this.errors = errors;
+	}
+
+	/*
+	 * Returns the number of the order lines
+	 */
+	public long getLineCount() {
+		return lineCount;
+	}
+
+	/*
+	 * Returns the number of the imported lines
+	 */
+	public long getImportedCount() {
+		return importedCount;
+	}
+
+	/*
+	 * Returns the number of the failed lines
+	 */
+	public long getErrorCount() {
+		return errorCount;
+	}
+
+	/*
+	 * Returns the errors of the failed lines up to the configured limit, the rest are only counted
+	 */
+	public List<ImportError> getErrors() {
+		return errors;
+	}
+}
@@ -0,0 +1,102 @@
+package com.trendyol.importing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Reads the lines of a channel through a fixed-size buffer, so memory stays bounded regardless of the file size
+ * Lines longer than the buffer are skipped and reported as such
+ */
+class LineReader {
+
+	// Marks a line that does not fit into the buffer
+	static final String TOO_LONG = new String("<too long>");
+
+	// Channel and its buffer, the buffer is kept in read mode between the calls
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+
+	// Whether the channel is exhausted
+	private boolean endOfStream = false;
+
+	// Number of the last returned line
+	private long lineNumber = 0;
+
+	/*
+	 * Constructor
+	 */
+	LineReader(ReadableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.flip();
+	}
+
+	/*
+	 * Returns the next line without its line terminator, TOO_LONG if it does not fit into the buffer, or null at the end
+	 */
+	String readLine() throws IOException {
+
+		boolean skipping = false;
+		while (true) {
+
+			// Look for the end of the line in the buffered bytes
+			byte[] bytes = buffer.array();
+			int start = buffer.position();
+			for (int i = start; i < buffer.limit(); i++) {
+				if (bytes[i] == '\n') {
+					buffer.position(i + 1);
+					lineNumber++;
+					return skipping ? TOO_LONG : decode(bytes, start, i);
+				}
+			}
+
+			// The last line may not have a terminator
+			if (endOfStream) {
+				if (start == buffer.limit() && !skipping) {
+					return null;
+				}
+				buffer.position(buffer.limit());
+				lineNumber++;
+				return skipping ? TOO_LONG : decode(bytes, start, buffer.limit());
+			}
+
+			// A line that fills the whole buffer is dropped until its end
+			if (start == 0 && buffer.limit() == buffer.capacity()) {
+				skipping = true;
+				buffer.clear();
+			} else if (skipping) {
+				buffer.clear();
+			} else {
+				buffer.compact();
+			}
+
+			// Read more bytes
+			if (channel.read(buffer) < 0) {
+				endOfStream = true;
+			}
+			buffer.flip();
+		}
+	}
+
+	/*
+	 * Returns the number of the last returned line, starting from 1
+	 */
+	long getLineNumber() {
+		return lineNumber;
+	}
+
+	/*
+	 * Decodes a line, dropping the carriage return of the Windows line terminators
+	 */
+	private static String decode(byte[] bytes, int start, int end) {
+		if (end > start && bytes[end - 1] == '\r') {
+			end--;
+		}
+		return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+	}
+}
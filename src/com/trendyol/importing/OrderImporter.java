@@ -0,0 +1,327 @@
+package com.trendyol.importing;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.catalog.Catalog;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Streams order files into shopping carts
+ *
+ * A single reader parses the file through a fixed-size buffer and partitions the lines by their carts into chunks
+ * Each partition is fed by its own worker, so the lines of a cart are added in file order by a single thread
+ * and the carts of different partitions are filled in parallel without contending for their locks
+ * Queues between the reader and the workers are bounded, so memory stays bounded regardless of the file size
+ *
+ * The reader checks that a worker is still alive while it waits for a full queue, so a failed worker fails the import
+ * instead of blocking it. A failed or interrupted read interrupts the workers, so they never outlive the import
+ *
+ * Products are resolved from the catalog by their titles, nothing is created per line but the parsed line itself
+ */
+public class OrderImporter {
+
+	// Size of the read buffer, also the maximum length of a line
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	// Number of chunks that can wait for a worker
+	private static final int QUEUE_CAPACITY = 4;
+
+	// Time between the checks of a worker while its queue is full
+	private static final long LIVENESS_CHECK_MILLIS = 100;
+
+	// Marks the end of the input for a worker
+	private static final List<OrderLine> END = Collections.emptyList();
+
+	// Catalog that the products are resolved from
+	private final Catalog catalog;
+
+	// Returns the cart of a cart id, e.g. from a cart repository, must be thread-safe
+	private final Function<String, ShoppingCart> cartResolver;
+
+	// Number of workers
+	private final int parallelism;
+
+	// Number of lines in a chunk
+	private final int chunkSize;
+
+	// Maximum number of errors with details in a report
+	private final int maxReportedErrors;
+
+	/*
+	 * Constructor
+	 */
+	public OrderImporter(Catalog catalog, Function<String, ShoppingCart> cartResolver, int parallelism, int chunkSize, int maxReportedErrors) {
+		this.catalog = catalog;
+		this.cartResolver = cartResolver;
+		this.parallelism = Math.max(1, parallelism);
+		this.chunkSize = Math.max(1, chunkSize);
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	/**
+	 * Imports an order file into the carts
+	 *
+	 * @param path the order file
+	 * @param format the format of the file
+	 * @return the report of the import
+	 * @throws IOException if the file can not be read
+	 * @throws InterruptedException if the import is interrupted
+	 * @throws IllegalStateException if a worker fails
+	 */
+	public ImportReport importFile(Path path, ImportFormat format) throws IOException, InterruptedException {
+
+		// Start the workers
+		Progress progress = new Progress(maxReportedErrors);
+		List<BlockingQueue<List<OrderLine>>> queues = new ArrayList<BlockingQueue<List<OrderLine>>>(parallelism);
+		List<Thread> workers = new ArrayList<Thread>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			BlockingQueue<List<OrderLine>> queue = new ArrayBlockingQueue<List<OrderLine>>(QUEUE_CAPACITY);
+			Thread worker = new Thread(() -> consume(queue, progress), "order-import-" + i);
+			queues.add(queue);
+			workers.add(worker);
+			worker.start();
+		}
+
+		// Read the file, the workers are always stopped even if the reading fails
+		boolean completed = false;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			read(new LineReader(channel, BUFFER_SIZE), format, queues, workers, progress);
+			completed = true;
+		} finally {
+
+			// An interruption while stopping the workers is thrown after a complete read, otherwise it must not hide the failure
+			if (stop(queues, workers, completed)) {
+				if (completed) {
+					throw new InterruptedException("Order import is interrupted while the workers are finishing");
+				}
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		// Lines of a failed worker are lost, even if its queue never filled up
+		if (progress.workerFailure != null) {
+			throw new IllegalStateException("Order import worker failed", progress.workerFailure);
+		}
+
+		return progress.toReport();
+	}
+
+	/*
+	 * Stops the workers and waits for them, returns true if the current thread was interrupted meanwhile
+	 * After a complete read the workers finish their queued chunks, otherwise they are interrupted right away
+	 */
+	private boolean stop(List<BlockingQueue<List<OrderLine>>> queues, List<Thread> workers, boolean completed) {
+
+		// The interrupt status is cleared, so that the waits below do not fail right away
+		boolean interrupted = Thread.interrupted();
+		for (int i = 0; i < workers.size(); i++) {
+			boolean ended = false;
+			if (completed && !interrupted) {
+				try {
+					ended = hand(queues.get(i), workers.get(i), END);
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+			if (!ended) {
+				workers.get(i).interrupt();
+			}
+		}
+
+		// Workers are not daemons, so they are always waited for
+		for (Thread worker : workers) {
+			while (worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+
+		return interrupted;
+	}
+
+	/*
+	 * Hands a chunk to a worker, waiting while its queue is full
+	 * Returns false if the worker stopped before there was room for the chunk
+	 */
+	private static boolean hand(BlockingQueue<List<OrderLine>> queue, Thread worker, List<OrderLine> chunk) throws InterruptedException {
+		while (!queue.offer(chunk, LIVENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+			if (!worker.isAlive()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/*
+	 * Parses the lines and hands them out to the workers in chunks
+	 */
+	private void read(LineReader reader, ImportFormat format, List<BlockingQueue<List<OrderLine>>> queues, List<Thread> workers,
+			Progress progress) throws IOException, InterruptedException {
+
+		// Chunks that are being filled for each worker
+		List<List<OrderLine>> chunks = new ArrayList<List<OrderLine>>(parallelism);
+		for (int i = 0; i < parallelism; i++) {
+			chunks.add(new ArrayList<OrderLine>(chunkSize));
+		}
+
+		for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+
+			// Skip the empty lines
+			long lineNumber = reader.getLineNumber();
+			if (line != LineReader.TOO_LONG && line.trim().isEmpty()) {
+				continue;
+			}
+
+			// Report the lines that can not be parsed right away
+			OrderLine orderLine = line == LineReader.TOO_LONG ? OrderLine.error(lineNumber, "Line is longer than " + BUFFER_SIZE + " bytes")
+					: format.parse(line, lineNumber);
+			if (orderLine == OrderLine.SKIPPED) {
+				continue;
+			}
+			progress.lineCount.incrementAndGet();
+			if (orderLine.error != null) {
+				progress.fail(lineNumber, orderLine.error);
+				continue;
+			}
+
+			// Lines of the same cart always go to the same worker
+			int partition = (orderLine.cartId.hashCode() & Integer.MAX_VALUE) % parallelism;
+			List<OrderLine> chunk = chunks.get(partition);
+			chunk.add(orderLine);
+			if (chunk.size() == chunkSize) {
+				handOrFail(queues, workers, partition, chunk, progress);
+				chunks.set(partition, new ArrayList<OrderLine>(chunkSize));
+			}
+		}
+
+		// Hand out the remaining lines
+		for (int i = 0; i < parallelism; i++) {
+			if (!chunks.get(i).isEmpty()) {
+				handOrFail(queues, workers, i, chunks.get(i), progress);
+			}
+		}
+	}
+
+	/*
+	 * Hands a chunk to the worker of a partition, failing the import if the worker stopped
+	 */
+	private static void handOrFail(List<BlockingQueue<List<OrderLine>>> queues, List<Thread> workers, int partition, List<OrderLine> chunk,
+			Progress progress) throws InterruptedException {
+		if (!hand(queues.get(partition), workers.get(partition), chunk)) {
+			throw new IllegalStateException("Order import worker " + workers.get(partition).getName() + " stopped", progress.workerFailure);
+		}
+	}
+
+	/*
+	 * Adds the lines of the chunks into their carts until the end of the input
+	 */
+	private void consume(BlockingQueue<List<OrderLine>> queue, Progress progress) {
+		try {
+			for (List<OrderLine> chunk = queue.take(); chunk != END; chunk = queue.take()) {
+				for (OrderLine orderLine : chunk) {
+					add(orderLine, progress);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (RuntimeException | Error e) {
+
+			// Let the reader know why the worker stopped
+			progress.workerFailure = e;
+		}
+	}
+
+	/*
+	 * Adds a single line into its cart
+	 */
+	private void add(OrderLine orderLine, Progress progress) {
+
+		// Resolve the product
+		Product product = catalog.getProduct(orderLine.productTitle);
+		if (product == null) {
+			progress.fail(orderLine.lineNumber, "Unknown product: " + orderLine.productTitle);
+			return;
+		}
+
+		// Resolve the cart and add the line, a failing cart should not stop the import
+		try {
+			ShoppingCart shoppingCart = cartResolver.apply(orderLine.cartId);
+			if (shoppingCart == null) {
+				progress.fail(orderLine.lineNumber, "Unknown cart: " + orderLine.cartId);
+				return;
+			}
+			shoppingCart.addItem(product, orderLine.quantity);
+			progress.importedCount.incrementAndGet();
+		} catch (RuntimeException e) {
+			progress.fail(orderLine.lineNumber, "Could not add the line: " + e.getMessage());
+		}
+	}
+
+	/*
+	 * Counters and errors of an import, shared by the reader and the workers
+	 */
+	private static class Progress {
+
+		// Counters
+		private final AtomicLong lineCount = new AtomicLong();
+		private final AtomicLong importedCount = new AtomicLong();
+		private final AtomicLong errorCount = new AtomicLong();
+
+		// Failure that stopped a worker, if any
+		private volatile Throwable workerFailure;
+
+		// Errors with details, limited in number
+		private final List<ImportError> errors = new ArrayList<ImportError>();
+		private final int maxReportedErrors;
+
+		/*
+		 * Constructor
+		 */
+		private Progress(int maxReportedErrors) {
+			this.maxReportedErrors = maxReportedErrors;
+		}
+
+		/*
+		 * Records a failed line
+		 */
+		private void fail(long lineNumber, String message) {
+			errorCount.incrementAndGet();
+			synchronized (errors) {
+				if (errors.size() < maxReportedErrors) {
+					errors.add(new ImportError(lineNumber, message));
+				}
+			}
+		}
+
+		/*
+		 * Creates the report, the errors are sorted by their lines since the workers report them out of order
+		 */
+		private ImportReport toReport() {
+			List<ImportError> sortedErrors;
+			synchronized (errors) {
+				sortedErrors = new ArrayList<ImportError>(errors);
+			}
+			sortedErrors.sort(Comparator.comparingLong(ImportError::getLineNumber));
+			return new ImportReport(lineCount.get(), importedCount.get(), errorCount.get(), Collections.unmodifiableList(sortedErrors));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.trendyol.importing;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * A parsed line of an order file, or the error of a line that could not be parsed
+ */
+class OrderLine {
+
+	// Marks the lines that are not order lines, e.g. the header
+	static final OrderLine SKIPPED = new OrderLine(0, null, null, 0, null);
+
+	// Number of the line in the file, starting from 1
+	final long lineNumber;
+
+	// Fields of the line
+	final String cartId;
+	final String productTitle;
+	final int quantity;
+
+	// Error of the line, null if it is valid
+	final String error;
+
+	/*
+	 * Constructor
+	 */
+	private OrderLine(long lineNumber, String cartId, String productTitle, int quantity, String error) {
+		this.lineNumber = lineNumber;
+		this.cartId = cartId;
+		this.productTitle = productTitle;
+		this.quantity = quantity;
+		this.error = error;
+	}
+
+	/*
+	 * Creates a line from its fields, validating the quantity
+	 */
+	static OrderLine of(long lineNumber, String cartId, String productTitle, String quantity) {
+
+		// Every field is required
+		if (cartId.isEmpty() || productTitle.isEmpty()) {
+			return error(lineNumber, "Cart id and product title can not be empty");
+		}
+
+		// Quantity has to be a positive integer
+		int count;
+		try {
+			count = Integer.parseInt(quantity.trim());
+		} catch (NumberFormatException e) {
+			return error(lineNumber, "Invalid quantity: " + quantity);
+		}
+		if (count <= 0) {
+			return error(lineNumber, "Quantity must be positive: " + count);
+		}
+
+		return new OrderLine(lineNumber, cartId, productTitle, count, null);
+	}
+
+	/*
+	 * Creates the error of a line
+	 */
+	static OrderLine error(long lineNumber, String error) {
+		return new OrderLine(lineNumber, null, null, 0, error);
+	}
+}
@@ -0,0 +1,115 @@
+package com.trendyol.inventory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Reservation state of a single cart
+ * Requested quantities are pending until the next flush of the batcher, then they are either reserved or short
+ */
+public class CartReservation {
+
+	// Quantities waiting for the next flush
+	private final Map<Product, Integer> pending = new HashMap<Product, Integer>();
+
+	// Quantities reserved on the inventory
+	private final Map<Product, Integer> reserved = new HashMap<Product, Integer>();
+
+	// Quantities that could not be reserved due to lack of stock
+	private final Map<Product, Integer> shortages = new HashMap<Product, Integer>();
+
+	// Released reservations do not take any more stock
+	private boolean released = false;
+
+	/*
+	 * Records a requested quantity
+	 */
+	synchronized void request(Product product, int quantity) {
+		pending.merge(product, quantity, Integer::sum);
+	}
+
+	/*
+	 * Records the result of a flush, returns false if the reservation is released and the granted quantity has to be given back
+	 */
+	synchronized boolean complete(Product product, int requested, int granted) {
+
+		// Released reservations do not keep anything
+		if (released) {
+			return false;
+		}
+
+		pending.computeIfPresent(product, (p, quantity) -> quantity == requested ? null : quantity - requested);
+		if (granted > 0) {
+			reserved.merge(product, granted, Integer::sum);
+		}
+		if (granted < requested) {
+			shortages.merge(product, requested - granted, Integer::sum);
+		}
+		return true;
+	}
+
+	/*
+	 * Marks the reservation as released and returns the reserved quantities to give back
+	 */
+	synchronized Map<Product, Integer> release() {
+		released = true;
+		pending.clear();
+		shortages.clear();
+		Map<Product, Integer> quantities = new HashMap<Product, Integer>(reserved);
+		reserved.clear();
+		return quantities;
+	}
+
+	/**
+	 * Returns the reserved quantity of a product
+	 *
+	 * @param product the product
+	 * @return the reserved quantity
+	 */
+	public synchronized int getReservedCount(Product product) {
+		return reserved.getOrDefault(product, 0);
+	}
+
+	/**
+	 * Returns the quantity of a product that could not be reserved
+	 *
+	 * @param product the product
+	 * @return the missing quantity
+	 */
+	public synchronized int getShortage(Product product) {
+		return shortages.getOrDefault(product, 0);
+	}
+
+	/**
+	 * Returns the quantity of a product that is waiting for the next flush
+	 *
+	 * @param product the product
+	 * @return the pending quantity
+	 */
+	public synchronized int getPendingCount(Product product) {
+		return pending.getOrDefault(product, 0);
+	}
+
+	/**
+	 * Checks if every requested quantity is reserved
+	 *
+	 * @return true if nothing is pending or short
+	 */
+	public synchronized boolean isFullyReserved() {
+		return pending.isEmpty() && shortages.isEmpty();
+	}
+
+	/**
+	 * Checks if the reservation is released
+	 *
+	 * @return released status
+	 */
+	public synchronized boolean isReleased() {
+		return released;
+	}
+}
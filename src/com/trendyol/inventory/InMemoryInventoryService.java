@@ -0,0 +1,75 @@
+package com.trendyol.inventory;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Inventory service that keeps the stock levels in memory, e.g. for tests and local setups
+ * Stock levels are swapped with a compare-and-set, so no lock is taken
+ */
+public class InMemoryInventoryService implements InventoryService {
+
+	// Stock level of an unknown product
+	private static final StockLevel NO_STOCK = new StockLevel(0, 0);
+
+	// Current stock level of each product
+	private final ConcurrentHashMap<Product, AtomicReference<StockLevel>> stockLevels = new ConcurrentHashMap<Product, AtomicReference<StockLevel>>();
+
+	/**
+	 * Sets the available quantity of a product, e.g. when new stock arrives
+	 *
+	 * @param product the product
+	 * @param available the available quantity
+	 */
+	public void setStock(Product product, int available) {
+		AtomicReference<StockLevel> reference = stockLevels.computeIfAbsent(product, p -> new AtomicReference<StockLevel>(NO_STOCK));
+		StockLevel current;
+		do {
+			current = reference.get();
+		} while (!reference.compareAndSet(current, new StockLevel(available, current.getVersion() + 1)));
+	}
+
+	@Override
+	public StockLevel getStockLevel(Product product) {
+		AtomicReference<StockLevel> reference = stockLevels.get(product);
+		return reference == null ? NO_STOCK : reference.get();
+	}
+
+	@Override
+	public boolean reserve(Product product, int quantity, long expectedVersion) {
+
+		// Unknown products can not be reserved
+		AtomicReference<StockLevel> reference = stockLevels.get(product);
+		if (reference == null) {
+			return false;
+		}
+
+		// Reserve only if nothing changed since the stock level was read
+		StockLevel current = reference.get();
+		if (current.getVersion() != expectedVersion || current.getAvailable() < quantity) {
+			return false;
+		}
+		return reference.compareAndSet(current, new StockLevel(current.getAvailable() - quantity, expectedVersion + 1));
+	}
+
+	@Override
+	public void release(Product product, int quantity) {
+
+		// Nothing to give back to an unknown product
+		AtomicReference<StockLevel> reference = stockLevels.get(product);
+		if (reference == null) {
+			return;
+		}
+
+		// Releases do not depend on the stock level, so they are retried until they succeed
+		StockLevel current;
+		do {
+			current = reference.get();
+		} while (!reference.compareAndSet(current, new StockLevel(current.getAvailable() + quantity, current.getVersion() + 1)));
+	}
+}
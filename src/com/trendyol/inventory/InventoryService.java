@@ -0,0 +1,40 @@
+package com.trendyol.inventory;
+
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * An interface for the stock keeping systems that the carts reserve their items from
+ * Reservations are optimistic, i.e. a reservation is made against the version of the stock level it was based on
+ */
+public interface InventoryService {
+
+	/**
+	 * Returns the current stock level of a product
+	 *
+	 * @param product the product
+	 * @return the stock level, with zero available if the product is unknown
+	 */
+	StockLevel getStockLevel(Product product);
+
+	/**
+	 * Reserves the given quantity of a product if its stock level is still at the expected version
+	 *
+	 * @param product the product
+	 * @param quantity the quantity to reserve
+	 * @param expectedVersion the version of the stock level that the reservation is based on
+	 * @return false if the stock level changed since then or there is not enough stock
+	 */
+	boolean reserve(Product product, int quantity, long expectedVersion);
+
+	/**
+	 * Gives back a reserved quantity of a product
+	 *
+	 * @param product the product
+	 * @param quantity the quantity to release
+	 */
+	void release(Product product, int quantity);
+
+}
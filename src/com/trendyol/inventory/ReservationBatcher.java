@@ -0,0 +1,184 @@
+package com.trendyol.inventory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Collects the stock reservations of many carts and sends them to the inventory in batches
+ *
+ * Requesting a reservation only enqueues it, so adding an item never waits for the inventory
+ * A flush coalesces the pending requests of each product into a single optimistic reservation:
+ * the stock level is read once, the total is reserved against its version, and the read is retried if the stock changed in between
+ * When there is not enough stock, the reserved quantity is handed out to the requests in their order
+ *
+ * Flushes are meant to run periodically on a background thread, e.g. with a ScheduledExecutorService
+ */
+public class ReservationBatcher {
+
+	// Maximum number of attempts of an optimistic reservation before the product is left for the next flush
+	private static final int MAX_ATTEMPTS = 8;
+
+	// Inventory that the reservations are made on
+	private final InventoryService inventoryService;
+
+	// Requests waiting for the next flush
+	private final ConcurrentLinkedQueue<Request> queue = new ConcurrentLinkedQueue<Request>();
+
+	// Requests that could not be completed due to conflicts, only touched while flushing
+	private List<Request> retries = new ArrayList<Request>();
+
+	// Statistics of the batching
+	private final AtomicLong requestCount = new AtomicLong();
+	private final AtomicLong reservationCount = new AtomicLong();
+	private final AtomicLong conflictCount = new AtomicLong();
+
+	/*
+	 * Constructor
+	 */
+	public ReservationBatcher(InventoryService inventoryService) {
+		this.inventoryService = inventoryService;
+	}
+
+	/**
+	 * Requests the given quantity of a product for a cart, the request is completed on the next flush
+	 *
+	 * @param reservation the reservation of the cart
+	 * @param product the product
+	 * @param quantity the quantity
+	 */
+	public void request(CartReservation reservation, Product product, int quantity) {
+		reservation.request(product, quantity);
+		queue.add(new Request(reservation, product, quantity));
+		requestCount.incrementAndGet();
+	}
+
+	/**
+	 * Releases everything reserved for a cart, e.g. when the cart is evicted
+	 * Pending requests of the cart are dropped on the next flush
+	 *
+	 * @param reservation the reservation of the cart
+	 */
+	public void release(CartReservation reservation) {
+		for (Map.Entry<Product, Integer> entry : reservation.release().entrySet()) {
+			inventoryService.release(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Sends the pending requests to the inventory
+	 *
+	 * @return the number of completed requests
+	 */
+	public synchronized int flush() {
+
+		// Coalesce the pending requests by product, keeping their order
+		Map<Product, List<Request>> requestsByProduct = new LinkedHashMap<Product, List<Request>>();
+		for (Request request : retries) {
+			requestsByProduct.computeIfAbsent(request.product, product -> new ArrayList<Request>()).add(request);
+		}
+		retries = new ArrayList<Request>();
+		for (Request request = queue.poll(); request != null; request = queue.poll()) {
+			requestsByProduct.computeIfAbsent(request.product, product -> new ArrayList<Request>()).add(request);
+		}
+
+		// Reserve each product once for all of its requests
+		int completedCount = 0;
+		for (Map.Entry<Product, List<Request>> entry : requestsByProduct.entrySet()) {
+
+			// Released carts do not need their stock
+			Product product = entry.getKey();
+			List<Request> requests = entry.getValue();
+			requests.removeIf(request -> request.reservation.isReleased());
+			int total = 0;
+			for (Request request : requests) {
+				total += request.quantity;
+			}
+			if (total == 0) {
+				continue;
+			}
+
+			// Reserve as much as possible of the total, retrying while the stock changes underneath
+			int granted = -1;
+			for (int attempt = 0; attempt < MAX_ATTEMPTS && granted < 0; attempt++) {
+				StockLevel stockLevel = inventoryService.getStockLevel(product);
+				int quantity = Math.min(total, stockLevel.getAvailable());
+				if (quantity == 0 || inventoryService.reserve(product, quantity, stockLevel.getVersion())) {
+					granted = quantity;
+				} else {
+					conflictCount.incrementAndGet();
+				}
+			}
+			reservationCount.incrementAndGet();
+
+			// Too much contention, try again on the next flush
+			if (granted < 0) {
+				retries.addAll(requests);
+				continue;
+			}
+
+			// Hand out the reserved quantity in the order of the requests
+			for (Request request : requests) {
+				int share = Math.min(request.quantity, granted);
+				granted -= share;
+				if (!request.reservation.complete(product, request.quantity, share) && share > 0) {
+					inventoryService.release(product, share);
+				}
+				completedCount++;
+			}
+		}
+
+		return completedCount;
+	}
+
+	/*
+	 * Returns the number of requests made by the carts
+	 */
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/*
+	 * Returns the number of coalesced reservations sent to the inventory
+	 */
+	public long getReservationCount() {
+		return reservationCount.get();
+	}
+
+	/*
+	 * Returns the number of reservations that failed because the stock changed in between
+	 */
+	public long getConflictCount() {
+		return conflictCount.get();
+	}
+
+	/*
+	 * A requested quantity of a product for a cart
+	 */
+	private static class Request {
+
+		// Reservation of the requesting cart
+		private final CartReservation reservation;
+
+		// Requested product and quantity
+		private final Product product;
+		private final int quantity;
+
+		/*
+		 * Constructor
+		 */
+		private Request(CartReservation reservation, Product product, int quantity) {
+			this.reservation = reservation;
+			this.product = product;
+			this.quantity = quantity;
+		}
+	}
+}
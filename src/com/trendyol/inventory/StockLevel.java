@@ -0,0 +1,39 @@
+package com.trendyol.inventory;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable stock level of a product at a given version
+ * The version changes on every change of the stock, so a reservation made with it fails if the stock changed in between
+ */
+public class StockLevel {
+
+	// Quantity that can still be reserved
+	private final int available;
+
+	// Version of the stock level
+	private final long version;
+
+	/*
+	 * Constructor
+	 */
+	public StockLevel(int available, long version) {
+		this.available = available;
+		this.version = version;
+	}
+
+	/*
+	 * Returns the quantity that can still be reserved
+	 */
+	public int getAvailable() {
+		return available;
+	}
+
+	/*
+	 * Returns the version of the stock level
+	 */
+	public long getVersion() {
+		return version;
+	}
+}
@@ -14,12 +14,90 @@ public class CategoryInfoHolder {
 	// Total price of products
 	private double totalPrice = 0;
 	
+	// Number of distinct products whose own category is this one (the products of sub-categories are not counted)
+	private int lineCount = 0;
+	
+	// Total price of the products whose own category is this one
+	private double ownTotalPrice = 0;
+	
+	// Total weight and volume of products
+	private double totalWeight = 0;
+	private double totalVolume = 0;
+	
+	/*
+	 * Constructor
+	 */
+	public CategoryInfoHolder() {
+	}
+	
+	/*
+	 * Constructor with previously calculated values, used while restoring a stored cart
+	 */
+	public CategoryInfoHolder(int productCount, double totalPrice, double totalWeight, double totalVolume) {
+		this.productCount = productCount;
+		this.totalPrice = totalPrice;
+		this.totalWeight = totalWeight;
+		this.totalVolume = totalVolume;
+	}
+	
+	/*
+	 * Copy constructor
+	 */
+	public CategoryInfoHolder(CategoryInfoHolder other) {
+		this.productCount = other.productCount;
+		this.totalPrice = other.totalPrice;
+		this.lineCount = other.lineCount;
+		this.ownTotalPrice = other.ownTotalPrice;
+		this.totalWeight = other.totalWeight;
+		this.totalVolume = other.totalVolume;
+	}
+	
 	/*
 	 * Adds the given amount of products into the holder
 	 */
 	public void update(Product product, int count) {
 		productCount += count;
 		totalPrice += product.getPrice() * count;
+		totalWeight += product.getWeight() * count;
+		totalVolume += product.getVolume() * count;
+	}
+
+	/*
+	 * Adds the given amount of products whose own category is this one, in addition to @{update}
+	 */
+	public void updateOwn(Product product, int count) {
+		ownTotalPrice += product.getPrice() * count;
+	}
+
+	/*
+	 * Registers a new distinct product of this category and returns the new line count
+	 */
+	public int addLine() {
+		return ++lineCount;
+	}
+
+	/*
+	 * Adds the products of another holder into this one
+	 * Line counts are not merged, since the same product may exist in both holders
+	 */
+	public void merge(CategoryInfoHolder other) {
+		productCount += other.productCount;
+		totalPrice += other.totalPrice;
+		ownTotalPrice += other.ownTotalPrice;
+		totalWeight += other.totalWeight;
+		totalVolume += other.totalVolume;
+	}
+
+	/*
+	 * Clears the holder, so that it can be reused for another category
+	 */
+	public void clear() {
+		productCount = 0;
+		totalPrice = 0;
+		lineCount = 0;
+		ownTotalPrice = 0;
+		totalWeight = 0;
+		totalVolume = 0;
 	}
 
 	/*
@@ -35,4 +113,32 @@ public class CategoryInfoHolder {
 	public double getTotalPrice() {
 		return totalPrice;
 	}
+
+	/*
+	 * Return the total weight
+	 */
+	public double getTotalWeight() {
+		return totalWeight;
+	}
+
+	/*
+	 * Return the total volume
+	 */
+	public double getTotalVolume() {
+		return totalVolume;
+	}
+
+	/*
+	 * Return the number of distinct products whose own category is this one
+	 */
+	public int getLineCount() {
+		return lineCount;
+	}
+
+	/*
+	 * Return the total price of the products whose own category is this one
+	 */
+	public double getOwnTotalPrice() {
+		return ownTotalPrice;
+	}
 }
@@ -20,6 +20,10 @@ public class Product {
 	// Category or tree of categories in which the product belongs
 	private Category category;
 	
+	// Optional physical attributes of a single product, in kilograms and liters (zero when unknown)
+	private double weight;
+	private double volume;
+	
 	/*
 	 * Constructor
 	 */
@@ -28,6 +32,18 @@ public class Product {
 		this.price = price;
 		this.category = category;
 	}
+	
+	/*
+	 * Constructor with the physical attributes, used by the logistics-aware delivery methods
+	 */
+	public Product(String title, double price, Category category, double weight, double volume) {
+		this(title, price, category);
+		if (weight < 0 || volume < 0) {
+			throw new IllegalArgumentException("Invalid weight or volume for " + title + ": " + weight + ", " + volume);
+		}
+		this.weight = weight;
+		this.volume = volume;
+	}
 
 	/*
 	 * Returns the name of the product
@@ -50,6 +66,20 @@ public class Product {
 		return category;
 	}
 
+	/*
+	 * Returns the weight of the product in kilograms, zero when unknown
+	 */
+	public double getWeight() {
+		return weight;
+	}
+
+	/*
+	 * Returns the volume of the product in liters, zero when unknown
+	 */
+	public double getVolume() {
+		return volume;
+	}
+
 	/*
 	 * {@hashCode} method is overridden with the assumption of titles are unique
 	 */
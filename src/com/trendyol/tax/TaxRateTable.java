@@ -0,0 +1,101 @@
+package com.trendyol.tax;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import com.trendyol.discount.DiscountBreakdown;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Immutable table of the tax rates (VAT or sales tax) of the categories
+ *
+ * A category without a rate of its own inherits the rate of its closest parent with one, or the default rate
+ * Resolved rates are cached by category, so the parent chain is walked once per category and not once per line
+ * Note: The cache is keyed on the category instances, since categories with the same title may have different parents
+ *
+ * Prices are taken as net of tax, the tax is added on the line totals after the discounts allocated on them
+ * Note: Delivery is not taxed
+ */
+public class TaxRateTable {
+
+	// Rate of the categories that do not inherit any rate, as a percentage
+	private final double defaultRate;
+
+	// Configured rates, as percentages
+	private final Map<Category, Double> rates;
+
+	// Resolved rates of every category instance seen so far, guarded by itself
+	private final Map<Category, Double> resolvedRates = new IdentityHashMap<Category, Double>();
+
+	/*
+	 * Constructor
+	 */
+	public TaxRateTable(double defaultRate, Map<Category, Double> rates) {
+		this.defaultRate = defaultRate;
+		this.rates = Collections.unmodifiableMap(new HashMap<Category, Double>(rates));
+	}
+
+	/**
+	 * Returns the tax rate of a category
+	 *
+	 * @param category the category
+	 * @return the rate, as a percentage
+	 */
+	public double getRate(Category category) {
+
+		// Most lookups hit the cache
+		Double rate;
+		synchronized (resolvedRates) {
+			rate = resolvedRates.get(category);
+		}
+		if (rate != null) {
+			return rate;
+		}
+
+		// Walk up the chain until a configured rate is found
+		rate = defaultRate;
+		for (Category parent = category; parent != null; parent = parent.getParent()) {
+			Double configuredRate = rates.get(parent);
+			if (configuredRate != null) {
+				rate = configuredRate;
+				break;
+			}
+		}
+
+		// Two threads may resolve the same category, both results are equal
+		synchronized (resolvedRates) {
+			resolvedRates.put(category, rate);
+		}
+		return rate;
+	}
+
+	/**
+	 * Calculates the tax of the given items on their totals after the discounts
+	 *
+	 * @param items the products and their counts
+	 * @param breakdown the discount breakdown of the same items
+	 * @return the tax
+	 */
+	public double calculateTax(Map<Product, Integer> items, DiscountBreakdown breakdown) {
+		double tax = 0;
+		for (Map.Entry<Product, Integer> entry : items.entrySet()) {
+			Product product = entry.getKey();
+			double taxableAmount = Math.max(0, product.getPrice() * entry.getValue() - breakdown.getLineDiscount(product));
+			tax += taxableAmount * getRate(product.getCategory()) / 100;
+		}
+		return tax;
+	}
+
+	/*
+	 * Returns the default rate
+	 */
+	public double getDefaultRate() {
+		return defaultRate;
+	}
+}
@@ -0,0 +1,122 @@
+package com.trendyol;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests CartPool.java and @{ShoppingCart.reset} method
+ */
+public class CartPoolTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories and products that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Category moviesCategory = new Category("Movies");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product book2 = new Product("The Hobbit", 10.0, booksCategory);
+	private Product movie1 = new Product("The Godfather", 15.0, moviesCategory);
+
+	/*
+	 * Tests @{ShoppingCart.reset} method
+	 */
+	@Test
+	public void testReset() {
+
+		// Fill the cart and take a snapshot of it
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 1);
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 10.0, 1, DiscountType.RATE));
+		shoppingCart.applyCoupon(new Coupon(10.0, 5.0, DiscountType.AMOUNT));
+		ShoppingCart snapshot = shoppingCart.snapshot();
+
+		// Reset cart is empty, the snapshot keeps its contents
+		shoppingCart.reset();
+		Assert.assertTrue(shoppingCart.getItems().isEmpty());
+		Assert.assertTrue(shoppingCart.getAppliedCampaigns().isEmpty());
+		Assert.assertNull(shoppingCart.getCoupon());
+		Assert.assertEquals(0.0, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(55.0, snapshot.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(55.0 - 4.0 - 5.0, snapshot.getTotalAmountAfterDiscounts(), ShoppingCart.EPSILON);
+
+		// Reused cart is priced like a new one, also after a reset without a snapshot
+		for (int i = 0; i < 2; i++) {
+			shoppingCart.addItem(book2, 3);
+			shoppingCart.applyDiscounts(new Campaign(booksCategory, 10.0, 1, DiscountType.RATE));
+			Assert.assertEquals(30.0, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+			Assert.assertEquals(27.0, shoppingCart.getTotalAmountAfterDiscounts(), ShoppingCart.EPSILON);
+			Assert.assertEquals(3, shoppingCart.getCategoryMapping().get(booksCategory).getProductCount());
+			Assert.assertNull(shoppingCart.getCategoryMapping().get(moviesCategory));
+			shoppingCart.reset();
+		}
+
+		// Snapshots can not be reset
+		try {
+			snapshot.reset();
+			Assert.fail("Snapshot is reset");
+		} catch (UnsupportedOperationException e) {
+			Assert.assertEquals("Shopping cart snapshots are read-only", e.getMessage());
+		}
+	}
+
+	/*
+	 * Tests the reuse of the carts by the pool
+	 */
+	@Test
+	public void testPool() {
+
+		// Released cart is handed out again, empty
+		CartPool pool = new CartPool(calculator, 3, 1);
+		ShoppingCart shoppingCart = pool.acquire();
+		shoppingCart.addItem(book1, 1);
+		pool.release(shoppingCart);
+		Assert.assertSame(shoppingCart, pool.acquire());
+		Assert.assertTrue(shoppingCart.getItems().isEmpty());
+
+		// Carts beyond the capacity and the carts of other delivery methods are not pooled
+		ShoppingCart other = pool.acquire();
+		pool.release(shoppingCart);
+		pool.release(other);
+		pool.release(new ShoppingCart(new DeliveryCostCalculator(1.0, 1.0, 1.0)));
+		Assert.assertSame(shoppingCart, pool.acquire());
+		Assert.assertNotSame(other, pool.acquire());
+		Assert.assertEquals(3, pool.getCreatedCount());
+		Assert.assertEquals(2, pool.getReusedCount());
+	}
+
+	/*
+	 * Tests that a cart released twice is not handed out to two owners
+	 */
+	@Test
+	public void testDoubleRelease() {
+
+		// Second release of the same cart is rejected
+		CartPool pool = new CartPool(calculator, 1, 4);
+		ShoppingCart shoppingCart = pool.acquire();
+		pool.release(shoppingCart);
+		try {
+			pool.release(shoppingCart);
+			Assert.fail("Cart is released twice");
+		} catch (IllegalStateException e) {
+			Assert.assertEquals("Shopping cart is already released", e.getMessage());
+		}
+
+		// The cart is pooled once, and can be released again after it is acquired
+		Assert.assertSame(shoppingCart, pool.acquire());
+		Assert.assertNotSame(shoppingCart, pool.acquire());
+		pool.release(shoppingCart);
+		Assert.assertSame(shoppingCart, pool.acquire());
+	}
+}
@@ -0,0 +1,153 @@
+package com.trendyol;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests OffHeapCartStore.java
+ */
+public class OffHeapCartStoreTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories that are used throughout the tests
+	private Category mainCategory = new Category("Movies, Books and Games");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+
+	/*
+	 * Tests @{OffHeapCartStore.park} and @{OffHeapCartStore.rehydrate} methods
+	 */
+	@Test
+	public void testParkAndRehydrate() {
+
+		// Create a cart with campaigns and a coupon
+		ShoppingCart shoppingCart = createShoppingCart();
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 20.0, 2, DiscountType.RATE));
+		shoppingCart.applyCoupon(new Coupon(50.0, 10.0, DiscountType.AMOUNT));
+
+		// Park the cart
+		OffHeapCartStore store = new OffHeapCartStore();
+		int handle = store.park(shoppingCart);
+		Assert.assertEquals(1, store.size());
+
+		// Rehydrate the cart and compare the results
+		ShoppingCart rehydratedCart = store.rehydrate(handle);
+		Assert.assertEquals(0, store.size());
+		Assert.assertEquals(shoppingCart.getItems(), rehydratedCart.getItems());
+		Assert.assertEquals(shoppingCart.getTotalPrice(), rehydratedCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(shoppingCart.getCampaignDiscount(), rehydratedCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(shoppingCart.getCouponDiscount(), rehydratedCart.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(shoppingCart.getDeliveryCost(), rehydratedCart.getDeliveryCost(), ShoppingCart.EPSILON);
+
+		// The handle can not be used twice
+		Assert.assertNull(store.rehydrate(handle));
+		Assert.assertNull(store.rehydrate(-1));
+	}
+
+	/*
+	 * Tests @{OffHeapCartStore.compact} method
+	 */
+	@Test
+	public void testCompact() {
+
+		// Use a small segment size to have several segments
+		OffHeapCartStore store = new OffHeapCartStore(256);
+		int[] handles = new int[100];
+		for (int i = 0; i < handles.length; i++) {
+			handles[i] = store.park(createShoppingCart());
+		}
+
+		// Rehydrate every other cart, then compact the rest
+		for (int i = 0; i < handles.length; i += 2) {
+			store.rehydrate(handles[i]);
+		}
+		// Registries only keep the products of the remaining carts, the categories and the delivery method are shared
+		Assert.assertEquals(50 * 3 + 3 + 1, store.getRegisteredCount());
+		store.compact();
+		Assert.assertEquals(50, store.size());
+		Assert.assertEquals(50 * 3 + 3 + 1, store.getRegisteredCount());
+
+		// Remaining carts should be intact
+		for (int i = 1; i < handles.length; i += 2) {
+			ShoppingCart shoppingCart = store.rehydrate(handles[i]);
+			Assert.assertEquals(3, shoppingCart.productCount());
+			Assert.assertEquals(77.99, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+		}
+		Assert.assertEquals(0, store.getLiveBytes());
+		Assert.assertEquals(0, store.getRegisteredCount());
+	}
+
+	/*
+	 * Tests that the registries do not grow with the products of the rehydrated carts, without any compaction
+	 */
+	@Test
+	public void testRegistriesFollowParkedCarts() {
+
+		// Park and rehydrate carts with fresh product instances, e.g. of reloaded catalogs, one cart stays parked all along
+		OffHeapCartStore store = new OffHeapCartStore();
+		int parkedHandle = store.park(createShoppingCart());
+		for (int i = 0; i < 1000; i++) {
+			int handle = store.park(createShoppingCart());
+			Assert.assertEquals(2 * 3 + 3 + 1, store.getRegisteredCount());
+			Assert.assertEquals(77.99, store.rehydrate(handle).getTotalPrice(), ShoppingCart.EPSILON);
+		}
+		Assert.assertEquals(3 + 3 + 1, store.getRegisteredCount());
+
+		// Ids of the dropped objects are given out again, the parked cart keeps its own
+		ShoppingCart shoppingCart = store.rehydrate(parkedHandle);
+		Assert.assertEquals(3, shoppingCart.productCount());
+		Assert.assertEquals(77.99, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, store.getRegisteredCount());
+	}
+
+	/*
+	 * Tests that a re-priced product with the same title is rehydrated with its own price
+	 */
+	@Test
+	public void testRepricedProduct() {
+
+		// Park the same title with two prices
+		OffHeapCartStore store = new OffHeapCartStore();
+		ShoppingCart oldCart = new ShoppingCart(calculator);
+		oldCart.addItem(new Product("The Lord Of The Rings", 20.0, booksCategory), 1);
+		ShoppingCart newCart = new ShoppingCart(calculator);
+		newCart.addItem(new Product("The Lord Of The Rings", 25.0, booksCategory), 1);
+		int oldHandle = store.park(oldCart);
+		int newHandle = store.park(newCart);
+
+		// Each cart gets its own product back
+		ShoppingCart rehydratedCart = store.rehydrate(newHandle);
+		Assert.assertEquals(25.0, rehydratedCart.getItems().keySet().iterator().next().getPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(25.0, rehydratedCart.getTotalAmountAfterDiscounts(), ShoppingCart.EPSILON);
+		Assert.assertEquals(20.0, store.rehydrate(oldHandle).getItems().keySet().iterator().next().getPrice(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Helper method to fill shopping cart
+	 */
+	private ShoppingCart createShoppingCart() {
+
+		// Create a new empty shopping cart
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+
+		// Add some books and a movie
+		shoppingCart.addItem(new Product("The Lord Of The Rings", 20.0, booksCategory), 2);
+		shoppingCart.addItem(new Product("Da Vinci Code", 15.0, booksCategory), 2);
+		shoppingCart.addItem(new Product("Fight Club", 7.99, moviesCategory), 1);
+
+		// Return the cart
+		return shoppingCart;
+	}
+}
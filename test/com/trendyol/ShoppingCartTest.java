@@ -79,6 +79,56 @@ public class ShoppingCartTest {
 		shoppingCart.print();
 	}
 	
+	/*
+	 * Tests that adding an existing product again updates the category aggregates
+	 */
+	@Test
+	public void testAddItemAgain() {
+		
+		// Add the same book in two steps
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+		shoppingCart.addItem(book1, 1);
+		shoppingCart.addItem(book1, 2);
+		
+		// The campaign needs more than two books, which only the second addition provides
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 10.0, 2, DiscountType.RATE));
+		Assert.assertEquals(60.0 * 10.0 / 100, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		
+		// Parent categories follow as well
+		shoppingCart.applyDiscounts(new Campaign(mainCategory, 5.0, 2, DiscountType.AMOUNT));
+		Assert.assertEquals(6.0 + 5.0, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+	}
+	
+	/*
+	 * Tests that the category totals and the campaigns follow repeated additions of the same product
+	 */
+	@Test
+	public void testCampaignTotalsFollowRepeatedAdditions() {
+		
+		// The campaign needs more than three books
+		Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 10.0, 3, DiscountType.RATE));
+		
+		// Add the same book one by one, the totals of the category and its parent grow with each addition
+		for (int count = 1; count <= 5; count++) {
+			shoppingCart.addItem(book1, 1);
+			for (Category category : new Category[] { booksCategory, mainCategory }) {
+				Assert.assertEquals(count, shoppingCart.getCategoryTotals().get(category).getProductCount());
+				Assert.assertEquals(count * 20.0, shoppingCart.getCategoryTotals().get(category).getTotalPrice(), ShoppingCart.EPSILON);
+			}
+			double expectedDiscount = count > 3 ? count * 20.0 * 10.0 / 100 : 0;
+			Assert.assertEquals(expectedDiscount, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		}
+		
+		// The cart is priced like a cart with a single addition of all books
+		ShoppingCart singleAddition = new ShoppingCart(calculator);
+		singleAddition.addItem(book1, 5);
+		singleAddition.applyDiscounts(new Campaign(booksCategory, 10.0, 3, DiscountType.RATE));
+		Assert.assertEquals(singleAddition.getTotalAmountAfterDiscounts(), shoppingCart.getTotalAmountAfterDiscounts(), ShoppingCart.EPSILON);
+	}
+	
 	/*
 	 * Tests @{ShoppingCart.applyDiscounts} and @{ShoppingCart.getCampaignDiscount} methods
 	 */
@@ -224,6 +274,100 @@ public class ShoppingCartTest {
 		Assert.assertEquals(calculator.calculateFor(shoppingCart), shoppingCart.getDeliveryCost(), ShoppingCart.EPSILON);
 	}
 	
+	/*
+	 * Tests @{ShoppingCart.snapshot} method
+	 */
+	@Test
+	public void testSnapshot() {
+		
+		// Create a sample shopping cart with a campaign
+		ShoppingCart shoppingCart = createShoppingCart();
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 20.0, 5, DiscountType.RATE));
+		double totalPrice = shoppingCart.getTotalPrice();
+		double campaignDiscount = shoppingCart.getCampaignDiscount();
+		
+		// Snapshots are reused until the cart changes
+		ShoppingCart snapshot = shoppingCart.snapshot();
+		Assert.assertTrue(snapshot.isSnapshot());
+		Assert.assertSame(snapshot, shoppingCart.snapshot());
+		Assert.assertSame(snapshot, snapshot.snapshot());
+		
+		// Modify the cart, the snapshot should not be affected
+		Product book = new Product("Pride And Prejudice", 10.0, booksCategory);
+		shoppingCart.addItem(book, 2);
+		shoppingCart.applyCoupon(new Coupon(100.0, 10.0, DiscountType.AMOUNT));
+		Assert.assertNotSame(snapshot, shoppingCart.snapshot());
+		Assert.assertEquals(totalPrice + 20.0, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals((115.0 + 20.0) * 20.0 / 100, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(totalPrice, snapshot.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(campaignDiscount, snapshot.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, snapshot.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertFalse(snapshot.getItems().containsKey(book));
+		
+		// Snapshots can not be modified
+		try {
+			snapshot.addItem(book, 1);
+			Assert.fail("Snapshot was modified");
+		} catch (UnsupportedOperationException e) {
+			Assert.assertEquals(8, snapshot.productCount());
+		}
+	}
+	
+	/*
+	 * Tests @{ShoppingCart.merge} method
+	 */
+	@Test
+	public void testMerge() {
+		
+		// Create a guest cart with an existing and a new product
+		Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+		Product book4 = new Product("Pride And Prejudice", 10.0, booksCategory);
+		Campaign bookCampaign = new Campaign(booksCategory, 20.0, 7, DiscountType.RATE);
+		Coupon smallCoupon = new Coupon(100.0, 5.0, DiscountType.AMOUNT);
+		Coupon largeCoupon = new Coupon(100.0, 10.0, DiscountType.RATE);
+		ShoppingCart guestCart = new ShoppingCart(calculator);
+		guestCart.addItem(book1, 2);
+		guestCart.addItem(book4, 1);
+		guestCart.applyDiscounts(bookCampaign);
+		guestCart.applyCoupon(largeCoupon);
+		
+		// Merge it into the account cart by summing the counts
+		ShoppingCart accountCart = createShoppingCart();
+		accountCart.applyDiscounts(bookCampaign);
+		accountCart.applyCoupon(smallCoupon);
+		accountCart.merge(guestCart, MergePolicy.SUM);
+		
+		// The result should be the same as adding the items one by one
+		ShoppingCart expectedCart = createShoppingCart();
+		expectedCart.addItem(book1, 2);
+		expectedCart.addItem(book4, 1);
+		expectedCart.applyDiscounts(bookCampaign);
+		expectedCart.applyCoupon(largeCoupon);
+		Assert.assertEquals(expectedCart.getItems(), accountCart.getItems());
+		Assert.assertEquals(expectedCart.getTotalPrice(), accountCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(1, accountCart.getAppliedCampaigns().size());
+		Assert.assertEquals((115.0 + 50.0) * 20.0 / 100, accountCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertSame(largeCoupon, accountCart.getCoupon());
+		Assert.assertEquals(expectedCart.getCouponDiscount(), accountCart.getCouponDiscount(), ShoppingCart.EPSILON);
+		
+		// Guest cart is not modified
+		Assert.assertEquals(2, guestCart.productCount());
+		
+		// Merge by keeping the larger counts
+		accountCart = createShoppingCart();
+		accountCart.merge(guestCart, MergePolicy.MAX);
+		Assert.assertEquals(3, (int) accountCart.getItems().get(book1));
+		Assert.assertEquals(1, (int) accountCart.getItems().get(book4));
+		Assert.assertEquals(expectedCart.getTotalPrice() - 40.0, accountCart.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, accountCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		
+		// Merge by keeping the existing counts
+		accountCart = createShoppingCart();
+		accountCart.merge(guestCart, MergePolicy.KEEP_EXISTING);
+		Assert.assertEquals(3, (int) accountCart.getItems().get(book1));
+		Assert.assertEquals(expectedCart.getTotalPrice() - 40.0, accountCart.getTotalPrice(), ShoppingCart.EPSILON);
+	}
+	
 	/*
 	 * Helper method to fill shopping cart
 	 * Note: Didn't use @Before because of the first test case
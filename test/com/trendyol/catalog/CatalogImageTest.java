@@ -0,0 +1,153 @@
+package com.trendyol.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests CatalogImage.java
+ */
+public class CatalogImageTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories that are used throughout the tests
+	private Category mainCategory = new Category("Movies, Books and Games");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+
+	// Catalog that is used throughout the tests, the parent category is only referred to through its children
+	private Catalog catalog = new Catalog(42, Arrays.asList(booksCategory, moviesCategory),
+			Arrays.asList(new Product("The Lord Of The Rings", 20.0, booksCategory), new Product("Da Vinci Code", 15.0, booksCategory),
+					new Product("Fight Club", 7.99, moviesCategory)),
+			Arrays.asList(new Campaign(booksCategory, 20.0, 2, DiscountType.RATE), new Campaign(mainCategory, 5.0, 3, DiscountType.AMOUNT, 0, 1000),
+					new Campaign(booksCategory, 3.0, 1, DiscountType.AMOUNT)));
+
+	/*
+	 * Tests @{CatalogImage.write} and @{CatalogImage.load} methods
+	 */
+	@Test
+	public void testWriteAndLoad() throws IOException {
+
+		// Write and load the image
+		Path path = Files.createTempFile("catalog", ".img");
+		try {
+			CatalogImage.write(catalog, path);
+			Catalog loadedCatalog = CatalogImage.load(path);
+
+			// Check the contents
+			Assert.assertEquals(42, loadedCatalog.getVersion());
+			Assert.assertEquals(catalog.getCategories(), loadedCatalog.getCategories());
+			Assert.assertEquals(catalog.getProducts(), loadedCatalog.getProducts());
+			Assert.assertEquals(mainCategory, loadedCatalog.getCategory("Books").getParent());
+			Assert.assertEquals(7.99, loadedCatalog.getProduct("Fight Club").getPrice(), ShoppingCart.EPSILON);
+			Assert.assertEquals(1000, loadedCatalog.getCampaigns(mainCategory).get(0).getValidUntil());
+			Assert.assertEquals(2, loadedCatalog.getCampaigns(booksCategory).size());
+			Assert.assertEquals(0, loadedCatalog.getCampaigns(moviesCategory).size());
+
+			// Carts of both catalogs should be priced the same
+			Assert.assertEquals(priceOf(catalog), priceOf(loadedCatalog), ShoppingCart.EPSILON);
+			Assert.assertTrue(WarmUp.run(loadedCatalog, calculator, 100) > 0);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Tests that invalid images are rejected
+	 */
+	@Test
+	public void testInvalidImage() throws IOException {
+
+		// Write an image and corrupt one of its records
+		Path path = Files.createTempFile("catalog", ".img");
+		try {
+			CatalogImage.write(catalog, path);
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+				channel.write(ByteBuffer.wrap(new byte[] { 1 }), 40);
+			}
+
+			// Loading should fail
+			try {
+				CatalogImage.load(path);
+				Assert.fail("Corrupted image is loaded");
+			} catch (IOException e) {
+				Assert.assertTrue(e.getMessage().startsWith("Corrupted"));
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Tests that images with damaged header fields or indexes are rejected with an IOException
+	 */
+	@Test
+	public void testCorruptedHeader() throws IOException {
+
+		// Flip a bit of the product count, which is covered by the checksum
+		Path path = Files.createTempFile("catalog", ".img");
+		try {
+			CatalogImage.write(catalog, path);
+			ByteBuffer image = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+			image.put(20, (byte) (image.get(20) ^ 0x40));
+			Files.write(path, image.array());
+			try {
+				CatalogImage.load(path);
+				Assert.fail("Corrupted image is loaded");
+			} catch (IOException e) {
+				Assert.assertTrue(e.getMessage().startsWith("Corrupted"));
+			}
+
+			// Point the first category to a parent that does not exist, with a matching checksum
+			image.put(20, (byte) (image.get(20) ^ 0x40));
+			image.putInt(32, 100);
+			CRC32 checksum = new CRC32();
+			checksum.update(image.array(), 0, 28);
+			checksum.update(image.array(), 32, image.capacity() - 32);
+			image.putInt(28, (int) checksum.getValue());
+			Files.write(path, image.array());
+			try {
+				CatalogImage.load(path);
+				Assert.fail("Corrupted image is loaded");
+			} catch (IOException e) {
+				Assert.assertTrue(e.getMessage().startsWith("Corrupted"));
+				Assert.assertTrue(e.getCause() instanceof IndexOutOfBoundsException);
+			}
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Helper method to price a cart with all products and campaigns of a catalog
+	 */
+	private double priceOf(Catalog catalog) {
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		for (Product product : catalog.getProducts()) {
+			shoppingCart.addItem(product, 2);
+		}
+		shoppingCart.applyDiscounts(catalog.getCampaigns().toArray(new Campaign[0]));
+		return shoppingCart.getTotalAmountAfterDiscounts();
+	}
+}
@@ -0,0 +1,143 @@
+package com.trendyol.currency;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests Market.java
+ */
+public class MarketTest {
+
+	// Currencies that are used throughout the tests
+	private Currency lira = Currency.getInstance("TRY");
+	private Currency euro = Currency.getInstance("EUR");
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories and products that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+
+	/*
+	 * Tests the quotes of a cart in another currency
+	 */
+	@Test
+	public void testQuote() {
+
+		// Create the rates and a cart priced in euros
+		ExchangeRates exchangeRates = new ExchangeRates(createTable(0.025, 1));
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.setMarket(new Market(Locale.GERMANY, euro, exchangeRates));
+
+		// Quote is converted, the cart itself stays in the catalog currency
+		QuoteBuffer buffer = new QuoteBuffer();
+		shoppingCart.quote(buffer);
+		Assert.assertEquals(euro, buffer.getCurrency());
+		Assert.assertEquals(40.0 * 0.025, buffer.getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals((40.0 + shoppingCart.getDeliveryCost()) * 0.025, buffer.getFinalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(40.0, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+
+		// New rates are used by the next quote, older ones are rejected
+		Assert.assertTrue(exchangeRates.update(createTable(0.02, 2)));
+		Assert.assertFalse(exchangeRates.update(createTable(0.03, 1)));
+		shoppingCart.snapshot().quote(buffer);
+		Assert.assertEquals(40.0 * 0.02, buffer.getTotalPrice(), ShoppingCart.EPSILON);
+
+		// A table without the euro is rejected before the swap, the cart keeps pricing with the current one
+		try {
+			exchangeRates.update(new ExchangeRateTable(lira, new HashMap<Currency, Double>(), 3));
+			Assert.fail("Table without the market currency is published");
+		} catch (IllegalArgumentException e) {
+			Assert.assertEquals("Exchange rates are missing for [EUR]", e.getMessage());
+		}
+		Assert.assertEquals(2, exchangeRates.getTable().getVersion());
+		shoppingCart.quote(buffer);
+		Assert.assertEquals(40.0 * 0.02, buffer.getTotalPrice(), ShoppingCart.EPSILON);
+
+		// Markets of currencies without a rate are rejected as well
+		try {
+			new Market(Locale.US, Currency.getInstance("USD"), exchangeRates);
+			Assert.fail("Market without a rate is created");
+		} catch (IllegalArgumentException e) {
+			Assert.assertEquals("No exchange rate for USD", e.getMessage());
+		}
+
+		// Carts without a market are quoted in the catalog currency
+		ShoppingCart domesticCart = new ShoppingCart(calculator);
+		domesticCart.addItem(book1, 2);
+		domesticCart.quote(buffer);
+		Assert.assertNull(buffer.getCurrency());
+		Assert.assertEquals(40.0, buffer.getTotalPrice(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests the rate validation and the conversions of the table
+	 */
+	@Test
+	public void testTable() {
+
+		// Conversions go through the base currency
+		ExchangeRateTable table = createTable(0.025, 1);
+		Assert.assertEquals(1.0, table.getRate(lira), ShoppingCart.EPSILON);
+		Assert.assertEquals(40.0, table.convert(1.0, euro, lira), ShoppingCart.EPSILON);
+
+		// Unknown currencies and invalid rates are rejected
+		try {
+			table.getRate(Currency.getInstance("JPY"));
+			Assert.fail("Unknown currency is converted");
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().startsWith("No exchange rate"));
+		}
+		try {
+			createTable(-1, 1);
+			Assert.fail("Negative rate is accepted");
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Invalid exchange rate"));
+		}
+	}
+
+	/*
+	 * Tests the caching of the formatters
+	 */
+	@Test
+	public void testFormats() {
+
+		// Formatters are reused by the same thread
+		Assert.assertSame(CurrencyFormats.get(Locale.GERMANY, euro), CurrencyFormats.get(Locale.GERMANY, euro));
+		Assert.assertNotSame(CurrencyFormats.get(Locale.GERMANY, euro), CurrencyFormats.get(Locale.US, euro));
+
+		// The currency of the market is used regardless of the locale
+		Assert.assertTrue(CurrencyFormats.format(1234.5, Locale.GERMANY, euro).startsWith("1.234,50"));
+		Assert.assertTrue(CurrencyFormats.format(1234.5, Locale.US, euro).contains("1,234.50"));
+
+		// Markets resolve the per-thread formatters once and share them
+		Market market = new Market(Locale.GERMANY, euro, new ExchangeRates(createTable(0.025, 1)));
+		Assert.assertSame(CurrencyFormats.formats(Locale.GERMANY, euro), CurrencyFormats.formats(Locale.GERMANY, euro));
+		Assert.assertEquals(CurrencyFormats.format(1234.5, Locale.GERMANY, euro), market.format(1234.5));
+	}
+
+	/*
+	 * Helper method to create a table with the given euro rate
+	 */
+	private ExchangeRateTable createTable(double euroRate, long version) {
+		Map<Currency, Double> rates = new HashMap<Currency, Double>();
+		rates.put(euro, euroRate);
+		return new ExchangeRateTable(lira, rates, version);
+	}
+}
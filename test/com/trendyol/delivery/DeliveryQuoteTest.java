@@ -0,0 +1,156 @@
+package com.trendyol.delivery;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.currency.ExchangeRateTable;
+import com.trendyol.currency.ExchangeRates;
+import com.trendyol.currency.Market;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests @{ShoppingCart.quoteDelivery} method
+ */
+public class DeliveryQuoteTest {
+
+	// Categories and products that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Category moviesCategory = new Category("Movies");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product movie1 = new Product("The Godfather", 15.0, moviesCategory);
+	private Product chair = new Product("Chair", 80.0, new Category("Furniture"), 6.0, 120.0);
+
+	/*
+	 * Tests the quotes of a few delivery methods
+	 */
+	@Test
+	public void testQuoteDelivery() {
+
+		// Create a discounted cart
+		DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 1);
+		shoppingCart.applyCoupon(new Coupon(10.0, 5.0, DiscountType.AMOUNT));
+
+		// Compare the calculator with a flat rate that reads the cart itself
+		List<DeliveryMethod> methods = new ArrayList<DeliveryMethod>();
+		methods.add(new DeliveryCostCalculator(1.0, 1.0, 0.0));
+		methods.add(calculator);
+		methods.add(cart -> cart.isEmpty() ? 0 : 7.5);
+		List<DeliveryQuote> quotes = shoppingCart.quoteDelivery(methods);
+
+		// Quotes are in the given order and the cart keeps its delivery method
+		Assert.assertEquals(3, quotes.size());
+		Assert.assertEquals(4.0, quotes.get(0).getDeliveryCost(), ShoppingCart.EPSILON);
+		Assert.assertSame(calculator, quotes.get(1).getDeliveryMethod());
+		Assert.assertEquals(shoppingCart.getDeliveryCost(), quotes.get(1).getDeliveryCost(), ShoppingCart.EPSILON);
+		Assert.assertEquals(50.0 + 7.5, quotes.get(2).getFinalPrice(), ShoppingCart.EPSILON);
+		Assert.assertSame(calculator, shoppingCart.getDeliveryMethod());
+
+		// Empty carts are delivered for free
+		for (DeliveryQuote quote : new ShoppingCart(calculator).quoteDelivery(methods)) {
+			Assert.assertEquals(0.0, quote.getDeliveryCost(), ShoppingCart.EPSILON);
+		}
+	}
+
+	/*
+	 * Tests the parallel evaluation of a long list of delivery methods
+	 */
+	@Test
+	public void testQuoteDeliveryParallel() {
+
+		// Create the cart and more methods than the parallel threshold
+		ShoppingCart shoppingCart = new ShoppingCart(null);
+		shoppingCart.addItem(book1, 1);
+		shoppingCart.addItem(movie1, 3);
+		List<DeliveryCostCalculator> methods = new ArrayList<DeliveryCostCalculator>();
+		for (int i = 0; i < ShoppingCart.PARALLEL_DELIVERY_QUOTES * 4; i++) {
+			methods.add(new DeliveryCostCalculator(i, 1.0, 1.0));
+		}
+
+		// Each method is priced on the same figures
+		List<DeliveryQuote> quotes = shoppingCart.quoteDelivery(methods);
+		for (int i = 0; i < methods.size(); i++) {
+			Assert.assertSame(methods.get(i), quotes.get(i).getDeliveryMethod());
+			Assert.assertEquals(i * 2 + 2 + 1, quotes.get(i).getDeliveryCost(), ShoppingCart.EPSILON);
+			Assert.assertEquals(65.0 + quotes.get(i).getDeliveryCost(), quotes.get(i).getFinalPrice(), ShoppingCart.EPSILON);
+		}
+	}
+
+	/*
+	 * Tests the quotes of a cart in another currency
+	 */
+	@Test
+	public void testQuoteDeliveryMarket() {
+
+		// Create a cart priced in euros
+		Currency euro = Currency.getInstance("EUR");
+		ExchangeRateTable table = new ExchangeRateTable(Currency.getInstance("TRY"), Collections.singletonMap(euro, 0.025), 1);
+		ShoppingCart shoppingCart = new ShoppingCart(null);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.setMarket(new Market(Locale.GERMANY, euro, new ExchangeRates(table)));
+
+		// Linked lists are accepted as well, the costs and the prices are converted like the ones of a quote
+		List<DeliveryMethod> methods = new LinkedList<DeliveryMethod>();
+		for (int i = 0; i < ShoppingCart.PARALLEL_DELIVERY_QUOTES; i++) {
+			methods.add(new DeliveryCostCalculator(i, 0.0, 0.0));
+		}
+		List<DeliveryQuote> quotes = shoppingCart.quoteDelivery(methods);
+		for (int i = 0; i < methods.size(); i++) {
+			Assert.assertEquals(euro, quotes.get(i).getCurrency());
+			Assert.assertEquals(i * 0.025, quotes.get(i).getDeliveryCost(), ShoppingCart.EPSILON);
+			Assert.assertEquals((40.0 + i) * 0.025, quotes.get(i).getFinalPrice(), ShoppingCart.EPSILON);
+		}
+	}
+
+	/*
+	 * Tests that the methods which read the cart see the state that the figures were computed on
+	 */
+	@Test
+	public void testQuoteDeliveryConsistentCart() {
+
+		// Create a cart with a single parcel
+		ParcelDeliveryCalculator parcelCalculator = new ParcelDeliveryCalculator(5.0, 0.5, 1.0, 10.0, 50.0);
+		ShoppingCart shoppingCart = new ShoppingCart(null);
+		shoppingCart.addItem(book1, 2);
+		double expectedCost = parcelCalculator.calculateFor(shoppingCart);
+
+		// Each method adds a heavy product to the cart before it reads the cart, sequentially and in parallel
+		DeliveryMethod mutatingMethod = new DeliveryMethod() {
+			@Override
+			public double calculateFor(ShoppingCart cart) {
+				return parcelCalculator.calculateFor(cart);
+			}
+
+			@Override
+			public double quoteFor(DeliveryContext context) {
+				shoppingCart.addItem(chair, 1);
+				return parcelCalculator.quoteFor(context);
+			}
+		};
+		for (int count : new int[] { 1, ShoppingCart.PARALLEL_DELIVERY_QUOTES * 2 }) {
+			List<DeliveryQuote> quotes = shoppingCart.quoteDelivery(Collections.nCopies(count, mutatingMethod));
+			double totalAmount = shoppingCart.snapshot().getTotalAmountAfterDiscounts();
+			for (DeliveryQuote quote : quotes) {
+				Assert.assertEquals(expectedCost, quote.getDeliveryCost(), ShoppingCart.EPSILON);
+				Assert.assertTrue(quote.getFinalPrice() < totalAmount);
+			}
+			expectedCost = parcelCalculator.calculateFor(shoppingCart);
+		}
+	}
+}
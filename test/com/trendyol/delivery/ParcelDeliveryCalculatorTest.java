@@ -0,0 +1,98 @@
+package com.trendyol.delivery;
+
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.OffHeapCartStore;
+import com.trendyol.ShoppingCart;
+import com.trendyol.product.Category;
+import com.trendyol.product.CategoryInfoHolder;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests ParcelDeliveryCalculator.java and the weight and volume totals of the categories
+ */
+public class ParcelDeliveryCalculatorTest {
+
+	// Calculator instance, parcels of 10 kilograms and 50 liters
+	private ParcelDeliveryCalculator calculator = new ParcelDeliveryCalculator(5.0, 0.5, 1.0, 10.0, 50.0);
+
+	// Categories and products that are used throughout the tests
+	private Category mainCategory = new Category("Movies and Books");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+	private Category furnitureCategory = new Category("Furniture");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory, 1.5, 2.0);
+	private Product movie1 = new Product("The Godfather", 15.0, moviesCategory, 0.25, 0.5);
+	private Product chair = new Product("Chair", 80.0, furnitureCategory, 6.0, 120.0);
+	private Product poster = new Product("Poster", 5.0, furnitureCategory);
+
+	/*
+	 * Tests the totals that are kept while the cart changes
+	 */
+	@Test
+	public void testCategoryTotals() {
+
+		// Totals roll up the category tree
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 4);
+		CategoryInfoHolder mainHolder = shoppingCart.getCategoryTotals().get(mainCategory);
+		Assert.assertEquals(4.0, mainHolder.getTotalWeight(), ShoppingCart.EPSILON);
+		Assert.assertEquals(6.0, mainHolder.getTotalVolume(), ShoppingCart.EPSILON);
+		Assert.assertEquals(3.0, shoppingCart.getCategoryTotals().get(booksCategory).getTotalWeight(), ShoppingCart.EPSILON);
+
+		// Merges and snapshots keep the totals
+		ShoppingCart other = new ShoppingCart(calculator);
+		other.addItem(book1, 1);
+		ShoppingCart snapshot = shoppingCart.snapshot();
+		shoppingCart.merge(other, MergePolicy.SUM);
+		Assert.assertEquals(5.5, shoppingCart.getCategoryTotals().get(mainCategory).getTotalWeight(), ShoppingCart.EPSILON);
+		Assert.assertEquals(4.0, snapshot.getCategoryTotals().get(mainCategory).getTotalWeight(), ShoppingCart.EPSILON);
+
+		// Parked carts are restored with the same totals
+		OffHeapCartStore store = new OffHeapCartStore(64 * 1024);
+		ShoppingCart restored = store.rehydrate(store.park(shoppingCart));
+		Assert.assertEquals(8.0, restored.getCategoryTotals().get(mainCategory).getTotalVolume(), ShoppingCart.EPSILON);
+
+		// Invalid attributes are rejected
+		try {
+			new Product("Nothing", 1.0, booksCategory, -1.0, 0.0);
+			Assert.fail("Negative weight is accepted");
+		} catch (IllegalArgumentException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Invalid weight or volume"));
+		}
+	}
+
+	/*
+	 * Tests @{ParcelDeliveryCalculator.calculateFor} method
+	 */
+	@Test
+	public void testCalculateFor() {
+
+		// Null check and empty cart
+		Assert.assertEquals(0, calculator.calculateFor(null), ShoppingCart.EPSILON);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		Assert.assertEquals(0, calculator.calculateFor(shoppingCart), ShoppingCart.EPSILON);
+
+		// Products without attributes still need a parcel
+		shoppingCart.addItem(poster, 1);
+		Assert.assertEquals(5.0 + 1.0, shoppingCart.getDeliveryCost(), ShoppingCart.EPSILON);
+
+		// Chairs need a parcel for every 50 liters, books and movies are shipped separately
+		shoppingCart.addItem(chair, 2);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 4);
+		Assert.assertEquals(5, calculator.estimateParcels(12.0, 240.0));
+		double expected = 5.0 * (5 + 1) + 0.5 * (12.0 + 4.0) + 1.0;
+		Assert.assertEquals(expected, shoppingCart.getDeliveryCost(), ShoppingCart.EPSILON);
+		Assert.assertEquals(expected, shoppingCart.quoteDelivery(Collections.singletonList(calculator)).get(0).getDeliveryCost(),
+				ShoppingCart.EPSILON);
+	}
+}
@@ -0,0 +1,82 @@
+package com.trendyol.differential;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests DifferentialHarness.java
+ */
+public class DifferentialHarnessTest {
+
+	/*
+	 * The cart should agree with the reference oracle
+	 */
+	@Test
+	public void testCartAgreesWithReference() {
+		List<DifferentialHarness.Failure> failures = new DifferentialHarness(new CartPricingEngine(), 2020).run(20_000);
+		Assert.assertTrue(failures.toString(), failures.isEmpty());
+	}
+
+	/*
+	 * The quote of the cart should agree with the reference oracle
+	 */
+	@Test
+	public void testQuoteAgreesWithReference() {
+		List<DifferentialHarness.Failure> failures = new DifferentialHarness(new QuotePricingEngine(), 2021).run(20_000);
+		Assert.assertTrue(failures.toString(), failures.isEmpty());
+	}
+
+	/*
+	 * A broken engine should be caught and minimized
+	 */
+	@Test
+	public void testMinimization() {
+
+		// An engine that forgets the coupon
+		PricingEngine brokenEngine = new CartPricingEngine() {
+			@Override
+			public double couponDiscount(ShoppingCart cart) {
+				return 0;
+			}
+		};
+
+		// The minimized scenario should contain only a few items and the coupon
+		List<DifferentialHarness.Failure> failures = new DifferentialHarness(brokenEngine, 2020).run(1_000);
+		Assert.assertFalse(failures.isEmpty());
+		for (DifferentialHarness.Failure failure : failures) {
+			Assert.assertTrue(failure.getMinimized().size() < failure.getOriginal().size());
+		}
+	}
+
+	/*
+	 * An engine that forgets the tax should be caught, and the same failures should be reported on every run
+	 */
+	@Test
+	public void testDeterministicFailures() {
+
+		// An engine that forgets the tax
+		PricingEngine brokenEngine = new CartPricingEngine() {
+			@Override
+			public double tax(ShoppingCart cart) {
+				return 0;
+			}
+		};
+
+		// Both runs should report the failures of the same scenarios in the same order
+		List<DifferentialHarness.Failure> failures = new DifferentialHarness(brokenEngine, 2020).run(1_000);
+		List<DifferentialHarness.Failure> repeated = new DifferentialHarness(brokenEngine, 2020).run(1_000);
+		Assert.assertFalse(failures.isEmpty());
+		Assert.assertEquals(failures.size(), repeated.size());
+		for (int i = 0; i < failures.size(); i++) {
+			Assert.assertEquals(failures.get(i).getOriginal().toString(), repeated.get(i).getOriginal().toString());
+			Assert.assertTrue(failures.get(i).getMismatch().startsWith("tax"));
+		}
+	}
+}
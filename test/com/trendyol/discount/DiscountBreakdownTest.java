@@ -0,0 +1,98 @@
+package com.trendyol.discount;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests DiscountBreakdown.java
+ */
+public class DiscountBreakdownTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories that are used throughout the tests
+	private Category mainCategory = new Category("Movies, Books and Games");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+
+	// Products that are used throughout the tests
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product book2 = new Product("Da Vinci Code", 15.0, booksCategory);
+	private Product movie1 = new Product("Fight Club", 7.99, moviesCategory);
+
+	/*
+	 * Tests @{DiscountBreakdown.calculate} method through @{ShoppingCart.getDiscountBreakdown}
+	 */
+	@Test
+	public void testAllocations() {
+
+		// Create the cart
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 3);
+		shoppingCart.addItem(book2, 2);
+		shoppingCart.addItem(movie1, 4);
+
+		// Apply a rate campaign on books, an amount campaign on the main category and a coupon
+		Campaign bookCampaign = new Campaign(booksCategory, 20.0, 3, DiscountType.RATE);
+		Campaign mainCampaign = new Campaign(mainCategory, 10.0, 5, DiscountType.AMOUNT);
+		Campaign movieCampaign = new Campaign(moviesCategory, 50.0, 10, DiscountType.RATE);
+		shoppingCart.applyDiscounts(bookCampaign, mainCampaign, movieCampaign);
+		shoppingCart.applyCoupon(new Coupon(50.0, 10.0, DiscountType.RATE));
+		DiscountBreakdown breakdown = shoppingCart.getDiscountBreakdown();
+
+		// Check the campaign discounts
+		double totalPrice = 60.0 + 30.0 + 31.96;
+		Assert.assertEquals(90.0 * 20.0 / 100, breakdown.getCampaignDiscounts().get(bookCampaign), ShoppingCart.EPSILON);
+		Assert.assertEquals(10.0, breakdown.getCampaignDiscounts().get(mainCampaign), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, breakdown.getCampaignDiscounts().get(movieCampaign), ShoppingCart.EPSILON);
+		Assert.assertEquals(28.0, breakdown.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals((totalPrice - 28.0) * 10.0 / 100, breakdown.getCouponDiscount(), ShoppingCart.EPSILON);
+
+		// Lines receive the rate campaign directly and the amount campaign in proportion
+		double book1Discount = 60.0 * 20.0 / 100 + 10.0 * 60.0 / totalPrice;
+		double movie1Discount = 10.0 * 31.96 / totalPrice;
+		Assert.assertEquals(book1Discount, breakdown.getLineCampaignDiscounts().get(book1), ShoppingCart.EPSILON);
+		Assert.assertEquals(movie1Discount, breakdown.getLineCampaignDiscounts().get(movie1), ShoppingCart.EPSILON);
+		Assert.assertEquals((31.96 - movie1Discount) * 10.0 / 100, breakdown.getLineCouponDiscounts().get(movie1), ShoppingCart.EPSILON);
+
+		// Allocations on the root category should add up to the totals
+		Assert.assertEquals(breakdown.getCampaignDiscount(), breakdown.getCategoryCampaignDiscounts().get(mainCategory), ShoppingCart.EPSILON);
+		Assert.assertEquals(breakdown.getCouponDiscount(), breakdown.getCategoryCouponDiscounts().get(mainCategory), ShoppingCart.EPSILON);
+		double lineTotal = 0;
+		for (Product product : shoppingCart.getItems().keySet()) {
+			lineTotal += breakdown.getLineDiscount(product);
+		}
+		Assert.assertEquals(breakdown.getCampaignDiscount() + breakdown.getCouponDiscount(), lineTotal, ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests the caching of the breakdown on the cart
+	 */
+	@Test
+	public void testCaching() {
+
+		// Create the cart with a campaign that needs more than two books
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 20.0, 2, DiscountType.RATE));
+		shoppingCart.addItem(book1, 2);
+
+		// The breakdown is reused until the cart changes
+		DiscountBreakdown breakdown = shoppingCart.getDiscountBreakdown();
+		Assert.assertSame(breakdown, shoppingCart.getDiscountBreakdown());
+		Assert.assertEquals(0, breakdown.getCampaignDiscount(), ShoppingCart.EPSILON);
+
+		// Adding the same product again should unlock the campaign
+		shoppingCart.addItem(book1, 1);
+		Assert.assertNotSame(breakdown, shoppingCart.getDiscountBreakdown());
+		Assert.assertEquals(60.0 * 20.0 / 100, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+	}
+}
@@ -0,0 +1,99 @@
+package com.trendyol.discount;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests NudgeIndex.java
+ */
+public class NudgeIndexTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories that are used throughout the tests
+	private Category mainCategory = new Category("Movies, Books and Games");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+
+	// Products that are used throughout the tests
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product movie1 = new Product("Fight Club", 7.99, moviesCategory);
+
+	/*
+	 * Tests @{ShoppingCart.getCampaignNudges} method as the cart changes
+	 */
+	@Test
+	public void testCampaignNudges() {
+
+		// Create the cart with campaigns of different thresholds
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		Campaign bookCampaign = new Campaign(booksCategory, 20.0, 2, DiscountType.RATE);
+		Campaign mainCampaign = new Campaign(mainCategory, 10.0, 5, DiscountType.AMOUNT);
+		Campaign movieCampaign = new Campaign(moviesCategory, 50.0, 1, DiscountType.RATE);
+		shoppingCart.applyDiscounts(bookCampaign, mainCampaign);
+		shoppingCart.addItem(book1, 1);
+
+		// Book campaign needs two more books, main campaign five more items
+		List<Nudge> nudges = shoppingCart.getCampaignNudges(10);
+		Assert.assertEquals(2, nudges.size());
+		Assert.assertSame(bookCampaign, nudges.get(0).getCampaign());
+		Assert.assertEquals(2, nudges.get(0).getItemGap());
+		Assert.assertEquals(5, nudges.get(1).getItemGap());
+
+		// The index follows the additions and the new campaigns
+		shoppingCart.addItem(book1, 1);
+		shoppingCart.applyDiscounts(movieCampaign);
+		nudges = shoppingCart.getCampaignNudges(2);
+		Assert.assertEquals(2, nudges.size());
+		Assert.assertEquals(1, nudges.get(0).getItemGap());
+		Assert.assertEquals(2, nudges.get(1).getItemGap());
+		Assert.assertSame(movieCampaign, nudges.get(1).getCampaign());
+
+		// Unlocked campaigns are dropped
+		ShoppingCart otherCart = new ShoppingCart(calculator);
+		otherCart.addItem(book1, 1);
+		otherCart.addItem(movie1, 2);
+		shoppingCart.merge(otherCart, MergePolicy.SUM);
+		nudges = shoppingCart.getCampaignNudges(10);
+		Assert.assertEquals(1, nudges.size());
+		Assert.assertSame(mainCampaign, nudges.get(0).getCampaign());
+		Assert.assertEquals(1, nudges.get(0).getItemGap());
+
+		// Snapshots have the same nudges
+		Assert.assertEquals(1, shoppingCart.snapshot().getCampaignNudges(10).get(0).getItemGap());
+		Assert.assertEquals(0, shoppingCart.getCampaignNudges(0).size());
+	}
+
+	/*
+	 * Tests @{ShoppingCart.getCouponNudge} method
+	 */
+	@Test
+	public void testCouponNudge() {
+
+		// Coupon needs 100 after the campaigns
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		Assert.assertNull(shoppingCart.getCouponNudge());
+		shoppingCart.applyCoupon(new Coupon(100.0, 10.0, DiscountType.RATE));
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 5.0, 0, DiscountType.AMOUNT));
+		shoppingCart.addItem(book1, 2);
+
+		// The gap is measured on the price after the campaign discounts
+		Assert.assertEquals(100.0 - (40.0 - 5.0), shoppingCart.getCouponNudge().getPriceGap(), ShoppingCart.EPSILON);
+
+		// No nudge once the coupon is unlocked
+		shoppingCart.addItem(book1, 4);
+		Assert.assertNull(shoppingCart.getCouponNudge());
+	}
+}
@@ -0,0 +1,201 @@
+package com.trendyol.discount;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests PromotionScheduler.java
+ */
+public class PromotionSchedulerTest {
+
+	// Categories that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+
+	// Promotions with overlapping periods
+	private Campaign alwaysCampaign = new Campaign(booksCategory, 5.0, 0, DiscountType.AMOUNT);
+	private Campaign weekCampaign = new Campaign(booksCategory, 10.0, 0, DiscountType.AMOUNT, 100, 200);
+	private Campaign weekendCampaign = new Campaign(booksCategory, 20.0, 0, DiscountType.AMOUNT, 150, 300);
+	private Coupon weekCoupon = new Coupon(0.0, 1.0, DiscountType.AMOUNT, 100, 200);
+
+	/*
+	 * Tests @{PromotionScheduler.epochAt} method
+	 */
+	@Test
+	public void testEpochAt() {
+
+		// Boundaries are 100, 150, 200 and 300
+		PromotionScheduler scheduler = new PromotionScheduler(Arrays.asList(alwaysCampaign, weekCampaign, weekendCampaign),
+				Collections.singletonList(weekCoupon), 0);
+		Assert.assertEquals(5, scheduler.getEpochCount());
+
+		// Check the active campaigns of each epoch
+		Assert.assertEquals(Arrays.asList(alwaysCampaign), scheduler.epochAt(99).getCampaigns());
+		Assert.assertEquals(Arrays.asList(alwaysCampaign, weekCampaign), scheduler.epochAt(100).getCampaigns());
+		Assert.assertEquals(Arrays.asList(alwaysCampaign, weekCampaign, weekendCampaign), scheduler.epochAt(199).getCampaigns());
+		Assert.assertEquals(Arrays.asList(alwaysCampaign, weekendCampaign), scheduler.epochAt(200).getCampaigns());
+		Assert.assertEquals(Arrays.asList(alwaysCampaign), scheduler.epochAt(Long.MAX_VALUE).getCampaigns());
+
+		// Check the epoch limits and the coupons
+		Assert.assertEquals(150, scheduler.epochAt(175).getStartTime());
+		Assert.assertEquals(200, scheduler.epochAt(175).getEndTime());
+		Assert.assertTrue(scheduler.epochAt(175).isActive(weekCoupon));
+		Assert.assertFalse(scheduler.epochAt(200).isActive(weekCoupon));
+	}
+
+	/*
+	 * Tests @{PromotionScheduler.advance} method on carts
+	 */
+	@Test
+	public void testAdvance() {
+
+		// Two carts share the scheduler
+		PromotionScheduler scheduler = new PromotionScheduler(Arrays.asList(weekCampaign, weekendCampaign), Collections.<Coupon>emptyList(), 0);
+		ShoppingCart shoppingCart1 = createShoppingCart(scheduler);
+		ShoppingCart shoppingCart2 = createShoppingCart(scheduler);
+		shoppingCart2.applyDiscounts(alwaysCampaign);
+		shoppingCart2.applyCoupon(weekCoupon);
+		Assert.assertEquals(0, shoppingCart1.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(5.0, shoppingCart2.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+
+		// A snapshot keeps its epoch
+		ShoppingCart snapshot = shoppingCart1.snapshot();
+
+		// Switch both carts at once
+		Assert.assertTrue(scheduler.advance(160));
+		Assert.assertFalse(scheduler.advance(170));
+		Assert.assertEquals(30.0, shoppingCart1.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(35.0, shoppingCart2.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(1.0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, snapshot.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(30.0, shoppingCart1.snapshot().getCampaignDiscount(), ShoppingCart.EPSILON);
+
+		// Campaigns end
+		scheduler.advance(300);
+		Assert.assertEquals(0, shoppingCart1.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests the promotions that are applied to a cart but not scheduled
+	 */
+	@Test
+	public void testRegister() {
+
+		// Applied promotions keep the future ends of their periods on the scheduler
+		Campaign campaign = new Campaign(booksCategory, 10.0, 0, DiscountType.AMOUNT, 1000, 2000);
+		Coupon coupon = new Coupon(0.0, 10.0, DiscountType.AMOUNT, 1000, 2000);
+		PromotionScheduler scheduler = new PromotionScheduler(Collections.<Campaign>emptyList(), Collections.<Coupon>emptyList(), 1500);
+		ShoppingCart shoppingCart = createShoppingCart(scheduler);
+		shoppingCart.applyDiscounts(campaign);
+		shoppingCart.applyCoupon(coupon);
+		Assert.assertEquals(1, scheduler.getEpochCount());
+		Assert.assertEquals(1, scheduler.getBoundaryCount());
+		Assert.assertEquals(10.0, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(10.0, shoppingCart.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertFalse(scheduler.register(coupon));
+
+		// They end with their periods, also when an unrelated promotion is scheduled
+		scheduler.advance(3000);
+		Assert.assertEquals(0, shoppingCart.getCampaignDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(0, shoppingCart.getCouponDiscount(), ShoppingCart.EPSILON);
+		PromotionScheduler otherScheduler = new PromotionScheduler(Collections.singletonList(weekCampaign), Collections.<Coupon>emptyList(), 1500);
+		ShoppingCart otherCart = createShoppingCart(otherScheduler);
+		otherCart.applyCoupon(coupon);
+		Assert.assertEquals(10.0, otherCart.getCouponDiscount(), ShoppingCart.EPSILON);
+		otherScheduler.advance(3000);
+		Assert.assertEquals(0, otherCart.getCouponDiscount(), ShoppingCart.EPSILON);
+
+		// Promotions applied before the scheduler is set are registered with it
+		ShoppingCart laterCart = new ShoppingCart(new DeliveryCostCalculator(2.0, 0.5, 2.99));
+		laterCart.addItem(new Product("The Hobbit", 10.0, booksCategory), 2);
+		laterCart.applyCoupon(new Coupon(0.0, 5.0, DiscountType.AMOUNT, 2500, 3500));
+		laterCart.setPromotionScheduler(scheduler);
+		Assert.assertEquals(5.0, laterCart.getCouponDiscount(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests that registering the promotions of a cart does not invalidate the other carts
+	 */
+	@Test
+	public void testRegisterKeepsEpoch() {
+
+		// Two carts share the scheduler, the first one is already priced
+		PromotionScheduler scheduler = new PromotionScheduler(Arrays.asList(weekCampaign, weekendCampaign), Collections.<Coupon>emptyList(), 160);
+		ShoppingCart shoppingCart1 = createShoppingCart(scheduler);
+		ShoppingCart shoppingCart2 = createShoppingCart(scheduler);
+		DiscountBreakdown breakdown = shoppingCart1.getDiscountBreakdown();
+		PromotionEpoch epoch = scheduler.getCurrentEpoch();
+
+		// Coupons of the second cart, one that started before the current time and one that starts later
+		shoppingCart2.applyCoupon(new Coupon(0.0, 3.0, DiscountType.AMOUNT, 155, 170));
+		Assert.assertEquals(3.0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertSame(epoch, scheduler.getCurrentEpoch());
+		Assert.assertSame(breakdown, shoppingCart1.getDiscountBreakdown());
+		Assert.assertEquals(1, scheduler.getBoundaryCount());
+
+		// The epoch is kept until a boundary is passed, then the passed boundaries are dropped
+		Assert.assertFalse(scheduler.advance(165));
+		Assert.assertSame(breakdown, shoppingCart1.getDiscountBreakdown());
+		Assert.assertEquals(3.0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertTrue(scheduler.advance(175));
+		Assert.assertEquals(0, scheduler.getBoundaryCount());
+		Assert.assertEquals(0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertEquals(30.0, shoppingCart1.getCampaignDiscount(), ShoppingCart.EPSILON);
+
+		// Moving back does not keep the epoch over the dropped boundaries
+		Assert.assertTrue(scheduler.advance(160));
+		Assert.assertEquals(3.0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+		Assert.assertTrue(scheduler.advance(172));
+		Assert.assertEquals(0, shoppingCart2.getCouponDiscount(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests the interval index on many overlapping campaigns
+	 */
+	@Test
+	public void testOverlappingCampaigns() {
+
+		// Nested periods, campaign i is active between i and 2n - i
+		int count = 200;
+		List<Campaign> campaigns = new ArrayList<Campaign>();
+		for (int i = 0; i < count; i++) {
+			campaigns.add(new Campaign(booksCategory, 1.0, 0, DiscountType.AMOUNT, i, 2 * count - i));
+		}
+		PromotionScheduler scheduler = new PromotionScheduler(campaigns, Collections.<Coupon>emptyList(), 0);
+
+		// Each epoch has the campaigns that cover it, in the registration order
+		for (long time = -1; time <= 2 * count; time += 7) {
+			List<Campaign> expected = new ArrayList<Campaign>();
+			for (Campaign campaign : campaigns) {
+				if (campaign.isActiveAt(time)) {
+					expected.add(campaign);
+				}
+			}
+			Assert.assertEquals(expected, scheduler.epochAt(time).getCampaigns());
+		}
+	}
+
+	/*
+	 * Helper method to create a cart that uses the scheduler
+	 */
+	private ShoppingCart createShoppingCart(PromotionScheduler scheduler) {
+		ShoppingCart shoppingCart = new ShoppingCart(new DeliveryCostCalculator(2.0, 0.5, 2.99));
+		shoppingCart.addItem(new Product("The Lord Of The Rings", 20.0, booksCategory), 5);
+		shoppingCart.setPromotionScheduler(scheduler);
+		return shoppingCart;
+	}
+}
@@ -0,0 +1,133 @@
+package com.trendyol.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests CartEventStream.java
+ */
+public class CartEventStreamTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories and products that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product book2 = new Product("Da Vinci Code", 15.0, booksCategory);
+
+	/*
+	 * Tests the events published by the cart
+	 */
+	@Test
+	public void testCartEvents() {
+
+		// Create a cart that publishes its changes
+		CartEventStream stream = new CartEventStream(16, BackPressurePolicy.DROP);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.setEventStream(stream);
+
+		// Modify the cart
+		Campaign campaign = new Campaign(booksCategory, 20.0, 2, DiscountType.RATE);
+		Coupon coupon = new Coupon(50.0, 10.0, DiscountType.AMOUNT);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.applyDiscounts(campaign);
+		shoppingCart.applyCoupon(coupon);
+		ShoppingCart otherCart = new ShoppingCart(calculator);
+		otherCart.addItem(book1, 1);
+		otherCart.addItem(book2, 1);
+		shoppingCart.merge(otherCart, MergePolicy.SUM);
+
+		// Consume the events in a single batch
+		List<String> events = new ArrayList<String>();
+		int count = stream.poll((event, sequence, endOfBatch) -> {
+			Assert.assertSame(shoppingCart, event.getCart());
+			events.add(sequence + ":" + event.getType() + ":" + event.getCount() + ":" + endOfBatch);
+		}, 100);
+
+		Assert.assertEquals(4, count);
+		Assert.assertEquals("0:ITEM_ADDED:2:false", events.get(0));
+		Assert.assertEquals("1:CAMPAIGN_APPLIED:0:false", events.get(1));
+		Assert.assertEquals("2:COUPON_APPLIED:0:false", events.get(2));
+		Assert.assertEquals("3:CARTS_MERGED:2:true", events.get(3));
+		Assert.assertEquals(0, stream.getBacklog());
+	}
+
+	/*
+	 * Tests the back-pressure policies when the consumer falls behind
+	 */
+	@Test
+	public void testBackPressure() {
+
+		// A dropping stream accepts events until it is full
+		CartEventStream dropStream = new CartEventStream(8, BackPressurePolicy.DROP);
+		int published = 0;
+		for (int i = 0; i < 20; i++) {
+			published += dropStream.publish(CartEventType.ITEM_ADDED, null, book1, 1, null, null) ? 1 : 0;
+		}
+		Assert.assertEquals(8, published);
+		Assert.assertEquals(12, dropStream.getDroppedCount());
+
+		// Consuming frees the slots again
+		Assert.assertEquals(5, dropStream.poll((event, sequence, endOfBatch) -> { }, 5));
+		Assert.assertTrue(dropStream.publish(CartEventType.ITEM_ADDED, null, book1, 1, null, null));
+		Assert.assertEquals(4, dropStream.getBacklog());
+
+		// A sampling stream only accepts a sample after it is half full
+		CartEventStream sampleStream = new CartEventStream(16, BackPressurePolicy.SAMPLE, 4);
+		published = 0;
+		for (int i = 0; i < 24; i++) {
+			published += sampleStream.publish(CartEventType.ITEM_ADDED, null, book1, 1, null, null) ? 1 : 0;
+		}
+		Assert.assertEquals(8 + 4, published);
+	}
+
+	/*
+	 * Tests that a blocking stream loses nothing with many producers
+	 */
+	@Test
+	public void testBlockingProducers() throws InterruptedException {
+
+		// Start a consumer that sums the counts
+		CartEventStream stream = new CartEventStream(64, BackPressurePolicy.BLOCK);
+		long[] total = new long[1];
+		CartEventProcessor processor = new CartEventProcessor(stream, (event, sequence, endOfBatch) -> total[0] += event.getCount());
+		Thread consumer = new Thread(processor);
+		consumer.start();
+
+		// Publish from several producers, much more than the capacity
+		Thread[] producers = new Thread[4];
+		for (int i = 0; i < producers.length; i++) {
+			producers[i] = new Thread(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					stream.publish(CartEventType.ITEM_ADDED, null, book1, 1, null, null);
+				}
+			});
+			producers[i].start();
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+
+		// Every event should be delivered
+		processor.stop();
+		consumer.join();
+		Assert.assertEquals(40_000L, total[0]);
+		Assert.assertEquals(0, stream.getDroppedCount());
+	}
+}
@@ -0,0 +1,181 @@
+package com.trendyol.importing;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.catalog.Catalog;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests OrderImporter.java
+ */
+public class OrderImporterTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Catalog that is used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Catalog catalog = new Catalog(1, Collections.<Category>emptyList(),
+			Arrays.asList(new Product("The Lord Of The Rings", 20.0, booksCategory), new Product("War, Peace", 25.0, booksCategory)),
+			Collections.<Campaign>emptyList());
+
+	// Carts by their ids, created on demand
+	private ConcurrentHashMap<String, ShoppingCart> carts = new ConcurrentHashMap<String, ShoppingCart>();
+
+	/*
+	 * Tests a CSV import with valid and invalid lines
+	 */
+	@Test
+	public void testCsv() throws IOException, InterruptedException {
+
+		// Header, quoted titles, a Windows line end and some errors
+		String content = "cartId,productTitle,quantity\n"
+				+ "c1,The Lord Of The Rings,2\n"
+				+ "c2,\"War, Peace\",1\r\n"
+				+ "\n"
+				+ "c1,Unknown Book,1\n"
+				+ "c1,The Lord Of The Rings,-1\n"
+				+ "c3,\"War, Peace\n"
+				+ "c1,\"War, Peace\",3";
+		ImportReport report = importContent(content, ImportFormat.CSV, 2);
+
+		// Check the counts and the errors
+		Assert.assertEquals(6, report.getLineCount());
+		Assert.assertEquals(3, report.getImportedCount());
+		Assert.assertEquals(3, report.getErrorCount());
+		Assert.assertEquals(5, report.getErrors().get(0).getLineNumber());
+		Assert.assertTrue(report.getErrors().get(0).getMessage().startsWith("Unknown product"));
+		Assert.assertEquals(6, report.getErrors().get(1).getLineNumber());
+		Assert.assertEquals(7, report.getErrors().get(2).getLineNumber());
+
+		// Check the carts
+		Assert.assertEquals(40.0 + 75.0, carts.get("c1").getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertEquals(25.0, carts.get("c2").getTotalPrice(), ShoppingCart.EPSILON);
+		Assert.assertNull(carts.get("c3"));
+	}
+
+	/*
+	 * Tests an NDJSON import spread over many carts and workers
+	 */
+	@Test
+	public void testNdjson() throws IOException, InterruptedException {
+
+		// Every cart gets the same lines
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 1_000; i++) {
+			content.append("{\"cartId\": \"c").append(i % 50).append("\", \"productTitle\": \"War, Peace\", \"quantity\": 1}\n");
+		}
+		content.append("{\"cartId\": \"c1\", \"productTitle\": \"War, Peace\"}\n");
+		content.append("{\"cartId\": \"c1\",\n");
+		ImportReport report = importContent(content.toString(), ImportFormat.NDJSON, 4);
+
+		// Check the counts and the carts
+		Assert.assertEquals(1_000, report.getImportedCount());
+		Assert.assertEquals(2, report.getErrorCount());
+		Assert.assertEquals(1_001, report.getErrors().get(0).getLineNumber());
+		Assert.assertEquals(50, carts.size());
+		for (ShoppingCart shoppingCart : carts.values()) {
+			Assert.assertEquals(20 * 25.0, shoppingCart.getTotalPrice(), ShoppingCart.EPSILON);
+		}
+	}
+
+	/*
+	 * Tests that a failed worker fails the import instead of blocking the reader
+	 */
+	@Test
+	public void testFailedWorker() throws IOException, InterruptedException {
+
+		// Enough lines to fill the queue of the single worker, which fails on the first one
+		StringBuilder content = new StringBuilder();
+		for (int i = 0; i < 10_000; i++) {
+			content.append("c1,The Lord Of The Rings,1\n");
+		}
+		Function<String, ShoppingCart> failingResolver = cartId -> {
+			throw new NoClassDefFoundError("CartRepository");
+		};
+		try {
+			importContent(content.toString(), ImportFormat.CSV, 1, failingResolver);
+			Assert.fail("Import with a failed worker is completed");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof NoClassDefFoundError);
+		}
+
+		// A failure after the last chunk is reported as well
+		try {
+			importContent("c1,The Lord Of The Rings,1\n", ImportFormat.CSV, 1, failingResolver);
+			Assert.fail("Import with a failed worker is completed");
+		} catch (IllegalStateException e) {
+			Assert.assertTrue(e.getCause() instanceof NoClassDefFoundError);
+		}
+		Assert.assertEquals(0, aliveWorkerCount());
+	}
+
+	/*
+	 * Tests that an interrupted import stops its workers and keeps the interrupt status
+	 */
+	@Test
+	public void testInterruptedImport() throws IOException {
+
+		// The file channel is closed on the first read of an interrupted thread
+		Path path = Files.createTempFile("orders", ".txt");
+		try {
+			Files.write(path, "c1,The Lord Of The Rings,1\n".getBytes(StandardCharsets.UTF_8));
+			OrderImporter importer = new OrderImporter(catalog, cartId -> carts.computeIfAbsent(cartId, id -> new ShoppingCart(calculator)), 4, 16, 100);
+			Thread.currentThread().interrupt();
+			importer.importFile(path, ImportFormat.CSV);
+			Assert.fail("Interrupted import is completed");
+		} catch (IOException | InterruptedException e) {
+			Assert.assertTrue(Thread.interrupted());
+		} finally {
+			Thread.interrupted();
+			Files.delete(path);
+		}
+		Assert.assertEquals(0, aliveWorkerCount());
+	}
+
+	/*
+	 * Helper method to import the given content through a file
+	 */
+	private ImportReport importContent(String content, ImportFormat format, int parallelism) throws IOException, InterruptedException {
+		return importContent(content, format, parallelism, cartId -> carts.computeIfAbsent(cartId, id -> new ShoppingCart(calculator)));
+	}
+
+	/*
+	 * Helper method to import the given content through a file with the given cart resolver
+	 */
+	private ImportReport importContent(String content, ImportFormat format, int parallelism, Function<String, ShoppingCart> cartResolver)
+			throws IOException, InterruptedException {
+		Path path = Files.createTempFile("orders", ".txt");
+		try {
+			Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+			OrderImporter importer = new OrderImporter(catalog, cartResolver, parallelism, 16, 100);
+			return importer.importFile(path, format);
+		} finally {
+			Files.delete(path);
+		}
+	}
+
+	/*
+	 * Helper method to count the import workers that are still running
+	 */
+	private long aliveWorkerCount() {
+		return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.getName().startsWith("order-import-") && thread.isAlive()).count();
+	}
+}
@@ -0,0 +1,119 @@
+package com.trendyol.inventory;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.OffHeapCartStore;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests ReservationBatcher.java
+ */
+public class ReservationBatcherTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories and products that are used throughout the tests
+	private Category booksCategory = new Category("Books");
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, booksCategory);
+	private Product book2 = new Product("Da Vinci Code", 15.0, booksCategory);
+
+	/*
+	 * Tests @{ReservationBatcher.flush} method with the requests of several carts
+	 */
+	@Test
+	public void testFlush() {
+
+		// Create the inventory
+		InMemoryInventoryService inventoryService = new InMemoryInventoryService();
+		inventoryService.setStock(book1, 5);
+		inventoryService.setStock(book2, 10);
+		ReservationBatcher batcher = new ReservationBatcher(inventoryService);
+
+		// Fill two carts, nothing is reserved until the flush
+		ShoppingCart firstCart = new ShoppingCart(calculator);
+		firstCart.setInventory(batcher);
+		firstCart.addItem(book1, 2);
+		firstCart.addItem(book1, 1);
+		firstCart.addItem(book2, 1);
+		ShoppingCart secondCart = new ShoppingCart(calculator);
+		secondCart.setInventory(batcher);
+		secondCart.addItem(book1, 4);
+		Assert.assertEquals(3, firstCart.getReservation().getPendingCount(book1));
+		Assert.assertEquals(5, inventoryService.getStockLevel(book1).getAvailable());
+
+		// A single reservation is made for each product
+		Assert.assertEquals(4, batcher.flush());
+		Assert.assertEquals(2, batcher.getReservationCount());
+
+		// The first cart gets everything, the second one only what is left
+		Assert.assertTrue(firstCart.getReservation().isFullyReserved());
+		Assert.assertEquals(3, firstCart.getReservation().getReservedCount(book1));
+		Assert.assertEquals(2, secondCart.getReservation().getReservedCount(book1));
+		Assert.assertEquals(2, secondCart.getReservation().getShortage(book1));
+		Assert.assertEquals(0, inventoryService.getStockLevel(book1).getAvailable());
+		Assert.assertEquals(9, inventoryService.getStockLevel(book2).getAvailable());
+
+		// Releasing a cart gives its stock back
+		firstCart.releaseReservation();
+		Assert.assertNull(firstCart.getReservation());
+		Assert.assertEquals(3, inventoryService.getStockLevel(book1).getAvailable());
+		Assert.assertEquals(10, inventoryService.getStockLevel(book2).getAvailable());
+	}
+
+	/*
+	 * Tests that a reservation released before the flush does not keep any stock
+	 */
+	@Test
+	public void testReleaseBeforeFlush() {
+
+		// Request some stock and release the cart right away
+		InMemoryInventoryService inventoryService = new InMemoryInventoryService();
+		inventoryService.setStock(book1, 5);
+		ReservationBatcher batcher = new ReservationBatcher(inventoryService);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.setInventory(batcher);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.releaseReservation();
+
+		// The flush should skip the released request
+		batcher.flush();
+		Assert.assertEquals(5, inventoryService.getStockLevel(book1).getAvailable());
+	}
+
+	/*
+	 * Tests that parking a cart releases its stock and rehydrating requests it again
+	 */
+	@Test
+	public void testParking() {
+
+		// Reserve the stock of a cart
+		InMemoryInventoryService inventoryService = new InMemoryInventoryService();
+		inventoryService.setStock(book1, 5);
+		ReservationBatcher batcher = new ReservationBatcher(inventoryService);
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.setInventory(batcher);
+		shoppingCart.addItem(book1, 2);
+		batcher.flush();
+		Assert.assertEquals(3, inventoryService.getStockLevel(book1).getAvailable());
+
+		// Parking releases the stock
+		OffHeapCartStore store = new OffHeapCartStore();
+		int handle = store.park(shoppingCart);
+		Assert.assertEquals(5, inventoryService.getStockLevel(book1).getAvailable());
+
+		// Rehydrating requests it again
+		ShoppingCart rehydratedCart = store.rehydrate(handle);
+		Assert.assertSame(batcher, rehydratedCart.getInventory());
+		batcher.flush();
+		Assert.assertEquals(2, rehydratedCart.getReservation().getReservedCount(book1));
+		Assert.assertEquals(3, inventoryService.getStockLevel(book1).getAvailable());
+	}
+}
@@ -0,0 +1,106 @@
+package com.trendyol.perf;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests PerfBaseline.java and PerfReport.java
+ */
+public class PerfReportTest {
+
+	/*
+	 * Tests the baseline file round trip
+	 */
+	@Test
+	public void testBaseline() throws IOException {
+
+		// Written baseline is read back as is
+		Path path = Files.createTempFile("perf-baseline", ".json");
+		try {
+			baseline("profile \"a\"", result("small.quote", 1_000_000.5, 0), result("large.build", 7_000, 33_000.25)).write(path);
+			PerfBaseline baseline = PerfBaseline.read(path);
+			Assert.assertEquals("profile \"a\"", baseline.getProfile());
+			Assert.assertEquals(Arrays.asList("small.quote", "large.build"), new ArrayList<String>(baseline.getResults().keySet()));
+			Assert.assertEquals(1_000_000.5, baseline.getResults().get("small.quote").getOpsPerSecond(), 0.01);
+			Assert.assertEquals(33_000.3, baseline.getResults().get("large.build").getBytesPerOp(), 0.01);
+		} finally {
+			Files.delete(path);
+		}
+
+		// Malformed files are rejected
+		try {
+			PerfBaseline.parse("{ \"profile\": \"p\", \"results\": [ { \"name\": \"a\", \"bytesPerOp\": 1.0 } ] }");
+			Assert.fail("Incomplete result is accepted");
+		} catch (IOException e) {
+			Assert.assertTrue(e.getMessage().startsWith("Incomplete result"));
+		}
+	}
+
+	/*
+	 * Tests the regression detection on throughput and allocation
+	 */
+	@Test
+	public void testCompare() {
+
+		PerfBaseline baseline = baseline("p", result("quote", 1000, 0), result("build", 1000, 100), result("breakdown", 1000, 100),
+				result("delivery", 1000, 0), result("removed", 1000, 0));
+		PerfBaseline current = baseline("p", result("quote", 920, 0.5), result("build", 1000, 115), result("breakdown", 850, 100),
+				result("delivery", 1200, 0), result("added", 1000, 0));
+
+		// Changes within the threshold pass, larger ones are reported in both directions
+		PerfReport report = PerfReport.compare(baseline, current, 0.1, 0.1);
+		Assert.assertEquals(PerfReport.Status.OK, report.getStatus("quote"));
+		Assert.assertEquals(PerfReport.Status.REGRESSED, report.getStatus("build"));
+		Assert.assertEquals(PerfReport.Status.REGRESSED, report.getStatus("breakdown"));
+		Assert.assertEquals(PerfReport.Status.IMPROVED, report.getStatus("delivery"));
+		Assert.assertEquals(PerfReport.Status.NEW, report.getStatus("added"));
+		Assert.assertEquals(PerfReport.Status.MISSING, report.getStatus("removed"));
+		Assert.assertTrue(report.hasRegression());
+		Assert.assertTrue(report.format().contains("2 of 6 cases regressed by more than 10% in throughput or 10% in allocation"));
+
+		// Looser thresholds accept the same run, each one on its own metric
+		Assert.assertFalse(PerfReport.compare(baseline, current, 0.2, 0.2).hasRegression());
+		Assert.assertEquals(PerfReport.Status.OK, PerfReport.compare(baseline, current, 0.1, 0.2).getStatus("build"));
+		Assert.assertEquals(PerfReport.Status.REGRESSED, PerfReport.compare(baseline, current, 0.1, 0.2).getStatus("breakdown"));
+	}
+
+	/*
+	 * Tests that only the baselines of the same environment and profile are compared
+	 */
+	@Test
+	public void testComparable() {
+		PerfBaseline baseline = baseline("p", result("quote", 1000, 0));
+		Assert.assertTrue(baseline.isComparableWith(baseline("p", result("build", 500, 10))));
+		Assert.assertFalse(baseline.isComparableWith(baseline("q", result("quote", 1000, 0))));
+		Assert.assertFalse(baseline.isComparableWith(new PerfBaseline("p", "other machine", baseline.getResults())));
+	}
+
+	/*
+	 * Helper method to create a result
+	 */
+	private static PerfResult result(String name, double opsPerSecond, double bytesPerOp) {
+		return new PerfResult(name, opsPerSecond, bytesPerOp);
+	}
+
+	/*
+	 * Helper method to create a baseline of the given results
+	 */
+	private static PerfBaseline baseline(String profile, PerfResult... results) {
+		Map<String, PerfResult> map = new LinkedHashMap<String, PerfResult>();
+		for (PerfResult result : results) {
+			map.put(result.getName(), result);
+		}
+		return new PerfBaseline(profile, "test", map);
+	}
+}
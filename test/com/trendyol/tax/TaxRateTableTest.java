@@ -0,0 +1,149 @@
+package com.trendyol.tax;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.MergePolicy;
+import com.trendyol.QuoteBuffer;
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+import com.trendyol.discount.Campaign;
+import com.trendyol.discount.Coupon;
+import com.trendyol.discount.DiscountType;
+import com.trendyol.product.Category;
+import com.trendyol.product.Product;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests TaxRateTable.java
+ */
+public class TaxRateTableTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	// Categories that are used throughout the tests
+	private Category mainCategory = new Category("Movies, Books and Games");
+	private Category booksCategory = new Category("Books", mainCategory);
+	private Category novelsCategory = new Category("Novels", booksCategory);
+	private Category moviesCategory = new Category("Movies", mainCategory);
+	private Category foodCategory = new Category("Food");
+
+	// Products that are used throughout the tests
+	private Product book1 = new Product("The Lord Of The Rings", 20.0, novelsCategory);
+	private Product movie1 = new Product("Fight Club", 8.0, moviesCategory);
+
+	/*
+	 * Tests @{TaxRateTable.getRate} method
+	 */
+	@Test
+	public void testRateInheritance() {
+
+		// Rates are inherited from the closest parent with a rate
+		TaxRateTable taxRates = createTaxRates();
+		Assert.assertEquals(8.0, taxRates.getRate(novelsCategory), ShoppingCart.EPSILON);
+		Assert.assertEquals(18.0, taxRates.getRate(moviesCategory), ShoppingCart.EPSILON);
+		Assert.assertEquals(1.0, taxRates.getRate(foodCategory), ShoppingCart.EPSILON);
+
+		// Resolved rates are cached per category instance, a category with the same title but another parent is resolved on its own
+		Assert.assertEquals(1.0, taxRates.getRate(new Category("Novels")), ShoppingCart.EPSILON);
+		Assert.assertEquals(18.0, taxRates.getRate(new Category("Novels", moviesCategory)), ShoppingCart.EPSILON);
+		Assert.assertEquals(8.0, taxRates.getRate(novelsCategory), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests @{ShoppingCart.getTax} method with discounts
+	 */
+	@Test
+	public void testCartTax() {
+
+		// Create a cart with a campaign on books and a coupon
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 5);
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 25.0, 1, DiscountType.RATE));
+		shoppingCart.applyCoupon(new Coupon(50.0, 10.0, DiscountType.RATE));
+		Assert.assertEquals(0, shoppingCart.getTax(), ShoppingCart.EPSILON);
+		shoppingCart.setTaxRates(createTaxRates());
+
+		// Campaign is taken off the books, then the coupon off both lines, before the tax
+		double bookAmount = 40.0 * 0.75 * 0.9;
+		double movieAmount = 40.0 * 0.9;
+		double tax = bookAmount * 0.08 + movieAmount * 0.18;
+		Assert.assertEquals(tax, shoppingCart.getTax(), ShoppingCart.EPSILON);
+		Assert.assertEquals(tax, shoppingCart.snapshot().getTax(), ShoppingCart.EPSILON);
+
+		// Quote includes the tax in the final price
+		QuoteBuffer buffer = new QuoteBuffer();
+		shoppingCart.quote(buffer);
+		Assert.assertEquals(tax, buffer.getTax(), ShoppingCart.EPSILON);
+		Assert.assertEquals(bookAmount + movieAmount + tax + shoppingCart.getDeliveryCost(), buffer.getFinalPrice(), ShoppingCart.EPSILON);
+
+		// Tax follows the changes of the cart
+		shoppingCart.addItem(movie1, 1);
+		Assert.assertEquals(tax + 8.0 * 0.9 * 0.18, shoppingCart.getTax(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Tests that the tax of @{ShoppingCart.quote} matches the tax on the discount breakdown
+	 */
+	@Test
+	public void testQuoteTaxMatchesBreakdown() {
+
+		// Campaigns on nested categories, and an amount campaign larger than the movies total
+		ShoppingCart shoppingCart = new ShoppingCart(calculator);
+		shoppingCart.setTaxRates(createTaxRates());
+		shoppingCart.addItem(book1, 2);
+		shoppingCart.addItem(movie1, 1);
+		shoppingCart.addItem(new Product("Apple", 3.0, foodCategory), 4);
+		shoppingCart.applyDiscounts(new Campaign(booksCategory, 25.0, 1, DiscountType.RATE),
+				new Campaign(mainCategory, 10.0, 1, DiscountType.RATE), new Campaign(moviesCategory, 12.0, 0, DiscountType.AMOUNT));
+		shoppingCart.applyCoupon(new Coupon(20.0, 10.0, DiscountType.RATE));
+		assertQuoteTax(shoppingCart);
+
+		// Lines of a merged cart are taxed on their own categories
+		ShoppingCart guestCart = new ShoppingCart(calculator);
+		guestCart.addItem(book1, 1);
+		guestCart.addItem(new Product("Dune", 15.0, booksCategory), 2);
+		shoppingCart.merge(guestCart, MergePolicy.SUM);
+		assertQuoteTax(shoppingCart);
+
+		// Enough campaigns for the columnar evaluation, the columns are built by the breakdown and kept on the next addition
+		for (int i = 0; i < 16; i++) {
+			shoppingCart.applyDiscounts(new Campaign(i % 2 == 0 ? novelsCategory : mainCategory, 1.0, 0, DiscountType.RATE));
+		}
+		shoppingCart.getDiscountBreakdown();
+		shoppingCart.addItem(movie1, 2);
+		assertQuoteTax(shoppingCart);
+	}
+
+	/*
+	 * Helper method to compare the quoted tax with the tax on the discount breakdown
+	 */
+	private void assertQuoteTax(ShoppingCart shoppingCart) {
+
+		// Quote first, so that the breakdown is not cached yet
+		QuoteBuffer buffer = new QuoteBuffer();
+		ShoppingCart snapshot = shoppingCart.snapshot();
+		snapshot.quote(buffer);
+		double tax = shoppingCart.getTaxRates().calculateTax(shoppingCart.getItems(), shoppingCart.getDiscountBreakdown());
+		Assert.assertEquals(tax, buffer.getTax(), ShoppingCart.EPSILON);
+		Assert.assertEquals(tax, snapshot.getTax(), ShoppingCart.EPSILON);
+		Assert.assertEquals(tax, shoppingCart.getTax(), ShoppingCart.EPSILON);
+	}
+
+	/*
+	 * Helper method to create the tax rates
+	 */
+	private TaxRateTable createTaxRates() {
+		Map<Category, Double> rates = new HashMap<Category, Double>();
+		rates.put(mainCategory, 18.0);
+		rates.put(booksCategory, 8.0);
+		return new TaxRateTable(1.0, rates);
+	}
+}
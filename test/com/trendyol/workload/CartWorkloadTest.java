@@ -0,0 +1,85 @@
+package com.trendyol.workload;
+
+import java.util.SplittableRandom;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.Test;
+
+import com.trendyol.ShoppingCart;
+import com.trendyol.delivery.DeliveryCostCalculator;
+
+/**
+ * @author agent
+ * @since 19.10.2026
+ *
+ * Tests the synthetic workload generators
+ */
+public class CartWorkloadTest {
+
+	// Create a delivery cost calculator
+	private DeliveryCostCalculator calculator = new DeliveryCostCalculator(2.0, 0.5, 2.99);
+
+	/*
+	 * Tests @{CatalogGenerator} tree shape
+	 */
+	@Test
+	public void testCatalogShape() {
+
+		// Three levels with a fan-out of four
+		CatalogGenerator catalog = new CatalogGenerator(42, 3, 4, 1_000_000);
+		Assert.assertEquals(4 + 16 + 64, catalog.getCategories().size());
+		Assert.assertEquals(64, catalog.getLeafCategories().size());
+		Assert.assertNotNull(catalog.product(999_999).getCategory().getParent().getParent());
+
+		// Products are derived from their index only
+		Assert.assertEquals(catalog.product(123).getPrice(), new CatalogGenerator(42, 3, 4, 1_000_000).product(123).getPrice(), 0);
+	}
+
+	/*
+	 * Tests @{ZipfDistribution.sample} skew
+	 */
+	@Test
+	public void testZipfDistribution() {
+
+		// With an exponent of one, rank 1 is drawn twice as often as rank 2
+		ZipfDistribution distribution = new ZipfDistribution(1000, 1.0);
+		SplittableRandom random = new SplittableRandom(7);
+		int[] counts = new int[1001];
+		for (int i = 0; i < 200_000; i++) {
+			int rank = distribution.sample(random);
+			Assert.assertTrue(rank >= 1 && rank <= 1000);
+			counts[rank]++;
+		}
+		Assert.assertEquals(2.0, (double) counts[1] / counts[2], 0.15);
+		Assert.assertTrue(counts[1] > counts[100] * 50);
+	}
+
+	/*
+	 * Tests @{CartWorkload.cart} determinism
+	 */
+	@Test
+	public void testDeterministicCarts() {
+
+		// Create two identical workloads
+		CartWorkload workload1 = createWorkload();
+		CartWorkload workload2 = createWorkload();
+
+		// Same index gives the same cart
+		for (long cartIndex = 0; cartIndex < 100; cartIndex++) {
+			ShoppingCart cart1 = workload1.cart(cartIndex);
+			ShoppingCart cart2 = workload2.cart(cartIndex);
+			Assert.assertFalse(cart1.isEmpty());
+			Assert.assertEquals(cart1.getItems(), cart2.getItems());
+			Assert.assertEquals(cart1.getTotalAmountAfterDiscounts(), cart2.getTotalAmountAfterDiscounts(), 0);
+		}
+	}
+
+	/*
+	 * Helper method to create a workload
+	 */
+	private CartWorkload createWorkload() {
+		CatalogGenerator catalog = new CatalogGenerator(42, 3, 4, 100_000);
+		PromotionGenerator promotions = new PromotionGenerator(catalog, 43);
+		return new CartWorkload(catalog, promotions.campaigns(50), promotions.coupons(10), calculator, 44, 1.1, 8, 5);
+	}
+}